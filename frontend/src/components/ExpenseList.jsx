@@ -1,7 +1,7 @@
 import { Edit2, Trash2, Calendar, Tag } from 'lucide-react';
 import { format } from 'date-fns';
 
-const ExpenseList = ({ expenses, onEdit, onDelete }) => {
+const ExpenseList = ({ expenses, onEdit, onDelete, selectedIds, onToggleSelect, onToggleAll }) => {
     if (expenses.length === 0) {
         return (
             <div className="text-center py-12 bg-white rounded-xl border border-gray-100">
@@ -14,12 +14,27 @@ const ExpenseList = ({ expenses, onEdit, onDelete }) => {
         );
     }
 
+    // Row selection is optional, shown only when the parent handles it
+    const selectable = Boolean(onToggleSelect);
+    const allSelected = selectable && expenses.every((expense) => selectedIds.has(expense.id));
+
     return (
         <div className="bg-white rounded-xl border border-gray-100 shadow-sm overflow-hidden">
             <div className="overflow-x-auto">
                 <table className="min-w-full divide-y divide-gray-200">
                     <thead className="bg-gray-50">
                         <tr>
+                            {selectable && (
+                                <th className="pl-6 py-3 w-4">
+                                    <input
+                                        type="checkbox"
+                                        checked={allSelected}
+                                        onChange={() => onToggleAll(!allSelected)}
+                                        aria-label="Select all expenses"
+                                        className="rounded border-gray-300"
+                                    />
+                                </th>
+                            )}
                             <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase tracking-wider">Date</th>
                             <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase tracking-wider">Description</th>
                             <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase tracking-wider">Category</th>
@@ -30,6 +45,17 @@ const ExpenseList = ({ expenses, onEdit, onDelete }) => {
                     <tbody className="bg-white divide-y divide-gray-200">
                         {expenses.map((expense) => (
                             <tr key={expense.id} className="hover:bg-gray-50 transition-colors">
+                                {selectable && (
+                                    <td className="pl-6 py-4 w-4">
+                                        <input
+                                            type="checkbox"
+                                            checked={selectedIds.has(expense.id)}
+                                            onChange={() => onToggleSelect(expense.id)}
+                                            aria-label="Select expense"
+                                            className="rounded border-gray-300"
+                                        />
+                                    </td>
+                                )}
                                 <td className="px-6 py-4 whitespace-nowrap text-sm text-gray-500">
                                     <div className="flex items-center gap-2">
                                         <Calendar className="h-4 w-4 text-gray-400" />
@@ -1,10 +1,22 @@
-import { useState } from 'react';
+import { useEffect, useState } from 'react';
 import { Outlet } from 'react-router-dom';
-import { Menu } from 'lucide-react';
+import { Menu, AlertTriangle, X } from 'lucide-react';
 import Sidebar from './Sidebar';
+import { budgetService } from '../services/budgetService';
+
+const MAX_ALERTS = 3;
 
 const Layout = () => {
     const [isSidebarOpen, setIsSidebarOpen] = useState(false);
+    const [alerts, setAlerts] = useState([]);
+
+    // Budget alerts are pushed as expenses are saved, from this tab or any other
+    useEffect(() => budgetService.subscribeToAlerts((alert) => {
+        setAlerts((current) => [{ ...alert, key: `${alert.budgetId}-${alert.threshold}-${Date.now()}` },
+            ...current].slice(0, MAX_ALERTS));
+    }), []);
+
+    const dismiss = (key) => setAlerts((current) => current.filter((alert) => alert.key !== key));
 
     return (
         <div className="flex h-screen bg-gray-50">
@@ -25,6 +37,29 @@ const Layout = () => {
                     <h1 className="ml-4 text-lg font-bold text-gray-900">Expense Tracker</h1>
                 </header>
 
+                {alerts.length > 0 && (
+                    <div className="fixed top-4 right-4 z-50 space-y-2 w-80">
+                        {alerts.map((alert) => (
+                            <div
+                                key={alert.key}
+                                role="alert"
+                                className={`flex items-start gap-3 p-4 rounded-lg shadow-md border ${alert.threshold >= 100
+                                    ? 'bg-red-50 border-red-200 text-red-700'
+                                    : 'bg-yellow-50 border-yellow-200 text-yellow-700'}`}
+                            >
+                                <AlertTriangle className="h-5 w-5 flex-shrink-0" />
+                                <p className="flex-1 text-sm">
+                                    {alert.categoryName} budget {alert.threshold >= 100 ? 'exceeded' : 'at 80%'}:
+                                    {' '}${alert.totalSpent.toFixed(2)} of ${alert.monthlyLimit.toFixed(2)}
+                                </p>
+                                <button onClick={() => dismiss(alert.key)} aria-label="Dismiss">
+                                    <X className="h-4 w-4" />
+                                </button>
+                            </div>
+                        ))}
+                    </div>
+                )}
+
                 <main className="flex-1 overflow-auto p-4 md:p-8">
                     <div className="max-w-7xl mx-auto">
                         <Outlet />
@@ -7,6 +7,29 @@ import LoadingSpinner from '../components/LoadingSpinner';
 import { DollarSign, CreditCard, ShoppingBag, Calendar } from 'lucide-react';
 import { format } from 'date-fns';
 
+// Replace the touched categories, drop those left without spending and recompute the shares
+const mergeCategories = (current, changed, total) => {
+    const byId = new Map(current.map((category) => [category.categoryId, category]));
+    changed.forEach((category) => {
+        if (category.amount > 0) byId.set(category.categoryId, category);
+        else byId.delete(category.categoryId);
+    });
+    return [...byId.values()].map((category) => ({
+        ...category,
+        percentage: total > 0 ? (category.amount / total) * 100 : 0,
+    }));
+};
+
+// Replace the touched days, drop those left without spending, keep date order
+const mergeDays = (current, changed) => {
+    const byDate = new Map(current.map((day) => [day.date, day]));
+    changed.forEach((day) => {
+        if (day.amount > 0) byDate.set(day.date, day);
+        else byDate.delete(day.date);
+    });
+    return [...byDate.values()].sort((a, b) => a.date.localeCompare(b.date));
+};
+
 const Dashboard = () => {
     const [stats, setStats] = useState(null);
     const [categoryData, setCategoryData] = useState([]);
@@ -16,29 +39,55 @@ const Dashboard = () => {
     const [error, setError] = useState(null);
 
     useEffect(() => {
-        const fetchData = async () => {
+        let refreshing = false;
+        let pending = [];
+        let version = 0;
+
+        const fetchData = async (showSpinner) => {
+            refreshing = true;
             try {
-                setLoading(true);
-                const [statsData, categoryRes, trendRes, comparisonRes] = await Promise.all([
-                    dashboardService.getStats(),
-                    dashboardService.getCategoryBreakdown(),
-                    dashboardService.getDailyTrends(),
-                    dashboardService.getMonthlyComparison()
-                ]);
+                if (showSpinner) setLoading(true);
+                const summary = await dashboardService.getSummary();
 
-                setStats(statsData);
-                setCategoryData(categoryRes);
-                setTrendData(trendRes);
-                setMonthlyComparison(comparisonRes);
+                setStats(summary.stats);
+                setCategoryData(summary.categoryBreakdown);
+                setTrendData(summary.trends);
+                setMonthlyComparison(summary.monthlyComparison);
             } catch (err) {
                 console.error('Error fetching dashboard data:', err);
                 setError('Failed to load dashboard data');
             } finally {
                 setLoading(false);
+                refreshing = false;
+                // Deltas that arrived meanwhile carry totals at least as new as the summary
+                const arrived = pending.sort((a, b) => a.version - b.version);
+                pending = [];
+                arrived.forEach(applyDelta);
+            }
+        };
+
+        // Stream deltas hold totals as of their write, only the newest version counts
+        const applyDelta = (delta) => {
+            if (refreshing) {
+                pending.push(delta);
+                return;
+            }
+            if (delta.version <= version) return;
+            version = delta.version;
+            if (delta.reload) {
+                fetchData(false);
+                return;
             }
+            setStats(delta.stats);
+            setMonthlyComparison(delta.monthlyComparison);
+            setCategoryData((current) => mergeCategories(current, delta.categories,
+                delta.stats.totalSpentThisMonth));
+            setTrendData((current) => mergeDays(current, delta.days));
         };
 
-        fetchData();
+        fetchData(true);
+        // Writes made while the stream was down are not replayed, so every (re)connect re-reads the summary
+        return dashboardService.subscribe(applyDelta, () => fetchData(false));
     }, []);
 
     if (loading) return <LoadingSpinner />;
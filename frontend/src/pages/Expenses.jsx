@@ -1,5 +1,5 @@
 import { useState, useEffect, useCallback } from 'react';
-import { Plus } from 'lucide-react';
+import { Plus, Trash2 } from 'lucide-react';
 import { expenseService } from '../services/expenseService';
 import ExpenseList from '../components/ExpenseList';
 import ExpenseFilters from '../components/ExpenseFilters';
@@ -23,6 +23,7 @@ const Expenses = () => {
     const [editingExpense, setEditingExpense] = useState(null);
     const [isDeleteModalOpen, setIsDeleteModalOpen] = useState(false);
     const [expenseToDelete, setExpenseToDelete] = useState(null);
+    const [selectedIds, setSelectedIds] = useState(new Set());
     const [actionLoading, setActionLoading] = useState(false);
 
     const fetchExpenses = useCallback(async () => {
@@ -31,6 +32,7 @@ const Expenses = () => {
             const data = await expenseService.getExpenses(filters);
             setExpenses(data.content);
             setTotalPages(data.totalPages);
+            setSelectedIds(new Set());
         } catch (error) {
             console.error('Failed to fetch expenses', error);
         } finally {
@@ -65,6 +67,27 @@ const Expenses = () => {
         setIsDeleteModalOpen(true);
     };
 
+    const handleBulkDeleteClick = () => {
+        setExpenseToDelete(null);
+        setIsDeleteModalOpen(true);
+    };
+
+    const toggleSelect = (id) => {
+        setSelectedIds(prev => {
+            const next = new Set(prev);
+            if (next.has(id)) {
+                next.delete(id);
+            } else {
+                next.add(id);
+            }
+            return next;
+        });
+    };
+
+    const toggleAll = (selected) => {
+        setSelectedIds(selected ? new Set(expenses.map(expense => expense.id)) : new Set());
+    };
+
     const handleSubmit = async (data) => {
         try {
             setActionLoading(true);
@@ -85,7 +108,17 @@ const Expenses = () => {
     const confirmDelete = async () => {
         try {
             setActionLoading(true);
-            await expenseService.deleteExpense(expenseToDelete.id);
+            if (expenseToDelete) {
+                await expenseService.deleteExpense(expenseToDelete.id);
+            } else {
+                // One request for the whole selection
+                const result = await expenseService.applyBatch(
+                    [...selectedIds].map(id => ({ action: 'DELETE', id }))
+                );
+                if (result.failed > 0) {
+                    console.error('Some expenses could not be deleted', result.results.filter(r => !r.success));
+                }
+            }
             setIsDeleteModalOpen(false);
             setExpenseToDelete(null);
             fetchExpenses();
@@ -103,13 +136,24 @@ const Expenses = () => {
                     <h1 className="text-2xl font-bold text-gray-900">Expenses</h1>
                     <p className="text-gray-500">Manage your daily transactions</p>
                 </div>
-                <button
-                    onClick={handleCreate}
-                    className="flex items-center gap-2 px-4 py-2 bg-blue-600 text-white rounded-lg hover:bg-blue-700 transition-colors shadow-sm"
-                >
-                    <Plus className="h-5 w-5" />
-                    Add Expense
-                </button>
+                <div className="flex items-center gap-3">
+                    {selectedIds.size > 0 && (
+                        <button
+                            onClick={handleBulkDeleteClick}
+                            className="flex items-center gap-2 px-4 py-2 border border-red-200 text-red-600 rounded-lg hover:bg-red-50 transition-colors"
+                        >
+                            <Trash2 className="h-5 w-5" />
+                            Delete selected ({selectedIds.size})
+                        </button>
+                    )}
+                    <button
+                        onClick={handleCreate}
+                        className="flex items-center gap-2 px-4 py-2 bg-blue-600 text-white rounded-lg hover:bg-blue-700 transition-colors shadow-sm"
+                    >
+                        <Plus className="h-5 w-5" />
+                        Add Expense
+                    </button>
+                </div>
             </div>
 
             <ExpenseFilters filters={filters} onFilterChange={handleFilterChange} />
@@ -122,6 +166,9 @@ const Expenses = () => {
                         expenses={expenses}
                         onEdit={handleEdit}
                         onDelete={handleDeleteClick}
+                        selectedIds={selectedIds}
+                        onToggleSelect={toggleSelect}
+                        onToggleAll={toggleAll}
                     />
 
                     {/* Pagination */}
@@ -162,8 +209,10 @@ const Expenses = () => {
                 isOpen={isDeleteModalOpen}
                 onClose={() => setIsDeleteModalOpen(false)}
                 onConfirm={confirmDelete}
-                title="Delete Expense"
-                message="Are you sure you want to delete this expense? This action cannot be undone."
+                title={expenseToDelete ? 'Delete Expense' : 'Delete Expenses'}
+                message={expenseToDelete
+                    ? 'Are you sure you want to delete this expense? This action cannot be undone.'
+                    : `Are you sure you want to delete ${selectedIds.size} expenses? This action cannot be undone.`}
                 isLoading={actionLoading}
             />
         </div>
@@ -1,7 +1,9 @@
 import axios from 'axios';
 
+export const baseURL = import.meta.env.VITE_API_BASE_URL || 'http://localhost:8081/api';
+
 const api = axios.create({
-    baseURL: import.meta.env.VITE_API_BASE_URL || 'http://localhost:8081/api',
+    baseURL,
     headers: {
         'Content-Type': 'application/json',
     },
@@ -21,15 +23,61 @@ api.interceptors.request.use(
     }
 );
 
-// Add a response interceptor to handle 401 errors
+const clearSession = () => {
+    localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
+    localStorage.removeItem('user');
+    window.location.href = '/login';
+};
+
+// One refresh at a time: a refresh token is single use, so concurrent 401s share the same call
+let refreshing = null;
+
+const refreshAccessToken = async () => {
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (!refreshToken) {
+        throw new Error('No refresh token');
+    }
+    try {
+        const response = await axios.post(`${baseURL}/auth/refresh`, { refreshToken });
+        localStorage.setItem('token', response.data.token);
+        localStorage.setItem('refreshToken', response.data.refreshToken);
+        return response.data.token;
+    } catch (error) {
+        // Another tab may have rotated the token meanwhile, use the one it stored
+        if (localStorage.getItem('refreshToken') !== refreshToken) {
+            return localStorage.getItem('token');
+        }
+        throw error;
+    }
+};
+
+// Add a response interceptor to renew an expired token once and retry, logging out if that fails
 api.interceptors.response.use(
     (response) => response,
-    (error) => {
-        if (error.response && error.response.status === 401) {
-            // Clear local storage and redirect to login if token is invalid
-            localStorage.removeItem('token');
-            localStorage.removeItem('user');
-            window.location.href = '/login';
+    async (error) => {
+        const { config, response } = error;
+        const isAuthCall = config && config.url && config.url.startsWith('/auth/');
+        // Spring Security answers a missing or expired token with 403 as well as 401
+        if (response && (response.status === 401 || response.status === 403) && !isAuthCall) {
+            if (config._retried) {
+                // A fresh token still refused: 401 means the session is gone, 403 a real access denial
+                if (response.status === 401) {
+                    clearSession();
+                }
+                return Promise.reject(error);
+            }
+            try {
+                refreshing = refreshing || refreshAccessToken().finally(() => {
+                    refreshing = null;
+                });
+                const token = await refreshing;
+                config._retried = true;
+                config.headers.Authorization = `Bearer ${token}`;
+                return api(config);
+            } catch {
+                clearSession();
+            }
         }
         return Promise.reject(error);
     }
@@ -1,4 +1,5 @@
 import api from './api';
+import { subscribe } from './eventStream';
 
 export const budgetService = {
     getBudgets: async (year, month) => {
@@ -26,4 +27,7 @@ export const budgetService = {
     deleteBudget: async (id) => {
         await api.delete(`/budgets/${id}`);
     },
+
+    // Calls onAlert with each budget that an expense pushed past 80% or 100%; returns an unsubscribe function
+    subscribeToAlerts: (onAlert) => subscribe('/budgets/alerts', { 'budget-alert': onAlert }),
 };
@@ -1,6 +1,12 @@
 import api from './api';
+import { subscribe } from './eventStream';
 
 export const dashboardService = {
+    getSummary: async () => {
+        const response = await api.get('/dashboard/summary');
+        return response.data;
+    },
+
     getStats: async () => {
         const response = await api.get('/dashboard/stats');
         return response.data;
@@ -28,4 +34,18 @@ export const dashboardService = {
         const response = await api.get('/dashboard/monthly-comparison');
         return response.data;
     },
+
+    // interval: week | month | quarter | year; dates as YYYY-MM-DD, both optional
+    getSeries: async (interval, startDate, endDate) => {
+        const params = { interval };
+        if (startDate) params.startDate = startDate;
+        if (endDate) params.endDate = endDate;
+
+        const response = await api.get('/dashboard/series', { params });
+        return response.data;
+    },
+
+    // Calls onDelta with what each expense write changed and onOpen on every (re)connect, when the
+    // summary should be re-read; returns an unsubscribe function
+    subscribe: (onDelta, onOpen) => subscribe('/dashboard/stream', { dashboard: onDelta }, onOpen),
 };
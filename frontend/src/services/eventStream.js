@@ -0,0 +1,66 @@
+import { baseURL } from './api';
+
+const RETRY_MS = 5000;
+
+// Spread reconnects so a restarted node is not hit by every client at once
+const retryDelay = () => RETRY_MS + Math.random() * RETRY_MS;
+
+// Dispatch one "event:/data:" block to its handler
+const dispatch = (block, handlers) => {
+    let event = 'message';
+    const data = [];
+    for (const line of block.split('\n')) {
+        if (line.startsWith('event:')) event = line.slice(6).trim();
+        else if (line.startsWith('data:')) data.push(line.slice(5).trimStart());
+    }
+    if (data.length > 0 && handlers[event]) {
+        handlers[event](JSON.parse(data.join('\n')));
+    }
+};
+
+/**
+ * Read a server-sent event stream and reconnect when it ends. EventSource cannot
+ * send the Authorization header, so this reads the stream with fetch instead.
+ * handlers maps event names to callbacks, onOpen runs on every (re)connect; returns a function
+ * that closes the stream.
+ */
+export const subscribe = (path, handlers, onOpen) => {
+    const controller = new AbortController();
+
+    const connect = async () => {
+        try {
+            const token = localStorage.getItem('token');
+            const response = await fetch(`${baseURL}${path}`, {
+                headers: {
+                    Accept: 'text/event-stream',
+                    ...(token ? { Authorization: `Bearer ${token}` } : {}),
+                },
+                signal: controller.signal,
+            });
+            if (response.ok && response.body) {
+                if (onOpen) onOpen();
+                const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+                let buffer = '';
+                for (;;) {
+                    const { value, done } = await reader.read();
+                    if (done) break;
+                    buffer += value.replace(/\r\n/g, '\n');
+                    let end;
+                    while ((end = buffer.indexOf('\n\n')) >= 0) {
+                        dispatch(buffer.slice(0, end), handlers);
+                        buffer = buffer.slice(end + 2);
+                    }
+                }
+            }
+        } catch {
+            // Network error or closed on purpose, retried below unless aborted
+        }
+        // An expired token is renewed by the next API call, the retry picks it up
+        if (!controller.signal.aborted) {
+            setTimeout(connect, retryDelay());
+        }
+    };
+
+    connect();
+    return () => controller.abort();
+};
@@ -4,6 +4,25 @@ export const expenseService = {
     getExpenses: async (params) => {
         // params: { categoryId, startDate, endDate, page, size, sortBy, direction }
         const response = await api.get('/expenses', { params });
+        // Rows carry only categoryId, the page lists each category once
+        const { content, categories } = response.data;
+        return {
+            ...response.data,
+            content: content.map((expense) => {
+                const category = categories[expense.categoryId] || {};
+                return {
+                    ...expense,
+                    categoryName: category.name,
+                    categoryColor: category.color,
+                    categoryIcon: category.icon,
+                };
+            }),
+        };
+    },
+
+    searchExpenses: async (params) => {
+        // params: { q, categoryId, startDate, endDate, size }
+        const response = await api.get('/expenses/search', { params });
         return response.data;
     },
 
@@ -25,4 +44,10 @@ export const expenseService = {
     deleteExpense: async (id) => {
         await api.delete(`/expenses/${id}`);
     },
+
+    applyBatch: async (operations) => {
+        // operations: [{ action: 'CREATE' | 'UPDATE' | 'DELETE', id, expense }], at most 200
+        const response = await api.post('/expenses/batch', { operations });
+        return response.data;
+    },
 };
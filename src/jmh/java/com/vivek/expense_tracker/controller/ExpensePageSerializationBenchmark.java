@@ -0,0 +1,77 @@
+package com.vivek.expense_tracker.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vivek.expense_tracker.dto.ExpenseListResponse;
+import com.vivek.expense_tracker.dto.ExpenseResponse;
+import com.vivek.expense_tracker.entity.PaymentMethod;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the expense list: Spring's PageImpl with full rows,
+ * as GET /api/expenses used to write it, against the lean list response with
+ * a category dictionary, through the mapper and through Spring's Jackson
+ * message converter as GET /api/expenses writes it.
+ * Payload sizes are checked by ExpenseListPayloadTest.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExpensePageSerializationBenchmark {
+
+    @Param({ "10", "100", "500", "1000" })
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private MappingJackson2HttpMessageConverter jacksonConverter;
+    private Page<ExpenseResponse> page;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring Boot applies to the MVC message converter
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        jacksonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+
+        List<ExpenseResponse> rows = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.of(2024, 5, 10, 12, 30);
+        for (int i = 0; i < pageSize; i++) {
+            rows.add(new ExpenseResponse((long) i, BigDecimal.valueOf(1_000 + i, 2), (long) (i % 8),
+                    "Category " + i % 8, "#FFFFFF", "tag", LocalDate.of(2024, 5, 1 + i % 28),
+                    "Expense " + i, PaymentMethod.CARD, now, now));
+        }
+        page = new PageImpl<>(rows, PageRequest.of(0, pageSize), pageSize * 20L);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeListResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(ExpenseListResponse.from(page));
+    }
+
+    @Benchmark
+    public byte[] writeListResponseWithJacksonConverter() throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        jacksonConverter.write(ExpenseListResponse.from(page), MediaType.APPLICATION_JSON, output);
+        return output.getBodyAsBytes();
+    }
+}
@@ -0,0 +1,46 @@
+package com.vivek.expense_tracker.security;
+
+import com.vivek.expense_tracker.config.JwtProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token cost, with the verified-token cache off (signature checked
+ * on every call) and on.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    @Param({ "0", "10000" })
+    private int cacheMaxSize;
+
+    private JwtTokenProvider tokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("expense-tracker-secret-key-for-jwt-token-generation-minimum-32-characters-required");
+        properties.setExpiration(86400000);
+        properties.setCacheMaxSize(cacheMaxSize);
+        tokenProvider = new JwtTokenProvider(properties, new SimpleMeterRegistry());
+        token = tokenProvider.generateTokenForUser(1L, "bench@example.com");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return tokenProvider.getUsernameFromToken(token);
+    }
+}
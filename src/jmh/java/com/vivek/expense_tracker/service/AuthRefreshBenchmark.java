@@ -0,0 +1,104 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.config.JwtProperties;
+import com.vivek.expense_tracker.dto.AuthResponse;
+import com.vivek.expense_tracker.dto.LoginRequest;
+import com.vivek.expense_tracker.dto.RefreshRequest;
+import com.vivek.expense_tracker.entity.RefreshToken;
+import com.vivek.expense_tracker.entity.User;
+import com.vivek.expense_tracker.repository.RefreshTokenRepository;
+import com.vivek.expense_tracker.repository.UserRepository;
+import com.vivek.expense_tracker.security.CustomUserDetailsService;
+import com.vivek.expense_tracker.security.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of renewing a session by password login (BCrypt, strength 10 as in
+ * production) against the refresh token path (SHA-256 and a token rotation),
+ * with the database stubbed out so only the CPU work is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthRefreshBenchmark {
+
+    private AuthService authService;
+    private LoginRequest loginRequest;
+    private RefreshRequest refreshRequest;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
+        User user = new User();
+        user.setId(1L);
+        user.setName("Bench User");
+        user.setEmail("bench@example.com");
+        user.setPassword(passwordEncoder.encode("password123"));
+
+        UserRepository userRepository = (UserRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] { UserRepository.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByEmail" -> Optional.of(user);
+                    case "getReferenceById" -> user;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        // Every lookup finds a live token, as a real rotation would on the new one
+        RefreshTokenRepository refreshTokenRepository = (RefreshTokenRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] { RefreshTokenRepository.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByTokenHashWithUser" -> {
+                        RefreshToken token = new RefreshToken();
+                        token.setId(1L);
+                        token.setUser(user);
+                        token.setTokenHash((String) args[0]);
+                        token.setExpiresAt(LocalDateTime.now().plusDays(30));
+                        yield Optional.of(token);
+                    }
+                    case "revokeIfActive", "deleteExpiredForUser" -> 1;
+                    case "save" -> args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret("expense-tracker-secret-key-for-jwt-token-generation-minimum-32-characters-required");
+        jwtProperties.setExpiration(900000);
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(jwtProperties, new SimpleMeterRegistry());
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(new CustomUserDetailsService(userRepository));
+        provider.setPasswordEncoder(passwordEncoder);
+
+        authService = new AuthService(userRepository, passwordEncoder, tokenProvider, new ProviderManager(provider),
+                new RefreshTokenService(refreshTokenRepository, userRepository, jwtProperties));
+
+        loginRequest = new LoginRequest();
+        loginRequest.setEmail("bench@example.com");
+        loginRequest.setPassword("password123");
+
+        refreshRequest = new RefreshRequest();
+        refreshRequest.setRefreshToken(authService.login(loginRequest).getRefreshToken());
+    }
+
+    @Benchmark
+    public AuthResponse login() {
+        return authService.login(loginRequest);
+    }
+
+    @Benchmark
+    public AuthResponse refresh() {
+        return authService.refresh(refreshRequest);
+    }
+}
@@ -0,0 +1,54 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.dto.ExpenseResponse;
+import com.vivek.expense_tracker.entity.Category;
+import com.vivek.expense_tracker.entity.Expense;
+import com.vivek.expense_tracker.entity.PaymentMethod;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response mapping used by the single-expense endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExpenseMappingBenchmark {
+
+    private ExpenseService expenseService;
+    private Expense expense;
+
+    @Setup
+    public void setUp() {
+        // mapToResponse touches no collaborators
+        expenseService = new ExpenseService(null, null, null, null, null, null);
+
+        Category category = new Category();
+        category.setId(3L);
+        category.setName("Food");
+        category.setColor("#FF6B6B");
+        category.setIcon("utensils");
+
+        expense = new Expense();
+        expense.setId(42L);
+        expense.setAmount(new BigDecimal("123.45"));
+        expense.setCategory(category);
+        expense.setDate(LocalDate.of(2024, 5, 10));
+        expense.setDescription("Lunch");
+        expense.setPaymentMethod(PaymentMethod.CARD);
+        expense.setCreatedAt(LocalDateTime.of(2024, 5, 10, 12, 30));
+        expense.setUpdatedAt(LocalDateTime.of(2024, 5, 10, 12, 30));
+    }
+
+    @Benchmark
+    public ExpenseResponse mapToResponse() {
+        return expenseService.mapToResponse(expense);
+    }
+}
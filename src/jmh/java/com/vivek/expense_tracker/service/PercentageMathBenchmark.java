@@ -0,0 +1,85 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.dto.BudgetResponse;
+import com.vivek.expense_tracker.dto.BudgetUsageView;
+import com.vivek.expense_tracker.dto.CategorySpending;
+import com.vivek.expense_tracker.repository.MonthlySpendRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BigDecimal percentage math behind the category breakdown and budget usage,
+ * per call over a realistic number of categories/budgets.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PercentageMathBenchmark {
+
+    @Param({ "8", "32" })
+    private int categories;
+
+    private DashboardService dashboardService;
+    private BudgetService budgetService;
+    private List<BudgetUsageView> budgets;
+
+    @Setup
+    public void setUp() {
+        List<Object[]> rows = new ArrayList<>();
+        budgets = new ArrayList<>();
+        for (int i = 0; i < categories; i++) {
+            BigDecimal spent = BigDecimal.valueOf(1_000 + i * 137L, 2);
+            rows.add(new Object[] { (long) i, "Category " + i, "#FFFFFF", spent });
+            budgets.add(new Usage((long) i, (long) i, "Category " + i, BigDecimal.valueOf(500), spent));
+        }
+
+        // Only the rollup read is stubbed, a plain proxy keeps mocking overhead out of the numbers
+        MonthlySpendRepository monthlySpendRepository = (MonthlySpendRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] { MonthlySpendRepository.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getCategoryWiseTotals")) {
+                        return rows;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        dashboardService = new DashboardService(null, monthlySpendRepository, QueryFanOut.sequential());
+        budgetService = new BudgetService(null, monthlySpendRepository, null, null, null, null);
+    }
+
+    @Benchmark
+    public List<CategorySpending> categoryBreakdown() {
+        return dashboardService.getCategoryBreakdown(1L, 2024, 5);
+    }
+
+    @Benchmark
+    public void budgetMapping(Blackhole blackhole) {
+        for (BudgetUsageView budget : budgets) {
+            BudgetResponse response = budgetService.mapToResponse(budget, 2024, 5);
+            blackhole.consume(response);
+        }
+    }
+
+    private record Usage(Long getId, Long getCategoryId, String getCategoryName, BigDecimal getMonthlyLimit,
+            BigDecimal getTotalSpent) implements BudgetUsageView {
+
+        @Override
+        public String getCategoryColor() {
+            return "#FFFFFF";
+        }
+
+        @Override
+        public String getCategoryIcon() {
+            return "tag";
+        }
+    }
+}
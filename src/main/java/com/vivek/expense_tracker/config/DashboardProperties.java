@@ -0,0 +1,24 @@
+package com.vivek.expense_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "dashboard")
+public class DashboardProperties {
+
+    /**
+     * Run a dashboard call's independent queries concurrently on virtual threads
+     * Default: false (queries run one after another on the request thread)
+     */
+    private boolean parallelQueries;
+
+    /**
+     * Upper bound on dashboard queries in flight at once across all requests
+     * Default: 0 (half of the connection pool)
+     */
+    private int maxConcurrentQueries;
+}
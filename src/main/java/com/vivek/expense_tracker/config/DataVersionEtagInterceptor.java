@@ -0,0 +1,50 @@
+package com.vivek.expense_tracker.config;
+
+import com.vivek.expense_tracker.security.UserPrincipal;
+import com.vivek.expense_tracker.service.DataVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Conditional GET for the user's read endpoints. The ETag is the user's data
+ * version, checked before the handler runs, so an unchanged view is answered
+ * with 304 after a single lookup and none of its queries execute.
+ */
+@Component
+public class DataVersionEtagInterceptor implements HandlerInterceptor {
+
+    private final DataVersionService dataVersionService;
+
+    public DataVersionEtagInterceptor(DataVersionService dataVersionService) {
+        this.dataVersionService = dataVersionService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)
+                || principal.getId() == null) {
+            return true;
+        }
+
+        String etag = dataVersionService.etag(principal.getId());
+        if (etag == null) {
+            return true;
+        }
+
+        // Let the browser cache store the response but revalidate it on every use
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
@@ -0,0 +1,38 @@
+package com.vivek.expense_tracker.config;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Which database the application is connected to, read once from the JDBC
+ * metadata at startup. Services that have a PostgreSQL-specific query (full-text
+ * search, rollup upserts) ask here and fall back to portable SQL otherwise
+ * (H2 in tests).
+ */
+@Component
+public class DatabaseDialect {
+
+    private final boolean postgres;
+
+    public DatabaseDialect(DataSource dataSource) {
+        this.postgres = isPostgres(dataSource);
+    }
+
+    public boolean isPostgres() {
+        return postgres;
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource,
+                    DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.vivek.expense_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "events")
+public class EventStreamProperties {
+
+    /**
+     * Open event streams allowed on this node; beyond that subscribers get 503 and retry
+     * Default: 10000
+     */
+    private int maxConnections = 10_000;
+
+    /**
+     * Events waiting to be written to one stream; a client that falls further behind is disconnected
+     * Default: 32
+     */
+    private int sendQueueCapacity = 32;
+
+    /**
+     * Idle streams get a comment this often, which keeps proxies from closing them and finds dead clients
+     * Default: 25s
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(25);
+
+    /**
+     * Streams are closed after this and the client reconnects, which also re-checks its token
+     * Default: 30m
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+}
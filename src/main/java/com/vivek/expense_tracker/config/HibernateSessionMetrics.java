@@ -0,0 +1,38 @@
+package com.vivek.expense_tracker.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Records the JDBC statements each Hibernate session executed when it closes.
+ * With open-in-view a request runs in one session, so this is the statements
+ * per request distribution. Hibernate instantiates one listener per session
+ * (hibernate.session.events.auto), hence the global registry, which Spring
+ * Boot's registry is added to.
+ */
+public class HibernateSessionMetrics implements SessionEventListener {
+
+    private static final DistributionSummary STATEMENTS = DistributionSummary
+            .builder("hibernate.session.statements")
+            .description("JDBC statements and batches executed per Hibernate session")
+            .publishPercentileHistogram()
+            .register(Metrics.globalRegistry);
+
+    private int statements;
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        statements++;
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        statements++;
+    }
+
+    @Override
+    public void end() {
+        STATEMENTS.record(statements);
+    }
+}
@@ -16,8 +16,20 @@ public class JwtProperties {
     private String secret;
 
     /**
-     * JWT token expiration time in milliseconds
-     * Default: 86400000 (24 hours)
+     * JWT access token expiration time in milliseconds, kept short since refresh tokens renew it
+     * Default: 900000 (15 minutes)
      */
     private long expiration;
+
+    /**
+     * Refresh token lifetime in milliseconds
+     * Default: 2592000000 (30 days)
+     */
+    private long refreshExpiration = 2592000000L;
+
+    /**
+     * Maximum number of verified tokens kept in memory
+     * Default: 10000 (0 disables the cache)
+     */
+    private int cacheMaxSize = 10000;
 }
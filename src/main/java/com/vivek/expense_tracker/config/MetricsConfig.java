@@ -0,0 +1,24 @@
+package com.vivek.expense_tracker.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application metrics, scraped from /actuator/prometheus. Service classes are
+ * annotated with {@code @Timed(SERVICE_TIMER)}, repository calls are timed by
+ * Spring Data as {@code spring.data.repository.invocations}, and Hibernate
+ * statistics are bound by the hibernate-micrometer module.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Tagged with class and method by the aspect
+    public static final String SERVICE_TIMER = "service.invocations";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
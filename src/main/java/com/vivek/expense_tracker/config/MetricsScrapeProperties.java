@@ -0,0 +1,24 @@
+package com.vivek.expense_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "metrics.scrape")
+public class MetricsScrapeProperties {
+
+    /**
+     * HTTP basic username the Prometheus scraper authenticates with
+     * Default: prometheus
+     */
+    private String username = "prometheus";
+
+    /**
+     * HTTP basic password for the scraper
+     * Default: empty, which keeps /actuator/prometheus closed
+     */
+    private String password = "";
+}
@@ -0,0 +1,56 @@
+package com.vivek.expense_tracker.config;
+
+import com.vivek.expense_tracker.repository.UserRepository;
+import com.vivek.expense_tracker.service.MonthlySpendService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Checks the monthly spend rollup against raw expenses when the app is started
+ * with {@code --rollup=verify}, and rebuilds drifted users with {@code --rollup=rebuild}.
+ */
+@Component
+@Profile("!test")
+public class MonthlySpendRollupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(MonthlySpendRollupRunner.class);
+
+    private final MonthlySpendService monthlySpendService;
+    private final UserRepository userRepository;
+
+    public MonthlySpendRollupRunner(MonthlySpendService monthlySpendService, UserRepository userRepository) {
+        this.monthlySpendService = monthlySpendService;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> mode = args.getOptionValues("rollup");
+        if (mode == null || mode.isEmpty()) {
+            return;
+        }
+
+        boolean repair = "rebuild".equalsIgnoreCase(mode.get(0));
+        int driftedUsers = 0;
+        int driftedCells = 0;
+
+        for (Long userId : userRepository.findAllIds()) {
+            int drift = monthlySpendService.verify(userId, repair);
+            if (drift > 0) {
+                driftedUsers++;
+                driftedCells += drift;
+                log.warn("Monthly spend rollup drift for user {}: {} cell(s){}", userId, drift,
+                        repair ? ", rebuilt" : "");
+            }
+        }
+
+        log.info("Monthly spend rollup {} finished: {} user(s), {} cell(s) drifted",
+                repair ? "rebuild" : "verify", driftedUsers, driftedCells);
+    }
+}
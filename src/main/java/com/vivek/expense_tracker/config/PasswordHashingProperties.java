@@ -0,0 +1,24 @@
+package com.vivek.expense_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "password-hashing")
+public class PasswordHashingProperties {
+
+    /**
+     * Threads hashing and checking passwords, the most CPU logins and registrations can take
+     * Default: 0 (half the available processors, at least one)
+     */
+    private int threads;
+
+    /**
+     * Hashes allowed to wait for a thread; beyond that requests are rejected with 503
+     * Default: 64
+     */
+    private int queueCapacity = 64;
+}
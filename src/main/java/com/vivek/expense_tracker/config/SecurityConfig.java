@@ -1,15 +1,24 @@
 package com.vivek.expense_tracker.config;
 
+import com.vivek.expense_tracker.security.BoundedPasswordEncoder;
 import com.vivek.expense_tracker.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -23,26 +32,71 @@ import java.util.List;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private static final String METRICS_ROLE = "METRICS";
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final MetricsScrapeProperties metricsScrapeProperties;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
+            MetricsScrapeProperties metricsScrapeProperties) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.metricsScrapeProperties = metricsScrapeProperties;
     }
 
+    /**
+     * Actuator endpoints sit behind their own chain: health stays public, metrics
+     * need the scraper's HTTP basic credentials and never accept a user's JWT.
+     */
     @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher("/actuator/**")
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/prometheus").hasRole(METRICS_ROLE)
+                        .anyRequest().denyAll())
+                .authenticationManager(metricsAuthenticationManager())
+                .httpBasic(Customizer.withDefaults());
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/auth/**", "/actuator/health").permitAll()
+                        // Async re-dispatch of a streamed response, the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers("/api/auth/**").permitAll()
                         .anyRequest().authenticated())
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
+    // Not a bean, a second UserDetailsService would replace the app's user lookup
+    private AuthenticationManager metricsAuthenticationManager() {
+        // Plain BCrypt, scrapes must not queue behind a login storm in the bounded hashing pool
+        PasswordEncoder encoder = new BCryptPasswordEncoder();
+        InMemoryUserDetailsManager scrapers = new InMemoryUserDetailsManager();
+        if (!metricsScrapeProperties.getPassword().isBlank()) {
+            scrapers.createUser(User.withUsername(metricsScrapeProperties.getUsername())
+                    .password(encoder.encode(metricsScrapeProperties.getPassword()))
+                    .roles(METRICS_ROLE)
+                    .build());
+        }
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(scrapers);
+        provider.setPasswordEncoder(encoder);
+        return new ProviderManager(provider);
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -52,6 +106,7 @@ public class SecurityConfig {
                 "https://expense-tracker-frontend-l779.onrender.com"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        configuration.setExposedHeaders(List.of("ETag"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -59,9 +114,15 @@ public class SecurityConfig {
         return source;
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    /**
+     * BCrypt on its own bounded pool, see {@link BoundedPasswordEncoder}
+     */
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        int threads = properties.getThreads() > 0 ? properties.getThreads()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, properties.getQueueCapacity(),
+                meterRegistry);
     }
 
     @Bean
@@ -0,0 +1,162 @@
+package com.vivek.expense_tracker.config;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * JDBC proxies that report every statement execution to the thread's
+ * {@link SqlStatementStats}. Connections and statements are always wrapped,
+ * since a connection may be taken before counting starts (a test transaction,
+ * open-in-view); result sets only while something is counting, so untracked
+ * work such as a streamed export reads rows at full speed.
+ */
+final class SqlCountingDataSource {
+
+    private SqlCountingDataSource() {
+    }
+
+    static DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, new Handler(dataSource) {
+            @Override
+            Object invoke(Method method, Object[] args) throws Throwable {
+                Object result = method.invoke(target, args);
+                return result instanceof Connection connection ? wrapConnection(connection) : result;
+            }
+        });
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, new Handler(connection) {
+            @Override
+            Object invoke(Method method, Object[] args) throws Throwable {
+                Object result = method.invoke(target, args);
+                if (result instanceof Statement statement) {
+                    // createStatement carries no SQL, prepareStatement and prepareCall do
+                    String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                    return wrapStatement(method.getReturnType(), statement, sql);
+                }
+                return result;
+            }
+        });
+    }
+
+    private static Object wrapStatement(Class<?> type, Statement statement, String preparedSql) {
+        return proxy(type, new Handler(statement) {
+            @Override
+            Object invoke(Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                SqlStatementStats stats = SqlStatementStats.current();
+                if (stats == null || !name.startsWith("execute")) {
+                    Object result = method.invoke(target, args);
+                    // execute() hands its rows out through getResultSet; generated keys are not rows read
+                    return stats != null && name.equals("getResultSet") && result instanceof ResultSet resultSet
+                            ? wrapResultSet(resultSet, stats) : result;
+                }
+
+                long start = System.nanoTime();
+                Object result = method.invoke(target, args);
+                long elapsed = System.nanoTime() - start;
+
+                String shape;
+                if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                    shape = null;
+                } else if (args != null && args.length > 0 && args[0] instanceof String sql) {
+                    shape = SqlStatementStats.shapeOf(sql);
+                } else {
+                    shape = preparedSql;
+                }
+                stats.recordStatement(shape, elapsed);
+
+                if (result instanceof ResultSet resultSet) {
+                    return wrapResultSet(resultSet, stats);
+                }
+                recordUpdateCount(result, stats);
+                return result;
+            }
+        });
+    }
+
+    private static ResultSet wrapResultSet(ResultSet resultSet, SqlStatementStats stats) {
+        return proxy(ResultSet.class, new Handler(resultSet) {
+            @Override
+            Object invoke(Method method, Object[] args) throws Throwable {
+                Object result = method.invoke(target, args);
+                if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                    stats.recordRows(1);
+                }
+                return result;
+            }
+        });
+    }
+
+    private static void recordUpdateCount(Object result, SqlStatementStats stats) {
+        if (result instanceof Integer count) {
+            stats.recordRows(count);
+        } else if (result instanceof Long count) {
+            stats.recordRows(count);
+        } else if (result instanceof int[] counts) {
+            for (int count : counts) {
+                stats.recordRows(count);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                stats.recordRows(count);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(SqlCountingDataSource.class.getClassLoader(), new Class<?>[] { type },
+                handler);
+    }
+
+    /**
+     * Identity, unwrap and exception plumbing shared by every proxy
+     */
+    private abstract static class Handler implements InvocationHandler {
+
+        final Object target;
+
+        Handler(Object target) {
+            this.target = target;
+        }
+
+        abstract Object invoke(Method method, Object[] args) throws Throwable;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "SqlCounting[" + target + "]";
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(target)) {
+                        return target;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(target)) {
+                        return true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return invoke(method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
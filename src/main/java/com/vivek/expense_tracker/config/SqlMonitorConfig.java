@@ -0,0 +1,28 @@
+package com.vivek.expense_tracker.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes the application's DataSource through the statement-counting JDBC proxy
+ * read by {@link SqlStatementFilter}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "sql.monitor", name = "enabled", havingValue = "true")
+public class SqlMonitorConfig {
+
+    // Static so the post-processor does not pull this configuration's dependencies in early
+    @Bean
+    public static BeanPostProcessor sqlCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? SqlCountingDataSource.wrap(dataSource) : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.vivek.expense_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "sql.monitor")
+public class SqlMonitorProperties {
+
+    /**
+     * Count SQL statements, rows and JDBC time per HTTP request
+     * Default: false
+     */
+    private boolean enabled = false;
+
+    /**
+     * Statements one request may execute before it is logged and counted as over budget
+     * Default: 20
+     */
+    private int statementBudget = 20;
+
+    /**
+     * Executions of the same statement shape in one request that flag a likely N+1
+     * Default: 5
+     */
+    private int repeatThreshold = 5;
+}
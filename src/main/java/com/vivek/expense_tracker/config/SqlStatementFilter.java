@@ -0,0 +1,82 @@
+package com.vivek.expense_tracker.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL each request executes. Requests over the statement budget, or
+ * repeating one statement shape past the threshold, are logged and counted as
+ * violations; every request feeds the per-endpoint statement, row and JDBC time
+ * meters. The stats stay on the request as {@link #STATS_ATTRIBUTE} for tests.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(prefix = "sql.monitor", name = "enabled", havingValue = "true")
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    public static final String STATS_ATTRIBUTE = SqlStatementFilter.class.getName() + ".stats";
+
+    private final SqlMonitorProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementFilter(SqlMonitorProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.start();
+        request.setAttribute(STATS_ATTRIBUTE, stats);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementStats.stop();
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        DistributionSummary.builder("http.server.requests.sql.statements").tags(tags)
+                .publishPercentileHistogram().register(meterRegistry).record(stats.getStatementCount());
+        DistributionSummary.builder("http.server.requests.sql.rows").tags(tags)
+                .register(meterRegistry).record(stats.getRowCount());
+        Timer.builder("http.server.requests.sql.time").tags(tags)
+                .register(meterRegistry).record(stats.getElapsedNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.getStatementCount() > properties.getStatementBudget()) {
+            meterRegistry.counter("http.server.requests.sql.violations", tags.and("type", "budget")).increment();
+            logger.warn(String.format("%s %s executed %d SQL statements (budget %d), %d rows in %d ms",
+                    request.getMethod(), uri, stats.getStatementCount(), properties.getStatementBudget(),
+                    stats.getRowCount(), TimeUnit.NANOSECONDS.toMillis(stats.getElapsedNanos())));
+        }
+
+        Map<String, Long> repeated = stats.getRepeatedShapes(properties.getRepeatThreshold());
+        if (!repeated.isEmpty()) {
+            meterRegistry.counter("http.server.requests.sql.violations", tags.and("type", "repeated")).increment();
+            repeated.forEach((shape, times) -> logger.warn(String.format(
+                    "Possible N+1 in %s %s: statement ran %d times: %s", request.getMethod(), uri, times, shape)));
+        }
+    }
+}
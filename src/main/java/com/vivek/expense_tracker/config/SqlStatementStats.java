@@ -0,0 +1,131 @@
+package com.vivek.expense_tracker.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SQL executed on behalf of one unit of work, usually an HTTP request: statement
+ * count, rows read or written, JDBC time, and how often each statement shape ran.
+ * Bound to the current thread; {@link #propagate(Callable)} carries it to the
+ * threads a request fans queries out to.
+ */
+public final class SqlStatementStats {
+
+    // Enough for any sane request, an import or a runaway loop must not grow it without bound
+    static final int MAX_SHAPES = 256;
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final Map<String, LongAdder> shapes = new ConcurrentHashMap<>();
+
+    /**
+     * Start counting on the current thread, replacing whatever was bound
+     */
+    public static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Stats bound to the current thread, or null when nothing is being counted
+     */
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Wrap a task so it counts towards the caller's stats on whichever thread runs it
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats == null) {
+            return task;
+        }
+        return () -> {
+            SqlStatementStats previous = CURRENT.get();
+            CURRENT.set(stats);
+            try {
+                return task.call();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Record one executed statement. Batches pass a null shape: re-running the
+     * same insert per batch is the point of batching, not an N+1.
+     */
+    void recordStatement(String shape, long elapsedNanos) {
+        statements.increment();
+        nanos.add(elapsedNanos);
+        if (shape == null) {
+            return;
+        }
+        LongAdder count = shapes.get(shape);
+        if (count == null && shapes.size() < MAX_SHAPES) {
+            count = shapes.computeIfAbsent(shape, key -> new LongAdder());
+        }
+        if (count != null) {
+            count.increment();
+        }
+    }
+
+    void recordRows(long count) {
+        if (count > 0) {
+            rows.add(count);
+        }
+    }
+
+    public long getStatementCount() {
+        return statements.sum();
+    }
+
+    public long getRowCount() {
+        return rows.sum();
+    }
+
+    public long getElapsedNanos() {
+        return nanos.sum();
+    }
+
+    /**
+     * Statement shapes executed at least {@code threshold} times, the usual
+     * signature of a lazy association loaded once per row
+     */
+    public Map<String, Long> getRepeatedShapes(int threshold) {
+        Map<String, Long> repeated = new LinkedHashMap<>();
+        shapes.forEach((shape, count) -> {
+            long times = count.sum();
+            if (times >= threshold) {
+                repeated.put(shape, times);
+            }
+        });
+        return repeated;
+    }
+
+    /**
+     * Collapse literals so statements that differ only in their values share a shape
+     */
+    static String shapeOf(String sql) {
+        return sql.replaceAll("'(?:[^']|'')*'", "?")
+                .replaceAll("\\b\\d+(?:\\.\\d+)?\\b", "?")
+                .replaceAll("\\s+", " ")
+                .trim();
+    }
+}
@@ -1,12 +1,30 @@
 package com.vivek.expense_tracker.config;
 
+import com.vivek.expense_tracker.security.CurrentUserIdArgumentResolver;
+import jakarta.persistence.EntityManagerFactory;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final CurrentUserIdArgumentResolver currentUserIdArgumentResolver;
+    private final DataVersionEtagInterceptor dataVersionEtagInterceptor;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public WebConfig(CurrentUserIdArgumentResolver currentUserIdArgumentResolver,
+            DataVersionEtagInterceptor dataVersionEtagInterceptor, EntityManagerFactory entityManagerFactory) {
+        this.currentUserIdArgumentResolver = currentUserIdArgumentResolver;
+        this.dataVersionEtagInterceptor = dataVersionEtagInterceptor;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
@@ -16,6 +34,28 @@ public class WebConfig implements WebMvcConfigurer {
                         "https://expense-tracker-frontend-l779.onrender.com")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders("ETag")
                 .allowCredentials(true);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Open-in-view everywhere but auth (spring.jpa.open-in-view is off): an open session holds its
+        // connection until the request ends, and logins wait on the password hashing pool
+        OpenEntityManagerInViewInterceptor openInView = new OpenEntityManagerInViewInterceptor();
+        openInView.setEntityManagerFactory(entityManagerFactory);
+        // Event streams stay open for minutes and never touch the database after subscribing
+        registry.addWebRequestInterceptor(openInView)
+                .excludePathPatterns("/api/auth/**", "/api/budgets/alerts", "/api/dashboard/stream");
+
+        // Streamed exports and event streams are excluded, they are not views the SPA re-fetches
+        registry.addInterceptor(dataVersionEtagInterceptor)
+                .addPathPatterns("/api/expenses/**", "/api/budgets/**", "/api/categories/**", "/api/dashboard/**")
+                .excludePathPatterns("/api/expenses/export", "/api/budgets/alerts", "/api/dashboard/stream");
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(currentUserIdArgumentResolver);
+    }
 }
@@ -2,6 +2,7 @@ package com.vivek.expense_tracker.controller;
 
 import com.vivek.expense_tracker.dto.AuthResponse;
 import com.vivek.expense_tracker.dto.LoginRequest;
+import com.vivek.expense_tracker.dto.RefreshRequest;
 import com.vivek.expense_tracker.dto.RegisterRequest;
 import com.vivek.expense_tracker.service.AuthService;
 import jakarta.validation.Valid;
@@ -30,4 +31,10 @@ public class AuthController {
         AuthResponse response = authService.login(request);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshRequest request) {
+        AuthResponse response = authService.refresh(request);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -2,14 +2,16 @@ package com.vivek.expense_tracker.controller;
 
 import com.vivek.expense_tracker.dto.BudgetRequest;
 import com.vivek.expense_tracker.dto.BudgetResponse;
-import com.vivek.expense_tracker.entity.User;
-import com.vivek.expense_tracker.repository.UserRepository;
+import com.vivek.expense_tracker.security.CurrentUserId;
+import com.vivek.expense_tracker.service.BudgetAlertService;
 import com.vivek.expense_tracker.service.BudgetService;
+import com.vivek.expense_tracker.service.UserEventHub;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -19,27 +21,21 @@ import java.util.List;
 public class BudgetController {
 
     private final BudgetService budgetService;
-    private final UserRepository userRepository;
+    private final UserEventHub userEventHub;
 
-    public BudgetController(BudgetService budgetService, UserRepository userRepository) {
+    public BudgetController(BudgetService budgetService, UserEventHub userEventHub) {
         this.budgetService = budgetService;
-        this.userRepository = userRepository;
-    }
-
-    private Long getCurrentUserId() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return user.getId();
+        this.userEventHub = userEventHub;
     }
 
     @PostMapping
-    public ResponseEntity<BudgetResponse> createBudget(@Valid @RequestBody BudgetRequest request) {
-        return new ResponseEntity<>(budgetService.createBudget(getCurrentUserId(), request), HttpStatus.CREATED);
+    public ResponseEntity<BudgetResponse> createBudget(@CurrentUserId Long userId,
+            @Valid @RequestBody BudgetRequest request) {
+        return new ResponseEntity<>(budgetService.createBudget(userId, request), HttpStatus.CREATED);
     }
 
     @GetMapping
-    public ResponseEntity<List<BudgetResponse>> getBudgets(
+    public ResponseEntity<List<BudgetResponse>> getBudgets(@CurrentUserId Long userId,
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false) Integer month) {
         // Default to current month if not provided
@@ -48,18 +44,26 @@ public class BudgetController {
             year = now.getYear();
             month = now.getMonthValue();
         }
-        return ResponseEntity.ok(budgetService.getBudgetsByMonth(getCurrentUserId(), year, month));
+        return ResponseEntity.ok(budgetService.getBudgetsByMonth(userId, year, month));
+    }
+
+    /**
+     * Server-sent "budget-alert" events as expense writes cross 80% or 100% of a budget
+     */
+    @GetMapping(value = "/alerts", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlerts(@CurrentUserId Long userId) {
+        return userEventHub.subscribe(userId, BudgetAlertService.EVENT_NAME);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<BudgetResponse> updateBudget(@PathVariable Long id,
+    public ResponseEntity<BudgetResponse> updateBudget(@CurrentUserId Long userId, @PathVariable Long id,
             @Valid @RequestBody BudgetRequest request) {
-        return ResponseEntity.ok(budgetService.updateBudget(getCurrentUserId(), id, request));
+        return ResponseEntity.ok(budgetService.updateBudget(userId, id, request));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteBudget(@PathVariable Long id) {
-        budgetService.deleteBudget(getCurrentUserId(), id);
+    public ResponseEntity<Void> deleteBudget(@CurrentUserId Long userId, @PathVariable Long id) {
+        budgetService.deleteBudget(userId, id);
         return ResponseEntity.noContent().build();
     }
 }
@@ -2,12 +2,10 @@ package com.vivek.expense_tracker.controller;
 
 import com.vivek.expense_tracker.dto.CategoryDto;
 import com.vivek.expense_tracker.entity.Category;
-import com.vivek.expense_tracker.entity.User;
-import com.vivek.expense_tracker.repository.UserRepository;
+import com.vivek.expense_tracker.security.CurrentUserId;
 import com.vivek.expense_tracker.service.CategoryService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -17,35 +15,25 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
-    private final UserRepository userRepository;
 
-    public CategoryController(CategoryService categoryService, UserRepository userRepository) {
+    public CategoryController(CategoryService categoryService) {
         this.categoryService = categoryService;
-        this.userRepository = userRepository;
     }
 
     @GetMapping
-    public ResponseEntity<List<Category>> getCategories() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        List<Category> categories = categoryService.getCategoriesForUser(user.getId());
+    public ResponseEntity<List<CategoryDto>> getCategories(@CurrentUserId Long userId) {
+        List<CategoryDto> categories = categoryService.getCategoriesForUser(userId);
         return ResponseEntity.ok(categories);
     }
 
     @PostMapping
-    public ResponseEntity<Category> createCategory(@RequestBody CategoryDto categoryDto) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
+    public ResponseEntity<CategoryDto> createCategory(@CurrentUserId Long userId, @RequestBody CategoryDto categoryDto) {
         Category category = new Category();
         category.setName(categoryDto.getName());
         category.setColor(categoryDto.getColor());
         category.setIcon(categoryDto.getIcon());
 
-        Category savedCategory = categoryService.createCategory(user.getId(), category);
+        CategoryDto savedCategory = categoryService.createCategory(userId, category);
         return new ResponseEntity<>(savedCategory, HttpStatus.CREATED);
     }
 }
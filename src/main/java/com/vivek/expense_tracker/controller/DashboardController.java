@@ -3,17 +3,25 @@ package com.vivek.expense_tracker.controller;
 import com.vivek.expense_tracker.dto.CategorySpending;
 import com.vivek.expense_tracker.dto.DailyTrend;
 import com.vivek.expense_tracker.dto.DashboardStatsResponse;
+import com.vivek.expense_tracker.dto.DashboardSummaryResponse;
 import com.vivek.expense_tracker.dto.MonthlyComparison;
-import com.vivek.expense_tracker.entity.User;
-import com.vivek.expense_tracker.repository.UserRepository;
+import com.vivek.expense_tracker.dto.SpendingSeries;
+import com.vivek.expense_tracker.security.CurrentUserId;
+import com.vivek.expense_tracker.service.DashboardEventService;
 import com.vivek.expense_tracker.service.DashboardService;
+import com.vivek.expense_tracker.service.SeriesInterval;
+import com.vivek.expense_tracker.service.SpendSeriesService;
+import com.vivek.expense_tracker.service.UserEventHub;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -21,41 +29,64 @@ import java.util.List;
 public class DashboardController {
 
     private final DashboardService dashboardService;
-    private final UserRepository userRepository;
+    private final SpendSeriesService spendSeriesService;
+    private final UserEventHub userEventHub;
 
-    public DashboardController(DashboardService dashboardService, UserRepository userRepository) {
+    public DashboardController(DashboardService dashboardService, SpendSeriesService spendSeriesService,
+            UserEventHub userEventHub) {
         this.dashboardService = dashboardService;
-        this.userRepository = userRepository;
-    }
-
-    private Long getCurrentUserId() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return user.getId();
+        this.spendSeriesService = spendSeriesService;
+        this.userEventHub = userEventHub;
     }
 
     @GetMapping("/stats")
-    public ResponseEntity<DashboardStatsResponse> getStats() {
-        return ResponseEntity.ok(dashboardService.getDashboardStats(getCurrentUserId()));
+    public ResponseEntity<DashboardStatsResponse> getStats(@CurrentUserId Long userId) {
+        return ResponseEntity.ok(dashboardService.getDashboardStats(userId));
     }
 
     @GetMapping("/category-breakdown")
-    public ResponseEntity<List<CategorySpending>> getCategoryBreakdown(
+    public ResponseEntity<List<CategorySpending>> getCategoryBreakdown(@CurrentUserId Long userId,
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false) Integer month) {
-        return ResponseEntity.ok(dashboardService.getCategoryBreakdown(getCurrentUserId(), year, month));
+        return ResponseEntity.ok(dashboardService.getCategoryBreakdown(userId, year, month));
     }
 
     @GetMapping("/trends")
-    public ResponseEntity<List<DailyTrend>> getDailyTrends(
+    public ResponseEntity<List<DailyTrend>> getDailyTrends(@CurrentUserId Long userId,
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false) Integer month) {
-        return ResponseEntity.ok(dashboardService.getDailyTrend(getCurrentUserId(), year, month));
+        return ResponseEntity.ok(dashboardService.getDailyTrend(userId, year, month));
     }
 
     @GetMapping("/monthly-comparison")
-    public ResponseEntity<MonthlyComparison> getMonthlyComparison() {
-        return ResponseEntity.ok(dashboardService.getMonthlyComparison(getCurrentUserId()));
+    public ResponseEntity<MonthlyComparison> getMonthlyComparison(@CurrentUserId Long userId) {
+        return ResponseEntity.ok(dashboardService.getMonthlyComparison(userId));
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<DashboardSummaryResponse> getSummary(@CurrentUserId Long userId) {
+        return ResponseEntity.ok(dashboardService.getDashboardSummary(userId));
+    }
+
+    /**
+     * Totals per {@code interval} (week, month, quarter or year) between {@code startDate} and
+     * {@code endDate}, widened to whole buckets, each with the change from the bucket before
+     */
+    @GetMapping("/series")
+    public ResponseEntity<SpendingSeries> getSeries(@CurrentUserId Long userId,
+            @RequestParam(defaultValue = "month") String interval,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(spendSeriesService.getSeries(userId, SeriesInterval.parse(interval), startDate,
+                endDate));
+    }
+
+    /**
+     * Server-sent "dashboard" events with the figures each expense write changed, instead of polling
+     * /summary. Writes made before the stream opened are not replayed, read /summary once it is open.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@CurrentUserId Long userId) {
+        return userEventHub.subscribe(userId, DashboardEventService.EVENT_NAME);
     }
 }
@@ -1,9 +1,17 @@
 package com.vivek.expense_tracker.controller;
 
+import com.vivek.expense_tracker.dto.CursorPage;
+import com.vivek.expense_tracker.dto.ExpenseBatchRequest;
+import com.vivek.expense_tracker.dto.ExpenseBatchResponse;
+import com.vivek.expense_tracker.dto.ExpenseImportResponse;
+import com.vivek.expense_tracker.dto.ExpenseListResponse;
 import com.vivek.expense_tracker.dto.ExpenseRequest;
 import com.vivek.expense_tracker.dto.ExpenseResponse;
-import com.vivek.expense_tracker.entity.User;
-import com.vivek.expense_tracker.repository.UserRepository;
+import com.vivek.expense_tracker.security.CurrentUserId;
+import com.vivek.expense_tracker.service.ExpenseBatchService;
+import com.vivek.expense_tracker.service.ExpenseExportService;
+import com.vivek.expense_tracker.service.ExpenseImportService;
+import com.vivek.expense_tracker.service.ExpenseSearchService;
 import com.vivek.expense_tracker.service.ExpenseService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
@@ -11,40 +19,116 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/expenses")
 public class ExpenseController {
 
     private final ExpenseService expenseService;
-    private final UserRepository userRepository;
+    private final ExpenseImportService expenseImportService;
+    private final ExpenseExportService expenseExportService;
+    private final ExpenseSearchService expenseSearchService;
+    private final ExpenseBatchService expenseBatchService;
 
-    public ExpenseController(ExpenseService expenseService, UserRepository userRepository) {
+    public ExpenseController(ExpenseService expenseService, ExpenseImportService expenseImportService,
+            ExpenseExportService expenseExportService, ExpenseSearchService expenseSearchService,
+            ExpenseBatchService expenseBatchService) {
         this.expenseService = expenseService;
-        this.userRepository = userRepository;
-    }
-
-    private Long getCurrentUserId() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return user.getId();
+        this.expenseImportService = expenseImportService;
+        this.expenseExportService = expenseExportService;
+        this.expenseSearchService = expenseSearchService;
+        this.expenseBatchService = expenseBatchService;
     }
 
     @PostMapping
-    public ResponseEntity<ExpenseResponse> createExpense(@Valid @RequestBody ExpenseRequest request) {
-        ExpenseResponse response = expenseService.createExpense(getCurrentUserId(), request);
+    public ResponseEntity<ExpenseResponse> createExpense(@CurrentUserId Long userId,
+            @Valid @RequestBody ExpenseRequest request) {
+        ExpenseResponse response = expenseService.createExpense(userId, request);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * Up to {@value ExpenseBatchRequest#MAX_OPERATIONS} creates, updates and deletes applied in one
+     * transaction. Each operation gets a result; invalid ones are reported and skipped.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ExpenseBatchResponse> applyBatch(@CurrentUserId Long userId,
+            @Valid @RequestBody ExpenseBatchRequest request) {
+        return ResponseEntity.ok(expenseBatchService.apply(userId, request.getOperations()));
+    }
+
+    /**
+     * Bulk import from a CSV file ({@code text/csv}, header row required) or a JSON array.
+     * The body is streamed; rows that fail validation are reported and skipped.
+     */
+    @PostMapping(value = "/import", consumes = { "text/csv", MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity<ExpenseImportResponse> importExpenses(@CurrentUserId Long userId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        ExpenseImportResponse response = MediaType.parseMediaType(contentType)
+                .isCompatibleWith(MediaType.APPLICATION_JSON)
+                        ? expenseImportService.importJson(userId, body)
+                        : expenseImportService.importCsv(userId, body);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Streamed export as {@code format=csv} (default) or {@code format=ndjson}, gzipped when
+     * the client accepts it. Rows are written as they come off the database cursor.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(@CurrentUserId Long userId,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ExpenseExportService.Format exportFormat;
+        try {
+            exportFormat = ExpenseExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Format must be csv or ndjson");
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+                expenseExportService.export(userId, categoryId, startDate, endDate, exportFormat, compressed);
+                compressed.finish();
+            } else {
+                expenseExportService.export(userId, categoryId, startDate, endDate, exportFormat, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"expenses." + exportFormat.getExtension() + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Offset page of expenses as an {@link ExpenseListResponse}, gzipped by the server when the
+     * client accepts it (see {@code server.compression})
+     */
     @GetMapping
-    public ResponseEntity<Page<ExpenseResponse>> getExpenses(
+    public ResponseEntity<ExpenseListResponse> getExpenses(@CurrentUserId Long userId,
             @RequestParam(required = false) Long categoryId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
@@ -55,25 +139,52 @@ public class ExpenseController {
         Sort sort = direction.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<ExpenseResponse> expenses = expenseService.getExpenses(getCurrentUserId(), categoryId, startDate, endDate,
+        Page<ExpenseResponse> expenses = expenseService.getExpenses(userId, categoryId, startDate, endDate,
                 pageable);
-        return ResponseEntity.ok(expenses);
+        return ResponseEntity.ok(ExpenseListResponse.from(expenses));
+    }
+
+    /**
+     * Opt-in keyset pagination: {@code ?mode=cursor&size=20}, then pass back {@code nextCursor}
+     */
+    @GetMapping(params = "mode=cursor")
+    public ResponseEntity<CursorPage<ExpenseResponse>> getExpensesByCursor(@CurrentUserId Long userId,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(expenseService.getExpensesAfter(userId, categoryId, startDate, endDate, cursor, size));
+    }
+
+    /**
+     * Description search, best matches first: every word of {@code q} must start a word of the
+     * description. Combines with the usual category and date filters.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<ExpenseResponse>> searchExpenses(@CurrentUserId Long userId,
+            @RequestParam String q,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(expenseSearchService.search(userId, q, categoryId, startDate, endDate, size));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ExpenseResponse> getExpenseById(@PathVariable Long id) {
-        return ResponseEntity.ok(expenseService.getExpenseById(getCurrentUserId(), id));
+    public ResponseEntity<ExpenseResponse> getExpenseById(@CurrentUserId Long userId, @PathVariable Long id) {
+        return ResponseEntity.ok(expenseService.getExpenseById(userId, id));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<ExpenseResponse> updateExpense(@PathVariable Long id,
+    public ResponseEntity<ExpenseResponse> updateExpense(@CurrentUserId Long userId, @PathVariable Long id,
             @Valid @RequestBody ExpenseRequest request) {
-        return ResponseEntity.ok(expenseService.updateExpense(getCurrentUserId(), id, request));
+        return ResponseEntity.ok(expenseService.updateExpense(userId, id, request));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteExpense(@PathVariable Long id) {
-        expenseService.deleteExpense(getCurrentUserId(), id);
+    public ResponseEntity<Void> deleteExpense(@CurrentUserId Long userId, @PathVariable Long id) {
+        expenseService.deleteExpense(userId, id);
         return ResponseEntity.noContent().build();
     }
 }
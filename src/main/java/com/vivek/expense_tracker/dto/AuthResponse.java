@@ -12,6 +12,7 @@ public class AuthResponse {
     private Long id;
     private String name;
     private String email;
+    private String refreshToken;
 
     public AuthResponse(String token, Long id, String name, String email) {
         this.token = token;
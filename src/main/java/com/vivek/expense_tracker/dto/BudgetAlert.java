@@ -0,0 +1,25 @@
+package com.vivek.expense_tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Pushed when an expense write takes a budget's spend across 80% or 100% of its limit
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetAlert {
+    private Long budgetId;
+    private Long categoryId;
+    private String categoryName;
+    private String month;
+    // Percentage of the limit that was crossed, 80 or 100
+    private int threshold;
+    private BigDecimal monthlyLimit;
+    private BigDecimal totalSpent;
+    private Double percentageUsed;
+}
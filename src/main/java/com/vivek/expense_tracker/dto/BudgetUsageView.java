@@ -0,0 +1,22 @@
+package com.vivek.expense_tracker.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Budget row joined with its category and the month's spend, read in one query
+ */
+public interface BudgetUsageView {
+    Long getId();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    String getCategoryColor();
+
+    String getCategoryIcon();
+
+    BigDecimal getMonthlyLimit();
+
+    BigDecimal getTotalSpent();
+}
@@ -0,0 +1,26 @@
+package com.vivek.expense_tracker.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * What an expense write changed on the current month's dashboard, pushed over
+ * the dashboard stream. Figures are totals as of the write, not increments, so
+ * applying the latest version is enough.
+ */
+@Data
+@Builder
+public class DashboardDelta {
+    // The user's data version after the write, later events carry higher versions
+    private Long version;
+    private DashboardStatsResponse stats;
+    private MonthlyComparison monthlyComparison;
+    // Touched categories, with amount zero when the category no longer has spending
+    private List<CategorySpending> categories;
+    // Touched days of the current month, with amount zero when the day no longer has spending
+    private List<DailyTrend> days;
+    // The touched days are unknown (bulk import), the client should re-read the trends
+    private boolean reload;
+}
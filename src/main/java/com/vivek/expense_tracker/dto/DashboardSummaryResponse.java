@@ -0,0 +1,15 @@
+package com.vivek.expense_tracker.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class DashboardSummaryResponse {
+    private DashboardStatsResponse stats;
+    private List<CategorySpending> categoryBreakdown;
+    private List<DailyTrend> trends;
+    private MonthlyComparison monthlyComparison;
+}
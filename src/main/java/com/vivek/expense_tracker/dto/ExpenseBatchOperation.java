@@ -0,0 +1,19 @@
+package com.vivek.expense_tracker.dto;
+
+import lombok.Data;
+
+/**
+ * One create, update or delete in a batch. Checked individually, an invalid
+ * operation is reported in its result without failing the others.
+ */
+@Data
+public class ExpenseBatchOperation {
+
+    public enum Action {
+        CREATE, UPDATE, DELETE
+    }
+
+    private Action action;
+    private Long id; // update and delete
+    private ExpenseRequest expense; // create and update
+}
@@ -0,0 +1,17 @@
+package com.vivek.expense_tracker.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ExpenseBatchRequest {
+
+    public static final int MAX_OPERATIONS = 200;
+
+    @NotEmpty(message = "Operations are required")
+    @Size(max = MAX_OPERATIONS, message = "At most " + MAX_OPERATIONS + " operations per batch")
+    private List<ExpenseBatchOperation> operations;
+}
@@ -0,0 +1,16 @@
+package com.vivek.expense_tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExpenseBatchResponse {
+    private int applied;
+    private int failed;
+    private List<ExpenseBatchResult> results; // one per operation, in request order
+}
@@ -0,0 +1,16 @@
+package com.vivek.expense_tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExpenseBatchResult {
+    private int index; // 0-based position in the request
+    private boolean success;
+    private Long id;
+    private ExpenseResponse expense; // created or updated expense, null for deletes and failures
+    private String error;
+}
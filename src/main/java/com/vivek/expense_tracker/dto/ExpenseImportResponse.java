@@ -0,0 +1,16 @@
+package com.vivek.expense_tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExpenseImportResponse {
+    private long imported;
+    private long failed;
+    private List<ImportRowError> errors; // capped, failed holds the full count
+}
@@ -0,0 +1,27 @@
+package com.vivek.expense_tracker.dto;
+
+import com.vivek.expense_tracker.entity.PaymentMethod;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A row of {@link ExpenseListResponse}; the category is resolved from the response's dictionary
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseListItem {
+    private Long id;
+    private BigDecimal amount;
+    private Long categoryId;
+    private LocalDate date;
+    private String description;
+    private PaymentMethod paymentMethod;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,49 @@
+package com.vivek.expense_tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Page of expenses as returned by GET /api/expenses. Each category on the page
+ * is listed once in {@code categories}, keyed by id, instead of on every row.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseListResponse {
+    private List<ExpenseListItem> content;
+    private Map<Long, CategoryRef> categories;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+
+    public static ExpenseListResponse from(Page<ExpenseResponse> page) {
+        List<ExpenseListItem> content = new ArrayList<>(page.getNumberOfElements());
+        Map<Long, CategoryRef> categories = new LinkedHashMap<>();
+        for (ExpenseResponse row : page.getContent()) {
+            content.add(new ExpenseListItem(row.getId(), row.getAmount(), row.getCategoryId(), row.getDate(),
+                    row.getDescription(), row.getPaymentMethod(), row.getCreatedAt(), row.getUpdatedAt()));
+            categories.computeIfAbsent(row.getCategoryId(),
+                    id -> new CategoryRef(row.getCategoryName(), row.getCategoryColor(), row.getCategoryIcon()));
+        }
+        return new ExpenseListResponse(content, categories, page.getNumber(), page.getSize(),
+                page.getTotalElements(), page.getTotalPages());
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryRef {
+        private String name;
+        private String color;
+        private String icon;
+    }
+}
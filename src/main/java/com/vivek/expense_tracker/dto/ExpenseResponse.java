@@ -1,13 +1,17 @@
 package com.vivek.expense_tracker.dto;
 
 import com.vivek.expense_tracker.entity.PaymentMethod;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ExpenseResponse {
     private Long id;
     private BigDecimal amount;
@@ -0,0 +1,13 @@
+package com.vivek.expense_tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportRowError {
+    private long row; // CSV: 1-based line the row starts on (header is line 1), JSON: 1-based array position
+    private String message;
+}
@@ -0,0 +1,11 @@
+package com.vivek.expense_tracker.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class RefreshRequest {
+
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+}
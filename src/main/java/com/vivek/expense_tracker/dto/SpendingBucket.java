@@ -0,0 +1,21 @@
+package com.vivek.expense_tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SpendingBucket {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private BigDecimal total;
+    private long count;
+    private BigDecimal previousTotal; // the bucket before, zero when it had no expenses
+    private BigDecimal change;
+    private Double percentageChange;
+}
@@ -0,0 +1,21 @@
+package com.vivek.expense_tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Spending totals over a range widened to whole buckets, one entry per bucket including empty ones
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SpendingSeries {
+    private String interval;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<SpendingBucket> buckets;
+}
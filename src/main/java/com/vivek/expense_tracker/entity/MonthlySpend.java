@@ -0,0 +1,42 @@
+package com.vivek.expense_tracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+/**
+ * Running user x category x month spend totals, kept in step with expenses
+ * so aggregate reads never have to re-sum raw expense rows.
+ */
+@Entity
+@Table(name = "monthly_spend", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "user_id", "category_id", "month" })
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlySpend {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    @Column(nullable = false, length = 7) // Format: YYYY-MM
+    private String month;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "expense_count", nullable = false)
+    private Long expenseCount;
+}
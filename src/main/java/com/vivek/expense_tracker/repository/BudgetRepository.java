@@ -1,7 +1,10 @@
 package com.vivek.expense_tracker.repository;
 
+import com.vivek.expense_tracker.dto.BudgetUsageView;
 import com.vivek.expense_tracker.entity.Budget;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -12,6 +15,23 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
     // Find all budgets for a user in a specific month
     List<Budget> findByUserIdAndMonth(Long userId, String month);
 
+    // Find all budgets for a user in a month with category details and the month's spend in one query
+    @Query("SELECT b.id AS id, c.id AS categoryId, c.name AS categoryName, c.color AS categoryColor, " +
+            "c.icon AS categoryIcon, b.monthlyLimit AS monthlyLimit, COALESCE(m.total, 0) AS totalSpent " +
+            "FROM Budget b JOIN b.category c " +
+            "LEFT JOIN MonthlySpend m ON m.user.id = b.user.id AND m.category.id = c.id AND m.month = b.month " +
+            "WHERE b.user.id = :userId AND b.month = :month")
+    List<BudgetUsageView> findUsageByUserIdAndMonth(@Param("userId") Long userId, @Param("month") String month);
+
+    // Find the budget for one category and month with the month's spend, used to check thresholds on write
+    @Query("SELECT b.id AS id, c.id AS categoryId, c.name AS categoryName, c.color AS categoryColor, " +
+            "c.icon AS categoryIcon, b.monthlyLimit AS monthlyLimit, COALESCE(m.total, 0) AS totalSpent " +
+            "FROM Budget b JOIN b.category c " +
+            "LEFT JOIN MonthlySpend m ON m.user.id = b.user.id AND m.category.id = c.id AND m.month = b.month " +
+            "WHERE b.user.id = :userId AND c.id = :categoryId AND b.month = :month")
+    Optional<BudgetUsageView> findUsageByUserIdAndCategoryIdAndMonth(@Param("userId") Long userId,
+            @Param("categoryId") Long categoryId, @Param("month") String month);
+
     // Find specific budget for user, category and month
     Optional<Budget> findByUserIdAndCategoryIdAndMonth(Long userId, Long categoryId, String month);
 
@@ -16,4 +16,7 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     // Get only default categories
     List<Category> findByUserIsNull();
+
+    // Get only a user's custom categories
+    List<Category> findByUserId(Long userId);
 }
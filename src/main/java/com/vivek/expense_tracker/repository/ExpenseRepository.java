@@ -1,32 +1,131 @@
 package com.vivek.expense_tracker.repository;
 
+import com.vivek.expense_tracker.dto.ExpenseResponse;
 import com.vivek.expense_tracker.entity.Expense;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface ExpenseRepository extends JpaRepository<Expense, Long> {
 
-        // Find all expenses for a user with pagination
-        Page<Expense> findByUserIdOrderByDateDesc(Long userId, Pageable pageable);
+        // List queries project straight into ExpenseResponse, joining the category in the same SELECT
+        String RESPONSE_SELECT = "SELECT new com.vivek.expense_tracker.dto.ExpenseResponse(" +
+                        "e.id, e.amount, c.id, c.name, c.color, c.icon, e.date, e.description, e.paymentMethod, " +
+                        "e.createdAt, e.updatedAt) FROM Expense e JOIN e.category c ";
+
+        // Find expense rows for a user with pagination
+        @Query(value = RESPONSE_SELECT + "WHERE e.user.id = :userId ORDER BY e.date DESC",
+                        countQuery = "SELECT COUNT(e) FROM Expense e WHERE e.user.id = :userId")
+        Page<ExpenseResponse> findResponsesByUserId(@Param("userId") Long userId, Pageable pageable);
 
-        // Find expenses by user and category
-        Page<Expense> findByUserIdAndCategoryIdOrderByDateDesc(Long userId, Long categoryId, Pageable pageable);
+        // Find expense rows by user and category
+        @Query(value = RESPONSE_SELECT + "WHERE e.user.id = :userId AND c.id = :categoryId ORDER BY e.date DESC",
+                        countQuery = "SELECT COUNT(e) FROM Expense e WHERE e.user.id = :userId AND e.category.id = :categoryId")
+        Page<ExpenseResponse> findResponsesByUserIdAndCategoryId(@Param("userId") Long userId,
+                        @Param("categoryId") Long categoryId, Pageable pageable);
 
-        // Find expenses by user and date range
-        Page<Expense> findByUserIdAndDateBetweenOrderByDateDesc(Long userId, LocalDate startDate, LocalDate endDate,
+        // Find expense rows by user and date range
+        @Query(value = RESPONSE_SELECT + "WHERE e.user.id = :userId AND e.date BETWEEN :startDate AND :endDate " +
+                        "ORDER BY e.date DESC",
+                        countQuery = "SELECT COUNT(e) FROM Expense e WHERE e.user.id = :userId " +
+                                        "AND e.date BETWEEN :startDate AND :endDate")
+        Page<ExpenseResponse> findResponsesByUserIdAndDateBetween(@Param("userId") Long userId,
+                        @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
                         Pageable pageable);
 
-        // Find expenses by user, category and date range
-        Page<Expense> findByUserIdAndCategoryIdAndDateBetweenOrderByDateDesc(
-                        Long userId, Long categoryId, LocalDate startDate, LocalDate endDate, Pageable pageable);
+        // Find expense rows by user, category and date range
+        @Query(value = RESPONSE_SELECT + "WHERE e.user.id = :userId AND c.id = :categoryId " +
+                        "AND e.date BETWEEN :startDate AND :endDate ORDER BY e.date DESC",
+                        countQuery = "SELECT COUNT(e) FROM Expense e WHERE e.user.id = :userId " +
+                                        "AND e.category.id = :categoryId AND e.date BETWEEN :startDate AND :endDate")
+        Page<ExpenseResponse> findResponsesByUserIdAndCategoryIdAndDateBetween(@Param("userId") Long userId,
+                        @Param("categoryId") Long categoryId, @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate, Pageable pageable);
+
+        // Keyset page: expense rows after a (date, id) position, no count query
+        @Query(RESPONSE_SELECT + "WHERE e.user.id = :userId AND e.date BETWEEN :startDate AND :endDate " +
+                        "AND (e.date < :cursorDate OR (e.date = :cursorDate AND e.id < :cursorId)) " +
+                        "ORDER BY e.date DESC, e.id DESC")
+        List<ExpenseResponse> findResponsesAfter(@Param("userId") Long userId,
+                        @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                        @Param("cursorDate") LocalDate cursorDate, @Param("cursorId") Long cursorId, Limit limit);
+
+        // Keyset page restricted to one category
+        @Query(RESPONSE_SELECT + "WHERE e.user.id = :userId AND c.id = :categoryId " +
+                        "AND e.date BETWEEN :startDate AND :endDate " +
+                        "AND (e.date < :cursorDate OR (e.date = :cursorDate AND e.id < :cursorId)) " +
+                        "ORDER BY e.date DESC, e.id DESC")
+        List<ExpenseResponse> findResponsesAfterInCategory(@Param("userId") Long userId,
+                        @Param("categoryId") Long categoryId,
+                        @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                        @Param("cursorDate") LocalDate cursorDate, @Param("cursorId") Long cursorId, Limit limit);
+
+        // Export: forward-only cursor over expense rows, fetched EXPORT_FETCH_SIZE at a time
+        String EXPORT_FETCH_SIZE = "500";
+
+        @QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+                        @QueryHint(name = HINT_READ_ONLY, value = "true") })
+        @Query(RESPONSE_SELECT + "WHERE e.user.id = :userId AND e.date BETWEEN :startDate AND :endDate " +
+                        "ORDER BY e.date DESC, e.id DESC")
+        Stream<ExpenseResponse> streamResponses(@Param("userId") Long userId,
+                        @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+        // Export cursor restricted to one category
+        @QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+                        @QueryHint(name = HINT_READ_ONLY, value = "true") })
+        @Query(RESPONSE_SELECT + "WHERE e.user.id = :userId AND c.id = :categoryId " +
+                        "AND e.date BETWEEN :startDate AND :endDate ORDER BY e.date DESC, e.id DESC")
+        Stream<ExpenseResponse> streamResponsesInCategory(@Param("userId") Long userId,
+                        @Param("categoryId") Long categoryId,
+                        @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+        // Load response rows by id, used to hydrate search hits in rank order
+        @Query(RESPONSE_SELECT + "WHERE e.user.id = :userId AND e.id IN :ids")
+        List<ExpenseResponse> findResponsesByIds(@Param("userId") Long userId, @Param("ids") List<Long> ids);
+
+        // Full-text search (PostgreSQL): ids of matching expenses, best rank first, served by the GIN index
+        @Query(value = "SELECT e.id FROM expenses e, to_tsquery('simple', :query) q " +
+                        "WHERE e.user_id = :userId AND e.description_tsv @@ q " +
+                        "AND e.date BETWEEN :startDate AND :endDate " +
+                        "ORDER BY ts_rank(e.description_tsv, q) DESC, e.date DESC, e.id DESC LIMIT :limit",
+                        nativeQuery = true)
+        List<Long> searchIds(@Param("userId") Long userId, @Param("query") String query,
+                        @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                        @Param("limit") int limit);
+
+        // Full-text search restricted to one category
+        @Query(value = "SELECT e.id FROM expenses e, to_tsquery('simple', :query) q " +
+                        "WHERE e.user_id = :userId AND e.category_id = :categoryId AND e.description_tsv @@ q " +
+                        "AND e.date BETWEEN :startDate AND :endDate " +
+                        "ORDER BY ts_rank(e.description_tsv, q) DESC, e.date DESC, e.id DESC LIMIT :limit",
+                        nativeQuery = true)
+        List<Long> searchIdsInCategory(@Param("userId") Long userId, @Param("categoryId") Long categoryId,
+                        @Param("query") String query, @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate, @Param("limit") int limit);
+
+        // Search fallback for databases without full-text support (H2 in tests): substring candidates,
+        // newest first, narrowed to word-prefix matches by the caller
+        @Query(RESPONSE_SELECT + "WHERE e.user.id = :userId AND (:categoryId IS NULL OR c.id = :categoryId) " +
+                        "AND e.date BETWEEN :startDate AND :endDate AND LOWER(e.description) LIKE :pattern " +
+                        "ORDER BY e.date DESC, e.id DESC")
+        Stream<ExpenseResponse> findResponsesByDescriptionLike(@Param("userId") Long userId,
+                        @Param("categoryId") Long categoryId, @Param("pattern") String pattern,
+                        @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
         // Get total expenses for a user in a date range
         @Query("SELECT COALESCE(SUM(e.amount), 0) FROM Expense e WHERE e.user.id = :userId AND e.date BETWEEN :startDate AND :endDate")
@@ -47,12 +146,45 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
         List<Object[]> getDailyTotals(@Param("userId") Long userId, @Param("startDate") LocalDate startDate,
                         @Param("endDate") LocalDate endDate);
 
+        // Get daily totals for a user on the given days, days without expenses are left out
+        @Query("SELECT e.date, SUM(e.amount) FROM Expense e " +
+                        "WHERE e.user.id = :userId AND e.date IN :dates GROUP BY e.date")
+        List<Object[]> getTotalsByDates(@Param("userId") Long userId, @Param("dates") Collection<LocalDate> dates);
+
         // Get total expenses for a user and category in a date range
         @Query("SELECT COALESCE(SUM(e.amount), 0) FROM Expense e WHERE e.user.id = :userId AND e.category.id = :categoryId AND e.date BETWEEN :startDate AND :endDate")
         BigDecimal getTotalByUserAndCategoryAndDateRange(@Param("userId") Long userId,
                         @Param("categoryId") Long categoryId,
                         @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
+        // Get per-day, per-category totals and counts - one scan feeds the whole dashboard summary
+        @Query("SELECT e.date, e.category.id, e.category.name, e.category.color, SUM(e.amount), COUNT(e) " +
+                        "FROM Expense e WHERE e.user.id = :userId AND e.date BETWEEN :startDate AND :endDate " +
+                        "GROUP BY e.date, e.category.id, e.category.name, e.category.color ORDER BY e.date")
+        List<Object[]> getDailyCategoryTotals(@Param("userId") Long userId, @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
+        // Get per-category, per-month totals and counts - the source of truth for the monthly spend rollup
+        @Query("SELECT e.category.id, YEAR(e.date), MONTH(e.date), SUM(e.amount), COUNT(e) " +
+                        "FROM Expense e WHERE e.user.id = :userId " +
+                        "GROUP BY e.category.id, YEAR(e.date), MONTH(e.date)")
+        List<Object[]> getMonthlyCategoryTotals(@Param("userId") Long userId);
+
+        // Get per-bucket totals and counts in one grouped scan, each row carrying the previous non-empty
+        // bucket and its total (LAG) for deltas. unit is week, month, quarter or year; buckets with no
+        // expenses are absent
+        @Query(value = "SELECT b.bucket, SUM(b.amount), COUNT(*), " +
+                        "LAG(b.bucket) OVER (ORDER BY b.bucket), LAG(SUM(b.amount)) OVER (ORDER BY b.bucket) " +
+                        "FROM (SELECT CAST(CASE :unit " +
+                        "WHEN 'week' THEN date_trunc('week', CAST(e.date AS TIMESTAMP)) " +
+                        "WHEN 'month' THEN date_trunc('month', CAST(e.date AS TIMESTAMP)) " +
+                        "WHEN 'quarter' THEN date_trunc('quarter', CAST(e.date AS TIMESTAMP)) " +
+                        "ELSE date_trunc('year', CAST(e.date AS TIMESTAMP)) END AS DATE) AS bucket, e.amount " +
+                        "FROM expenses e WHERE e.user_id = :userId AND e.date BETWEEN :startDate AND :endDate) b " +
+                        "GROUP BY b.bucket ORDER BY b.bucket", nativeQuery = true)
+        List<Object[]> getBucketTotals(@Param("userId") Long userId, @Param("unit") String unit,
+                        @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
         // Count transactions for dashboard
         Long countByUserIdAndDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
 }
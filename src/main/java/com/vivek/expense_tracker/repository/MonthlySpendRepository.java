@@ -0,0 +1,64 @@
+package com.vivek.expense_tracker.repository;
+
+import com.vivek.expense_tracker.entity.MonthlySpend;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MonthlySpendRepository extends JpaRepository<MonthlySpend, Long> {
+
+        // Atomically apply a delta to an existing rollup row, returns the number of rows touched
+        @Modifying(flushAutomatically = true)
+        @Query("UPDATE MonthlySpend m SET m.total = m.total + :amount, m.expenseCount = m.expenseCount + :count " +
+                        "WHERE m.user.id = :userId AND m.category.id = :categoryId AND m.month = :month")
+        int applyDelta(@Param("userId") Long userId, @Param("categoryId") Long categoryId,
+                        @Param("month") String month, @Param("amount") BigDecimal amount, @Param("count") long count);
+
+        // Add a delta to a rollup row, creating it if missing, in one statement safe against concurrent first writes (PostgreSQL)
+        @Modifying(flushAutomatically = true)
+        @Query(value = "INSERT INTO monthly_spend (user_id, category_id, month, total, expense_count) " +
+                        "VALUES (:userId, :categoryId, :month, :amount, :count) " +
+                        "ON CONFLICT (user_id, category_id, month) DO UPDATE " +
+                        "SET total = monthly_spend.total + EXCLUDED.total, " +
+                        "expense_count = monthly_spend.expense_count + EXCLUDED.expense_count", nativeQuery = true)
+        int upsertDelta(@Param("userId") Long userId, @Param("categoryId") Long categoryId,
+                        @Param("month") String month, @Param("amount") BigDecimal amount, @Param("count") long count);
+
+        // Get total spent by a user in a month
+        @Query("SELECT COALESCE(SUM(m.total), 0) FROM MonthlySpend m WHERE m.user.id = :userId AND m.month = :month")
+        BigDecimal getTotalByUserAndMonth(@Param("userId") Long userId, @Param("month") String month);
+
+        // Get number of expenses recorded by a user in a month
+        @Query("SELECT COALESCE(SUM(m.expenseCount), 0) FROM MonthlySpend m WHERE m.user.id = :userId AND m.month = :month")
+        Long getCountByUserAndMonth(@Param("userId") Long userId, @Param("month") String month);
+
+        // Get total spent by a user in one category in a month
+        @Query("SELECT COALESCE(SUM(m.total), 0) FROM MonthlySpend m " +
+                        "WHERE m.user.id = :userId AND m.category.id = :categoryId AND m.month = :month")
+        BigDecimal getTotalByUserAndCategoryAndMonth(@Param("userId") Long userId,
+                        @Param("categoryId") Long categoryId, @Param("month") String month);
+
+        // Get category-wise totals for a user in a month
+        @Query("SELECT m.category.id, m.category.name, m.category.color, m.total FROM MonthlySpend m " +
+                        "WHERE m.user.id = :userId AND m.month = :month AND m.expenseCount > 0")
+        List<Object[]> getCategoryWiseTotals(@Param("userId") Long userId, @Param("month") String month);
+
+        // Get per-category totals and counts with category details for a user in several months
+        @Query("SELECT m.month, m.category.id, m.category.name, m.category.color, m.total, m.expenseCount " +
+                        "FROM MonthlySpend m WHERE m.user.id = :userId AND m.month IN :months")
+        List<Object[]> getCategoryTotalsForMonths(@Param("userId") Long userId,
+                        @Param("months") Collection<String> months);
+
+        // Get all rollup rows for a user, used by the drift check
+        List<MonthlySpend> findByUserId(Long userId);
+
+        @Modifying
+        @Query("DELETE FROM MonthlySpend m WHERE m.user.id = :userId")
+        void deleteByUserId(@Param("userId") Long userId);
+}
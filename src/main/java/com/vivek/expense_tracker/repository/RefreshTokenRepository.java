@@ -0,0 +1,34 @@
+package com.vivek.expense_tracker.repository;
+
+import com.vivek.expense_tracker.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    // Unique index lookup, the owner comes along for the new access token's claims
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.user WHERE r.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHashWithUser(@Param("tokenHash") String tokenHash);
+
+    // Revoke only if still live, so of two concurrent refreshes with one token exactly one wins
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revokedAt = :now WHERE r.id = :id AND r.revokedAt IS NULL")
+    int revokeIfActive(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Revoke every live token of a user, used when a rotated token is replayed
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revokedAt = :now WHERE r.user.id = :userId AND r.revokedAt IS NULL")
+    int revokeAllForUser(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    // Housekeeping on login, expired tokens can no longer be replayed so nothing is learnt from them
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.user.id = :userId AND r.expiresAt < :now")
+    int deleteExpiredForUser(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+}
@@ -2,7 +2,11 @@ package com.vivek.expense_tracker.repository;
 
 import com.vivek.expense_tracker.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +15,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.id FROM User u ORDER BY u.id")
+    List<Long> findAllIds();
+
+    // Current data version, null when the user does not exist
+    @Query("SELECT u.dataVersion FROM User u WHERE u.id = :userId")
+    Long findDataVersion(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE User u SET u.dataVersion = u.dataVersion + 1 WHERE u.id = :userId")
+    int incrementDataVersion(@Param("userId") Long userId);
 }
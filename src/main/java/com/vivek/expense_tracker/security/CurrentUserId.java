@@ -0,0 +1,17 @@
+package com.vivek.expense_tracker.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds the authenticated user's id to a controller method parameter.
+ * Resolved by {@link CurrentUserIdArgumentResolver} from the {@link UserPrincipal}.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUserId {
+}
@@ -0,0 +1,11 @@
+package com.vivek.expense_tracker.security;
+
+/**
+ * The refresh token is unknown, expired or already used; the client has to log in again.
+ */
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    public InvalidRefreshTokenException() {
+        super("Invalid or expired refresh token");
+    }
+}
@@ -31,10 +31,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            UserPrincipal principal = StringUtils.hasText(jwt)
+                    ? tokenProvider.resolvePrincipal(jwt).orElse(null)
+                    : null;
+
+            if (principal != null) {
+                // Tokens issued before the user id claim existed still need a lookup
+                UserDetails userDetails = principal.getId() != null
+                        ? principal
+                        : customUserDetailsService.loadUserByUsername(principal.getUsername());
 
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
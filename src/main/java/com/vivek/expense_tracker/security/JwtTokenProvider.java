@@ -3,34 +3,58 @@ package com.vivek.expense_tracker.security;
 import com.vivek.expense_tracker.config.JwtProperties;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 public class JwtTokenProvider {
 
+    private static final String USER_ID_CLAIM = "uid";
+
     private final JwtProperties jwtProperties;
     private final SecretKey key;
+    private final JwtParser parser;
+    private final VerifiedTokenCache cache;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
 
-    public JwtTokenProvider(JwtProperties jwtProperties) {
+    public JwtTokenProvider(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
         this.jwtProperties = jwtProperties;
         this.key = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.cache = new VerifiedTokenCache(jwtProperties.getCacheMaxSize());
+        this.cacheHits = meterRegistry.counter("jwt.token.cache.requests", "result", "hit");
+        this.cacheMisses = meterRegistry.counter("jwt.token.cache.requests", "result", "miss");
+        Gauge.builder("jwt.token.cache.size", cache, VerifiedTokenCache::size).register(meterRegistry);
     }
 
     /**
      * Generate JWT token from Authentication
      */
     public String generateToken(Authentication authentication) {
-        String username = authentication.getName();
+        Long userId = authentication.getPrincipal() instanceof UserPrincipal principal ? principal.getId() : null;
+        return generateTokenForUser(userId, authentication.getName());
+    }
+
+    /**
+     * Generate JWT token for a user, carrying the user id as a claim
+     */
+    public String generateTokenForUser(Long userId, String username) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtProperties.getExpiration());
 
         return Jwts.builder()
                 .subject(username)
+                .claim(USER_ID_CLAIM, userId)
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(key)
@@ -38,31 +62,55 @@ public class JwtTokenProvider {
     }
 
     /**
-     * Generate JWT token from username
+     * Parse and verify a token once, returning its claims.
+     * Tokens seen before are served from the verified-token cache without
+     * re-checking the signature.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
      */
-    public String generateTokenFromUsername(String username) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtProperties.getExpiration());
+    public Claims parseClaims(String token) {
+        if (!cache.isEnabled()) {
+            return parser.parseSignedClaims(token).getPayload();
+        }
 
-        return Jwts.builder()
-                .subject(username)
-                .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(key)
-                .compact();
+        ByteBuffer cacheKey = VerifiedTokenCache.digest(token);
+        Claims cached = cache.get(cacheKey, System.currentTimeMillis());
+        if (cached != null) {
+            cacheHits.increment();
+            return cached;
+        }
+
+        cacheMisses.increment();
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        cache.put(cacheKey, claims);
+        return claims;
+    }
+
+    /**
+     * Resolve the authenticated principal from a token, or empty when the
+     * token is invalid
+     */
+    public Optional<UserPrincipal> resolvePrincipal(String token) {
+        try {
+            return Optional.of(toPrincipal(parseClaims(token)));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 
     /**
      * Get username from JWT token
      */
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parseClaims(token).getSubject();
+    }
 
-        return claims.getSubject();
+    /**
+     * Build the authenticated principal from JWT token claims.
+     * The id is null for tokens issued before the user id claim was added.
+     */
+    public UserPrincipal getPrincipalFromToken(String token) {
+        return toPrincipal(parseClaims(token));
     }
 
     /**
@@ -70,14 +118,15 @@ public class JwtTokenProvider {
      */
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
+            parseClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             // Log the exception if needed
             return false;
         }
     }
+
+    private UserPrincipal toPrincipal(Claims claims) {
+        return UserPrincipal.fromToken(claims.get(USER_ID_CLAIM, Long.class), claims.getSubject());
+    }
 }
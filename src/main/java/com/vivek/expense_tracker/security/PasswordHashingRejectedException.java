@@ -0,0 +1,11 @@
+package com.vivek.expense_tracker.security;
+
+/**
+ * The password hashing queue is full; the client should retry shortly.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException() {
+        super("Too many sign-in attempts right now, please retry shortly");
+    }
+}
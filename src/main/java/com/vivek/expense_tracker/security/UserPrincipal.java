@@ -0,0 +1,43 @@
+package com.vivek.expense_tracker.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Authenticated principal carrying the user id, so controllers never have to
+ * look the user up by email again.
+ */
+@Getter
+public class UserPrincipal implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final String password;
+
+    public UserPrincipal(Long id, String email, String password) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+    }
+
+    /**
+     * Principal rebuilt from a verified JWT - no password is available or needed
+     */
+    public static UserPrincipal fromToken(Long id, String email) {
+        return new UserPrincipal(id, email, null);
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.emptyList(); // No roles/authorities for now
+    }
+}
@@ -0,0 +1,92 @@
+package com.vivek.expense_tracker.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded cache of already verified JWT claims, keyed by a SHA-256 digest of
+ * the token so raw tokens are never held in memory. Entries die with the
+ * token's own expiration. Reads take no lock; when the cache fills up, one
+ * writer sweeps out expired entries and, if still full, drops arbitrary ones
+ * (they are simply verified again).
+ */
+class VerifiedTokenCache {
+
+    private final int maxSize;
+    private final Map<ByteBuffer, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock sweep = new ReentrantLock();
+
+    VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    Claims get(ByteBuffer key, long now) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= now) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.claims();
+    }
+
+    void put(ByteBuffer key, Claims claims) {
+        if (claims.getExpiration() == null) {
+            return; // Never cache tokens without an expiry
+        }
+        entries.put(key, new Entry(claims, claims.getExpiration().getTime()));
+        if (entries.size() > maxSize) {
+            evict(key, System.currentTimeMillis());
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // Other writers carry on while one thread sweeps, the bound is briefly approximate
+    private void evict(ByteBuffer added, long now) {
+        if (!sweep.tryLock()) {
+            return;
+        }
+        try {
+            entries.values().removeIf(entry -> entry.expiresAt() <= now);
+            // Still full of live tokens: make room for a tenth of the cache in one pass
+            int target = maxSize - Math.max(1, maxSize / 10);
+            Iterator<ByteBuffer> keys = entries.keySet().iterator();
+            while (entries.size() > target && keys.hasNext()) {
+                if (!keys.next().equals(added)) {
+                    keys.remove();
+                }
+            }
+        } finally {
+            sweep.unlock();
+        }
+    }
+
+    static ByteBuffer digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(Claims claims, long expiresAt) {
+    }
+}
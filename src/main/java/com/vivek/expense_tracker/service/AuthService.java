@@ -1,40 +1,49 @@
 package com.vivek.expense_tracker.service;
 
+import com.vivek.expense_tracker.config.MetricsConfig;
 import com.vivek.expense_tracker.dto.AuthResponse;
 import com.vivek.expense_tracker.dto.LoginRequest;
+import com.vivek.expense_tracker.dto.RefreshRequest;
 import com.vivek.expense_tracker.dto.RegisterRequest;
 import com.vivek.expense_tracker.entity.User;
 import com.vivek.expense_tracker.repository.UserRepository;
 import com.vivek.expense_tracker.security.JwtTokenProvider;
+import com.vivek.expense_tracker.security.PasswordHashingRejectedException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class AuthService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
     private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
 
     public AuthService(UserRepository userRepository,
             PasswordEncoder passwordEncoder,
             JwtTokenProvider tokenProvider,
-            AuthenticationManager authenticationManager) {
+            AuthenticationManager authenticationManager,
+            RefreshTokenService refreshTokenService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.tokenProvider = tokenProvider;
         this.authenticationManager = authenticationManager;
+        this.refreshTokenService = refreshTokenService;
     }
 
-    @Transactional
+    // Not transactional: the hash is computed on the bounded pool without holding a connection,
+    // a duplicate email racing past the check is still stopped by the unique constraint
     public AuthResponse register(RegisterRequest request) {
         // Check if email already exists
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -51,21 +60,20 @@ public class AuthService {
         User savedUser = userRepository.save(user);
 
         // Generate JWT token
-        String token = tokenProvider.generateTokenFromUsername(savedUser.getEmail());
+        String token = tokenProvider.generateTokenForUser(savedUser.getId(), savedUser.getEmail());
 
-        return new AuthResponse(
+        AuthResponse response = new AuthResponse(
                 token,
                 savedUser.getId(),
                 savedUser.getName(),
                 savedUser.getEmail());
+        response.setRefreshToken(refreshTokenService.issue(savedUser.getId()));
+        return response;
     }
 
     public AuthResponse login(LoginRequest request) {
         // Authenticate user
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()));
+        Authentication authentication = authenticate(request);
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
@@ -76,10 +84,50 @@ public class AuthService {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        return new AuthResponse(
+        AuthResponse response = new AuthResponse(
                 token,
                 user.getId(),
                 user.getName(),
                 user.getEmail());
+        response.setRefreshToken(refreshTokenService.issue(user.getId()));
+        return response;
+    }
+
+    /**
+     * A full hashing queue must get the same 503 whether the email is known (password check) or
+     * not (the provider's dummy hash against timing attacks), else the status code would reveal
+     * which accounts exist. The provider may hand the rejection back wrapped, so unwrap it here.
+     */
+    private Authentication authenticate(LoginRequest request) {
+        try {
+            return authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
+        } catch (AuthenticationException e) {
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof PasswordHashingRejectedException rejected) {
+                    throw rejected;
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Trade a refresh token for a new access token and a new refresh token.
+     * No password check, so renewing an expired access token costs no BCrypt.
+     */
+    public AuthResponse refresh(RefreshRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        User user = rotation.user();
+
+        String token = tokenProvider.generateTokenForUser(user.getId(), user.getEmail());
+
+        AuthResponse response = new AuthResponse(
+                token,
+                user.getId(),
+                user.getName(),
+                user.getEmail());
+        response.setRefreshToken(rotation.refreshToken());
+        return response;
     }
 }
@@ -0,0 +1,90 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.dto.BudgetAlert;
+import com.vivek.expense_tracker.dto.BudgetUsageView;
+import com.vivek.expense_tracker.repository.BudgetRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Optional;
+
+/**
+ * Checks the one budget an expense write touches and pushes a
+ * {@link BudgetAlert} to the user's open streams when its spend crosses 80% or
+ * 100% of the limit. Runs inside the write's transaction, right after the
+ * rollup row is updated, so the total it reads already includes the write and
+ * concurrent writes to the same cell see each other's totals in order. Users
+ * with no alert stream open on this node are skipped before the budget is read.
+ */
+@Service
+public class BudgetAlertService {
+
+    public static final String EVENT_NAME = "budget-alert";
+
+    // Highest first, a write that jumps past both only reports the higher one
+    static final int[] THRESHOLDS = { 100, 80 };
+
+    private final BudgetRepository budgetRepository;
+    private final UserEventHub userEventHub;
+    private final MeterRegistry meterRegistry;
+
+    public BudgetAlertService(BudgetRepository budgetRepository, UserEventHub userEventHub,
+            MeterRegistry meterRegistry) {
+        this.budgetRepository = budgetRepository;
+        this.userEventHub = userEventHub;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Called after {@code amount} was added to the user's rollup for the category and month
+     */
+    public void spendChanged(Long userId, Long categoryId, String month, BigDecimal amount) {
+        // Only growing spend can cross a threshold, deletes and refunds cost no query
+        if (amount.signum() <= 0) {
+            return;
+        }
+        // Nobody to tell, so writes by users without an open alert stream cost no query either
+        if (!userEventHub.hasSubscribers(userId, EVENT_NAME)) {
+            return;
+        }
+        Optional<BudgetUsageView> budget = budgetRepository.findUsageByUserIdAndCategoryIdAndMonth(userId,
+                categoryId, month);
+        if (budget.isEmpty()) {
+            return;
+        }
+
+        BudgetUsageView usage = budget.get();
+        BigDecimal total = usage.getTotalSpent();
+        Integer threshold = crossedThreshold(usage.getMonthlyLimit(), total.subtract(amount), total);
+        if (threshold == null) {
+            return;
+        }
+
+        meterRegistry.counter("budget.alerts", "threshold", threshold.toString()).increment();
+        userEventHub.publish(userId, EVENT_NAME, new BudgetAlert(usage.getId(), usage.getCategoryId(),
+                usage.getCategoryName(), month, threshold, usage.getMonthlyLimit(), total,
+                percentage(total, usage.getMonthlyLimit())));
+    }
+
+    /**
+     * Highest threshold (percent of the limit) that {@code before} was below and {@code after} reaches, or null
+     */
+    static Integer crossedThreshold(BigDecimal limit, BigDecimal before, BigDecimal after) {
+        if (limit.signum() <= 0) {
+            return null;
+        }
+        for (int threshold : THRESHOLDS) {
+            BigDecimal level = limit.multiply(BigDecimal.valueOf(threshold)).movePointLeft(2);
+            if (before.compareTo(level) < 0 && after.compareTo(level) >= 0) {
+                return threshold;
+            }
+        }
+        return null;
+    }
+
+    private static double percentage(BigDecimal total, BigDecimal limit) {
+        return total.divide(limit, 4, RoundingMode.HALF_UP).multiply(new BigDecimal(100)).doubleValue();
+    }
+}
@@ -1,40 +1,47 @@
 package com.vivek.expense_tracker.service;
 
+import com.vivek.expense_tracker.config.MetricsConfig;
 import com.vivek.expense_tracker.dto.BudgetRequest;
 import com.vivek.expense_tracker.dto.BudgetResponse;
+import com.vivek.expense_tracker.dto.BudgetUsageView;
+import com.vivek.expense_tracker.dto.CategoryDto;
 import com.vivek.expense_tracker.entity.Budget;
-import com.vivek.expense_tracker.entity.Category;
 import com.vivek.expense_tracker.entity.User;
 import com.vivek.expense_tracker.repository.BudgetRepository;
 import com.vivek.expense_tracker.repository.CategoryRepository;
-import com.vivek.expense_tracker.repository.ExpenseRepository;
+import com.vivek.expense_tracker.repository.MonthlySpendRepository;
 import com.vivek.expense_tracker.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDate;
-import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class BudgetService {
 
     private final BudgetRepository budgetRepository;
-    private final ExpenseRepository expenseRepository;
+    private final MonthlySpendRepository monthlySpendRepository;
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
+    private final DataVersionService dataVersionService;
+    private final CategoryCache categoryCache;
 
-    public BudgetService(BudgetRepository budgetRepository, ExpenseRepository expenseRepository,
-            CategoryRepository categoryRepository, UserRepository userRepository) {
+    public BudgetService(BudgetRepository budgetRepository, MonthlySpendRepository monthlySpendRepository,
+            CategoryRepository categoryRepository, UserRepository userRepository,
+            DataVersionService dataVersionService, CategoryCache categoryCache) {
         this.budgetRepository = budgetRepository;
-        this.expenseRepository = expenseRepository;
+        this.monthlySpendRepository = monthlySpendRepository;
         this.categoryRepository = categoryRepository;
         this.userRepository = userRepository;
+        this.dataVersionService = dataVersionService;
+        this.categoryCache = categoryCache;
     }
 
     @Transactional
@@ -42,13 +49,8 @@ public class BudgetService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        Category category = categoryRepository.findById(request.getCategoryId())
-                .orElseThrow(() -> new RuntimeException("Category not found"));
-
         // Validate category ownership
-        if (category.getUser() != null && !category.getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("You do not have permission to use this category");
-        }
+        CategoryDto category = categoryCache.requireUsable(userId, request.getCategoryId());
 
         String monthStr = String.format("%d-%02d", request.getYear(), request.getMonth());
 
@@ -61,17 +63,19 @@ public class BudgetService {
 
         Budget budget = new Budget();
         budget.setUser(user);
-        budget.setCategory(category);
+        budget.setCategory(categoryRepository.getReferenceById(category.getId()));
         budget.setMonthlyLimit(request.getMonthlyLimit());
         budget.setMonth(monthStr);
 
         Budget savedBudget = budgetRepository.save(budget);
-        return mapToResponse(savedBudget, request.getYear(), request.getMonth());
+        dataVersionService.bump(userId);
+        return mapToResponse(savedBudget, category, request.getYear(), request.getMonth());
     }
 
+    @Transactional(readOnly = true)
     public List<BudgetResponse> getBudgetsByMonth(Long userId, Integer year, Integer month) {
         String monthStr = String.format("%d-%02d", year, month);
-        List<Budget> budgets = budgetRepository.findByUserIdAndMonth(userId, monthStr);
+        List<BudgetUsageView> budgets = budgetRepository.findUsageByUserIdAndMonth(userId, monthStr);
         return budgets.stream()
                 .map(budget -> mapToResponse(budget, year, month))
                 .collect(Collectors.toList());
@@ -100,6 +104,7 @@ public class BudgetService {
         // but let's keep it simple.
 
         Budget updatedBudget = budgetRepository.save(budget);
+        dataVersionService.bump(userId);
 
         // Parse month string back to year/month for response
         String[] parts = budget.getMonth().split("-");
@@ -119,38 +124,58 @@ public class BudgetService {
         }
 
         budgetRepository.delete(budget);
+        dataVersionService.bump(userId);
     }
 
     private BudgetResponse mapToResponse(Budget budget, Integer year, Integer month) {
+        return mapToResponse(budget, CategoryCache.toDto(budget.getCategory()), year, month);
+    }
+
+    private BudgetResponse mapToResponse(Budget budget, CategoryDto category, Integer year, Integer month) {
         BudgetResponse response = new BudgetResponse();
         response.setId(budget.getId());
-        response.setCategoryId(budget.getCategory().getId());
-        response.setCategoryName(budget.getCategory().getName());
-        response.setCategoryColor(budget.getCategory().getColor());
-        response.setCategoryIcon(budget.getCategory().getIcon());
+        response.setCategoryId(category.getId());
+        response.setCategoryName(category.getName());
+        response.setCategoryColor(category.getColor());
+        response.setCategoryIcon(category.getIcon());
         response.setMonthlyLimit(budget.getMonthlyLimit());
         response.setMonth(month);
         response.setYear(year);
 
-        // Calculate usage
-        YearMonth yearMonth = YearMonth.of(year, month);
-        LocalDate startDate = yearMonth.atDay(1);
-        LocalDate endDate = yearMonth.atEndOfMonth();
+        // Calculate usage from the monthly rollup
+        BigDecimal totalSpent = monthlySpendRepository.getTotalByUserAndCategoryAndMonth(
+                budget.getUser().getId(), category.getId(), MonthlySpendService.monthKey(year, month));
 
-        BigDecimal totalSpent = expenseRepository.getTotalByUserAndCategoryAndDateRange(
-                budget.getUser().getId(), budget.getCategory().getId(), startDate, endDate);
+        applyUsage(response, budget.getMonthlyLimit(), totalSpent);
+        return response;
+    }
 
+    // Package-private for the JMH benchmarks in src/jmh
+    BudgetResponse mapToResponse(BudgetUsageView budget, Integer year, Integer month) {
+        BudgetResponse response = new BudgetResponse();
+        response.setId(budget.getId());
+        response.setCategoryId(budget.getCategoryId());
+        response.setCategoryName(budget.getCategoryName());
+        response.setCategoryColor(budget.getCategoryColor());
+        response.setCategoryIcon(budget.getCategoryIcon());
+        response.setMonthlyLimit(budget.getMonthlyLimit());
+        response.setMonth(month);
+        response.setYear(year);
+
+        applyUsage(response, budget.getMonthlyLimit(), budget.getTotalSpent());
+        return response;
+    }
+
+    private void applyUsage(BudgetResponse response, BigDecimal monthlyLimit, BigDecimal totalSpent) {
         response.setTotalSpent(totalSpent);
-        response.setRemainingAmount(budget.getMonthlyLimit().subtract(totalSpent));
+        response.setRemainingAmount(monthlyLimit.subtract(totalSpent));
 
-        if (budget.getMonthlyLimit().compareTo(BigDecimal.ZERO) > 0) {
-            double percentage = totalSpent.divide(budget.getMonthlyLimit(), 4, RoundingMode.HALF_UP)
+        if (monthlyLimit.compareTo(BigDecimal.ZERO) > 0) {
+            double percentage = totalSpent.divide(monthlyLimit, 4, RoundingMode.HALF_UP)
                     .multiply(new BigDecimal(100)).doubleValue();
             response.setPercentageUsed(percentage);
         } else {
             response.setPercentageUsed(0.0);
         }
-
-        return response;
     }
 }
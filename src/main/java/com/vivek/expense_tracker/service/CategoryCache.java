@@ -0,0 +1,261 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.dto.CategoryDto;
+import com.vivek.expense_tracker.entity.Category;
+import com.vivek.expense_tracker.repository.CategoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded per-user category cache. The default categories are held once and
+ * shared; each user's custom categories sit in a concurrent map so the
+ * ownership check on expense and budget writes does not hit the database.
+ * Reads take no lock; when the map fills up, one writer sweeps out expired
+ * entries and, if still full, drops arbitrary ones (they are simply reloaded).
+ *
+ * <p>Writes on this instance evict after commit. Entries are also reloaded once
+ * they are {@link #TTL_SECONDS} seconds old, so a category changed through
+ * another instance is picked up within that window. Callers always get their
+ * own {@link CategoryDto} copies.
+ */
+@Component
+class CategoryCache {
+
+    static final int MAX_USERS = 10_000;
+    static final long TTL_SECONDS = 30;
+    private static final long TTL_NANOS = TimeUnit.SECONDS.toNanos(TTL_SECONDS);
+
+    private final CategoryRepository categoryRepository;
+    private final LongSupplier clock;
+    private final int maxUsers;
+    private final Map<Long, Entry> customByUser = new ConcurrentHashMap<>();
+    private final ReentrantLock sweep = new ReentrantLock();
+    private final Counter hits;
+    private final Counter misses;
+
+    // Bumped on every eviction so a load that raced with it is not cached
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Entry defaults;
+
+    @Autowired
+    CategoryCache(CategoryRepository categoryRepository, MeterRegistry meterRegistry) {
+        this(categoryRepository, meterRegistry, System::nanoTime, MAX_USERS);
+    }
+
+    CategoryCache(CategoryRepository categoryRepository, MeterRegistry meterRegistry, LongSupplier clock,
+            int maxUsers) {
+        this.categoryRepository = categoryRepository;
+        this.clock = clock;
+        this.maxUsers = maxUsers;
+        this.hits = meterRegistry.counter("category.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("category.cache.requests", "result", "miss");
+        Gauge.builder("category.cache.size", this, CategoryCache::size).register(meterRegistry);
+        Gauge.builder("category.cache.hit.ratio", this, CategoryCache::hitRatio).register(meterRegistry);
+    }
+
+    /**
+     * Default categories followed by the user's own, as an unmodifiable list
+     */
+    List<CategoryDto> getForUser(Long userId) {
+        List<Cached> shared = defaults();
+        List<Cached> custom = custom(userId);
+        List<CategoryDto> all = new ArrayList<>(shared.size() + custom.size());
+        shared.forEach(category -> all.add(category.toDto()));
+        custom.forEach(category -> all.add(category.toDto()));
+        return Collections.unmodifiableList(all);
+    }
+
+    /**
+     * The category if the user may use it, i.e. it is a default or one of their own.
+     * A miss is re-checked against the database in case the cache is stale.
+     *
+     * @throws AccessDeniedException if the category belongs to another user
+     */
+    CategoryDto requireUsable(Long userId, Long categoryId) {
+        Cached cached = find(defaults(), categoryId);
+        if (cached == null) {
+            cached = find(custom(userId), categoryId);
+        }
+        if (cached != null) {
+            return cached.toDto();
+        }
+
+        Category category = categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new RuntimeException("Category not found"));
+        if (category.getUser() != null && !category.getUser().getId().equals(userId)) {
+            throw new AccessDeniedException("You do not have permission to use this category");
+        }
+
+        // Created since the user's entry was loaded, e.g. by another instance
+        if (category.getUser() == null) {
+            evictDefaults();
+        } else {
+            evictUser(userId);
+        }
+        return toDto(category);
+    }
+
+    /**
+     * Drop the user's custom categories once the current transaction commits
+     */
+    void evictUser(Long userId) {
+        // Inside the key's compute, so a load of this user cannot slip its stale rows in between
+        afterCommit(() -> customByUser.compute(userId, (id, cached) -> {
+            generation.incrementAndGet();
+            return null;
+        }));
+    }
+
+    /**
+     * Drop the shared default categories once the current transaction commits
+     */
+    void evictDefaults() {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            defaults = null;
+        });
+    }
+
+    int size() {
+        return customByUser.size();
+    }
+
+    double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+
+    static CategoryDto toDto(Category category) {
+        CategoryDto dto = new CategoryDto();
+        dto.setId(category.getId());
+        dto.setName(category.getName());
+        dto.setColor(category.getColor());
+        dto.setIcon(category.getIcon());
+        dto.setUserId(category.getUser() != null ? category.getUser().getId() : null);
+        return dto;
+    }
+
+    private List<Cached> defaults() {
+        Entry current = defaults;
+        if (current != null && isFresh(current)) {
+            hits.increment();
+            return current.categories();
+        }
+
+        misses.increment();
+        long loadedAt = generation.get();
+        Entry loaded = load(categoryRepository.findByUserIsNull());
+        if (generation.get() == loadedAt) {
+            defaults = loaded;
+        }
+        return loaded.categories();
+    }
+
+    private List<Cached> custom(Long userId) {
+        Entry cached = customByUser.get(userId);
+        if (cached != null && isFresh(cached)) {
+            hits.increment();
+            return cached.categories();
+        }
+
+        // Load outside any lock, a slow query must not block other users
+        misses.increment();
+        long loadedAt = generation.get();
+        Entry loaded = load(categoryRepository.findByUserId(userId));
+        customByUser.compute(userId, (id, current) -> generation.get() == loadedAt ? loaded : current);
+        if (customByUser.size() > maxUsers) {
+            evictOverflow(userId);
+        }
+        return loaded.categories();
+    }
+
+    // Other readers and writers carry on while one thread sweeps, the bound is briefly approximate
+    private void evictOverflow(Long added) {
+        if (!sweep.tryLock()) {
+            return;
+        }
+        try {
+            customByUser.values().removeIf(entry -> !isFresh(entry));
+            // Still full of live entries: make room for a tenth of the cache in one pass
+            int target = maxUsers - Math.max(1, maxUsers / 10);
+            Iterator<Long> users = customByUser.keySet().iterator();
+            while (customByUser.size() > target && users.hasNext()) {
+                if (!users.next().equals(added)) {
+                    users.remove();
+                }
+            }
+        } finally {
+            sweep.unlock();
+        }
+    }
+
+    private Entry load(List<Category> categories) {
+        return new Entry(categories.stream().map(Cached::of).toList(), clock.getAsLong());
+    }
+
+    private boolean isFresh(Entry entry) {
+        return clock.getAsLong() - entry.loadedAt() < TTL_NANOS;
+    }
+
+    private static Cached find(List<Cached> categories, Long categoryId) {
+        for (Cached category : categories) {
+            if (category.id().equals(categoryId)) {
+                return category;
+            }
+        }
+        return null;
+    }
+
+    // Evicting before commit would let a concurrent reader re-cache the old rows
+    private static void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    private record Entry(List<Cached> categories, long loadedAt) {
+    }
+
+    // Immutable form held in the cache, handed out as a fresh CategoryDto each time
+    private record Cached(Long id, String name, String color, String icon, Long userId) {
+
+        static Cached of(Category category) {
+            return new Cached(category.getId(), category.getName(), category.getColor(), category.getIcon(),
+                    category.getUser() != null ? category.getUser().getId() : null);
+        }
+
+        CategoryDto toDto() {
+            CategoryDto dto = new CategoryDto();
+            dto.setId(id);
+            dto.setName(name);
+            dto.setColor(color);
+            dto.setIcon(icon);
+            dto.setUserId(userId);
+            return dto;
+        }
+    }
+}
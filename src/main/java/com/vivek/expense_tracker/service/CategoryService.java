@@ -1,30 +1,39 @@
 package com.vivek.expense_tracker.service;
 
+import com.vivek.expense_tracker.config.MetricsConfig;
+import com.vivek.expense_tracker.dto.CategoryDto;
 import com.vivek.expense_tracker.entity.Category;
 import com.vivek.expense_tracker.entity.User;
 import com.vivek.expense_tracker.repository.CategoryRepository;
 import com.vivek.expense_tracker.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
+    private final DataVersionService dataVersionService;
+    private final CategoryCache categoryCache;
 
-    public CategoryService(CategoryRepository categoryRepository, UserRepository userRepository) {
+    public CategoryService(CategoryRepository categoryRepository, UserRepository userRepository,
+            DataVersionService dataVersionService, CategoryCache categoryCache) {
         this.categoryRepository = categoryRepository;
         this.userRepository = userRepository;
+        this.dataVersionService = dataVersionService;
+        this.categoryCache = categoryCache;
     }
 
     /**
-     * Get all categories available for a user (default + custom)
+     * Get all categories available for a user (default + custom), served from the category cache
      */
-    public List<Category> getCategoriesForUser(Long userId) {
-        return categoryRepository.findByUserIdOrDefault(userId);
+    public List<CategoryDto> getCategoriesForUser(Long userId) {
+        return categoryCache.getForUser(userId);
     }
 
     /**
@@ -38,12 +47,15 @@ public class CategoryService {
      * Create a new custom category for a user
      */
     @Transactional
-    public Category createCategory(Long userId, Category category) {
+    public CategoryDto createCategory(Long userId, Category category) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         category.setUser(user);
-        return categoryRepository.save(category);
+        Category savedCategory = categoryRepository.save(category);
+        categoryCache.evictUser(userId);
+        dataVersionService.bump(userId);
+        return CategoryCache.toDto(savedCategory);
     }
 
     /**
@@ -62,6 +74,7 @@ public class CategoryService {
                     createDefaultCategory("Education", "#A833FF", "book"),
                     createDefaultCategory("Other", "#808080", "more-horizontal"));
             categoryRepository.saveAll(defaults);
+            categoryCache.evictDefaults();
         }
     }
 
@@ -0,0 +1,104 @@
+package com.vivek.expense_tracker.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 reader: comma separated, double-quoted fields may contain
+ * commas, doubled quotes and line breaks. Keeps the physical line each record
+ * starts on, so errors can point at the line the user sees in the file.
+ */
+class CsvRecordReader {
+
+    private final Reader reader;
+    private long line = 1;
+    private long recordLine;
+    // One character read ahead, to tell a doubled quote or CRLF from the end of a field
+    private int pending = -2;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Next record, or null at the end of the input
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        current.append('"');
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                } else {
+                    if (c == '\n' || (c == '\r' && peek() != '\n')) {
+                        line++;
+                    }
+                    current.append((char) c);
+                }
+            } else if (c == -1 || c == '\n' || c == '\r') {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                if (c != -1) {
+                    line++;
+                }
+                values.add(current.toString());
+                return values;
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * 1-based line the last record returned by {@link #next()} starts on
+     */
+    long recordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private int peek() throws IOException {
+        if (pending == -2) {
+            pending = reader.read();
+        }
+        return pending;
+    }
+
+    private void unread(int c) {
+        pending = c;
+    }
+}
@@ -0,0 +1,111 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.dto.DashboardDelta;
+import com.vivek.expense_tracker.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pushes a {@link DashboardDelta} to the user's dashboard streams after each
+ * write transaction that touched this or last month's expenses. Changes are
+ * collected through the transaction and read once just before commit. By then
+ * the write has bumped the user's data version, which row-locks the user, so
+ * the totals include all earlier commits and no later one, and the version
+ * orders the events. Nothing is queried for users without an open
+ * dashboard stream on this node.
+ */
+@Service
+public class DashboardEventService {
+
+    public static final String EVENT_NAME = "dashboard";
+
+    private final DashboardService dashboardService;
+    private final UserRepository userRepository;
+    private final UserEventHub userEventHub;
+
+    public DashboardEventService(DashboardService dashboardService, UserRepository userRepository,
+            UserEventHub userEventHub) {
+        this.dashboardService = dashboardService;
+        this.userRepository = userRepository;
+        this.userEventHub = userEventHub;
+    }
+
+    /**
+     * Note a change to the user's spending in the current transaction
+     *
+     * @param date the expense's day, or null when only the month is known
+     */
+    public void expenseChanged(Long userId, Long categoryId, String month, LocalDate date) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !userEventHub.hasSubscribers(userId, EVENT_NAME) || !isOnDashboard(month)) {
+            return;
+        }
+
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(userId, categoryId, date);
+    }
+
+    // The dashboard shows this month and compares it with the previous one
+    private static boolean isOnDashboard(String month) {
+        YearMonth current = YearMonth.now();
+        YearMonth previous = current.minusMonths(1);
+        return month.equals(MonthlySpendService.monthKey(current.getYear(), current.getMonthValue()))
+                || month.equals(MonthlySpendService.monthKey(previous.getYear(), previous.getMonthValue()));
+    }
+
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final Map<Long, Changes> byUser = new HashMap<>();
+        private final Map<Long, DashboardDelta> deltas = new HashMap<>();
+
+        void add(Long userId, Long categoryId, LocalDate date) {
+            Changes changes = byUser.computeIfAbsent(userId, id -> new Changes());
+            changes.categoryIds.add(categoryId);
+            if (date == null) {
+                changes.daysKnown = false;
+            } else {
+                changes.days.add(date);
+            }
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            byUser.forEach((userId, changes) -> {
+                DashboardDelta delta = dashboardService.getDashboardDelta(userId, changes.categoryIds,
+                        changes.daysKnown ? changes.days : null);
+                delta.setVersion(userRepository.findDataVersion(userId));
+                deltas.put(userId, delta);
+            });
+        }
+
+        @Override
+        public void afterCommit() {
+            deltas.forEach((userId, delta) -> userEventHub.send(userId, EVENT_NAME, delta));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(DashboardEventService.this);
+        }
+    }
+
+    private static final class Changes {
+
+        private final Set<Long> categoryIds = new HashSet<>();
+        private final Set<LocalDate> days = new HashSet<>();
+        private boolean daysKnown = true;
+    }
+}
@@ -1,10 +1,15 @@
 package com.vivek.expense_tracker.service;
 
+import com.vivek.expense_tracker.config.MetricsConfig;
 import com.vivek.expense_tracker.dto.CategorySpending;
 import com.vivek.expense_tracker.dto.DailyTrend;
+import com.vivek.expense_tracker.dto.DashboardDelta;
 import com.vivek.expense_tracker.dto.DashboardStatsResponse;
+import com.vivek.expense_tracker.dto.DashboardSummaryResponse;
 import com.vivek.expense_tracker.dto.MonthlyComparison;
 import com.vivek.expense_tracker.repository.ExpenseRepository;
+import com.vivek.expense_tracker.repository.MonthlySpendRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -12,63 +17,65 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class DashboardService {
 
     private final ExpenseRepository expenseRepository;
+    private final MonthlySpendRepository monthlySpendRepository;
+    private final QueryFanOut queryFanOut;
 
-    public DashboardService(ExpenseRepository expenseRepository) {
+    public DashboardService(ExpenseRepository expenseRepository, MonthlySpendRepository monthlySpendRepository,
+            QueryFanOut queryFanOut) {
         this.expenseRepository = expenseRepository;
+        this.monthlySpendRepository = monthlySpendRepository;
+        this.queryFanOut = queryFanOut;
     }
 
     public DashboardStatsResponse getDashboardStats(Long userId) {
         LocalDate today = LocalDate.now();
-        YearMonth currentYearMonth = YearMonth.from(today);
-        LocalDate startOfMonth = currentYearMonth.atDay(1);
-        LocalDate endOfMonth = currentYearMonth.atEndOfMonth();
+        String currentMonth = MonthlySpendService.monthKey(today);
 
-        // 1. Total spent this month
-        BigDecimal totalSpentThisMonth = expenseRepository.getTotalByUserAndDateRange(userId, startOfMonth, endOfMonth);
+        try (QueryFanOut.Scope scope = queryFanOut.open()) {
+            // 1. Total spent this month
+            Supplier<BigDecimal> totalSpentThisMonth = scope.fork(
+                    () -> monthlySpendRepository.getTotalByUserAndMonth(userId, currentMonth));
 
-        // 2. Total spent today
-        BigDecimal totalSpentToday = expenseRepository.getTotalByUserAndDateRange(userId, today, today);
+            // 2. Total spent today
+            Supplier<BigDecimal> totalSpentToday = scope.fork(
+                    () -> expenseRepository.getTotalByUserAndDateRange(userId, today, today));
 
-        // 3. Transaction count this month
-        Long transactionCount = expenseRepository.countByUserIdAndDateBetween(userId, startOfMonth, endOfMonth);
+            // 3. Transaction count this month
+            Supplier<Long> transactionCount = scope.fork(
+                    () -> monthlySpendRepository.getCountByUserAndMonth(userId, currentMonth));
 
-        // 4. Average daily spending (Total / days passed)
-        BigDecimal averageDailySpending = BigDecimal.ZERO;
-        int daysPassed = today.getDayOfMonth();
-        if (daysPassed > 0 && totalSpentThisMonth.compareTo(BigDecimal.ZERO) > 0) {
-            averageDailySpending = totalSpentThisMonth.divide(BigDecimal.valueOf(daysPassed), 2, RoundingMode.HALF_UP);
-        }
+            scope.join();
 
-        return DashboardStatsResponse.builder()
-                .totalSpentThisMonth(totalSpentThisMonth)
-                .totalSpentToday(totalSpentToday)
-                .transactionCountThisMonth(transactionCount)
-                .averageDailySpending(averageDailySpending)
-                .build();
+            // 4. Average daily spending (Total / days passed)
+            return buildStats(totalSpentThisMonth.get(), totalSpentToday.get(), transactionCount.get(), today);
+        }
     }
 
     public List<CategorySpending> getCategoryBreakdown(Long userId, Integer year, Integer month) {
-        LocalDate startDate;
-        LocalDate endDate;
+        YearMonth ym = (year != null && month != null) ? YearMonth.of(year, month) : YearMonth.now();
 
-        if (year != null && month != null) {
-            YearMonth ym = YearMonth.of(year, month);
-            startDate = ym.atDay(1);
-            endDate = ym.atEndOfMonth();
-        } else {
-            YearMonth current = YearMonth.now();
-            startDate = current.atDay(1);
-            endDate = current.atEndOfMonth();
-        }
+        List<Object[]> results = monthlySpendRepository.getCategoryWiseTotals(userId,
+                MonthlySpendService.monthKey(ym.getYear(), ym.getMonthValue()));
 
-        List<Object[]> results = expenseRepository.getCategoryWiseTotals(userId, startDate, endDate);
-        BigDecimal totalSpent = expenseRepository.getTotalByUserAndDateRange(userId, startDate, endDate);
+        // The month total is the sum of its categories, no second query needed
+        BigDecimal totalSpent = BigDecimal.ZERO;
+        for (Object[] result : results) {
+            totalSpent = totalSpent.add((BigDecimal) result[3]);
+        }
 
         List<CategorySpending> breakdown = new ArrayList<>();
 
@@ -78,13 +85,7 @@ public class DashboardService {
             String color = (String) result[2];
             BigDecimal amount = (BigDecimal) result[3];
 
-            Double percentage = 0.0;
-            if (totalSpent.compareTo(BigDecimal.ZERO) > 0) {
-                percentage = amount.divide(totalSpent, 4, RoundingMode.HALF_UP)
-                        .multiply(new BigDecimal(100)).doubleValue();
-            }
-
-            breakdown.add(new CategorySpending(categoryId, name, color, amount, percentage));
+            breakdown.add(new CategorySpending(categoryId, name, color, amount, percentageOf(amount, totalSpent)));
         }
 
         return breakdown;
@@ -108,14 +109,8 @@ public class DashboardService {
         List<DailyTrend> trends = new ArrayList<>();
 
         for (Object[] result : results) {
-            LocalDate date;
-            if (result[0] instanceof java.sql.Date) {
-                date = ((java.sql.Date) result[0]).toLocalDate();
-            } else {
-                date = (LocalDate) result[0];
-            }
             BigDecimal amount = (BigDecimal) result[1];
-            trends.add(new DailyTrend(date, amount));
+            trends.add(new DailyTrend(toLocalDate(result[0]), amount));
         }
 
         return trends;
@@ -125,29 +120,170 @@ public class DashboardService {
         YearMonth current = YearMonth.now();
         YearMonth previous = current.minusMonths(1);
 
-        BigDecimal currentMonthTotal = expenseRepository.getTotalByUserAndDateRange(
-                userId, current.atDay(1), current.atEndOfMonth());
+        try (QueryFanOut.Scope scope = queryFanOut.open()) {
+            Supplier<BigDecimal> currentMonthTotal = scope.fork(() -> monthlySpendRepository.getTotalByUserAndMonth(
+                    userId, MonthlySpendService.monthKey(current.getYear(), current.getMonthValue())));
 
-        BigDecimal previousMonthTotal = expenseRepository.getTotalByUserAndDateRange(
-                userId, previous.atDay(1), previous.atEndOfMonth());
+            Supplier<BigDecimal> previousMonthTotal = scope.fork(() -> monthlySpendRepository.getTotalByUserAndMonth(
+                    userId, MonthlySpendService.monthKey(previous.getYear(), previous.getMonthValue())));
 
-        Double percentageChange = 0.0;
-        String status = "NO_CHANGE";
+            scope.join();
+            return buildComparison(currentMonthTotal.get(), previousMonthTotal.get());
+        }
+    }
 
-        if (previousMonthTotal.compareTo(BigDecimal.ZERO) > 0) {
-            BigDecimal change = currentMonthTotal.subtract(previousMonthTotal);
-            percentageChange = change.divide(previousMonthTotal, 4, RoundingMode.HALF_UP)
-                    .multiply(new BigDecimal(100)).doubleValue();
+    /**
+     * Everything the dashboard page needs in one response, computed from a single
+     * per-day, per-category scan of the current month plus the previous month's rollup total
+     */
+    public DashboardSummaryResponse getDashboardSummary(Long userId) {
+        LocalDate today = LocalDate.now();
+        YearMonth current = YearMonth.from(today);
+        YearMonth previous = current.minusMonths(1);
+        LocalDate startOfMonth = current.atDay(1);
 
-            if (percentageChange > 0)
-                status = "INCREASED";
-            else if (percentageChange < 0)
-                status = "DECREASED";
-        } else if (currentMonthTotal.compareTo(BigDecimal.ZERO) > 0) {
-            percentageChange = 100.0;
-            status = "INCREASED";
+        List<Object[]> results;
+        BigDecimal previousMonthTotal;
+        try (QueryFanOut.Scope scope = queryFanOut.open()) {
+            Supplier<List<Object[]>> dailyCategoryTotals = scope.fork(() -> expenseRepository.getDailyCategoryTotals(
+                    userId, startOfMonth, current.atEndOfMonth()));
+            Supplier<BigDecimal> previousTotal = scope.fork(() -> monthlySpendRepository.getTotalByUserAndMonth(
+                    userId, MonthlySpendService.monthKey(previous.getYear(), previous.getMonthValue())));
+
+            scope.join();
+            results = dailyCategoryTotals.get();
+            previousMonthTotal = previousTotal.get();
+        }
+
+        BigDecimal totalSpentThisMonth = BigDecimal.ZERO;
+        BigDecimal totalSpentToday = BigDecimal.ZERO;
+        long transactionCount = 0;
+        Map<Long, CategorySpending> categoryTotals = new LinkedHashMap<>();
+        Map<LocalDate, BigDecimal> dailyTotals = new LinkedHashMap<>();
+
+        // Rows arrive ordered by date, so daily totals keep their order
+        for (Object[] result : results) {
+            LocalDate date = toLocalDate(result[0]);
+            BigDecimal amount = (BigDecimal) result[4];
+
+            totalSpentThisMonth = totalSpentThisMonth.add(amount);
+            transactionCount += ((Number) result[5]).longValue();
+            if (date.equals(today)) {
+                totalSpentToday = totalSpentToday.add(amount);
+            }
+
+            CategorySpending spending = categoryTotals.computeIfAbsent((Long) result[1],
+                    id -> new CategorySpending(id, (String) result[2], (String) result[3], BigDecimal.ZERO, 0.0));
+            spending.setAmount(spending.getAmount().add(amount));
+            dailyTotals.merge(date, amount, BigDecimal::add);
+        }
+
+        List<CategorySpending> breakdown = new ArrayList<>(categoryTotals.values());
+        for (CategorySpending spending : breakdown) {
+            spending.setPercentage(percentageOf(spending.getAmount(), totalSpentThisMonth));
+        }
+
+        List<DailyTrend> trends = new ArrayList<>();
+        dailyTotals.forEach((date, amount) -> trends.add(new DailyTrend(date, amount)));
+
+        return DashboardSummaryResponse.builder()
+                .stats(buildStats(totalSpentThisMonth, totalSpentToday, transactionCount, today))
+                .categoryBreakdown(breakdown)
+                .trends(trends)
+                .monthlyComparison(buildComparison(totalSpentThisMonth, previousMonthTotal))
+                .build();
+    }
+
+    /**
+     * The current month's stats plus the given categories and days, for a dashboard stream event.
+     * Runs sequentially on the caller's connection, so inside a write transaction it sees the write.
+     *
+     * @param days touched days, or null when unknown
+     */
+    public DashboardDelta getDashboardDelta(Long userId, Set<Long> categoryIds, Set<LocalDate> days) {
+        LocalDate today = LocalDate.now();
+        YearMonth current = YearMonth.from(today);
+        YearMonth previous = current.minusMonths(1);
+        String currentMonth = MonthlySpendService.monthKey(current.getYear(), current.getMonthValue());
+        String previousMonth = MonthlySpendService.monthKey(previous.getYear(), previous.getMonthValue());
+
+        BigDecimal totalSpentThisMonth = BigDecimal.ZERO;
+        BigDecimal previousMonthTotal = BigDecimal.ZERO;
+        long transactionCount = 0;
+        Map<Long, CategorySpending> categories = new LinkedHashMap<>();
+        for (Object[] row : monthlySpendRepository.getCategoryTotalsForMonths(userId,
+                List.of(currentMonth, previousMonth))) {
+            BigDecimal amount = (BigDecimal) row[4];
+            if (previousMonth.equals(row[0])) {
+                previousMonthTotal = previousMonthTotal.add(amount);
+                continue;
+            }
+            totalSpentThisMonth = totalSpentThisMonth.add(amount);
+            transactionCount += ((Number) row[5]).longValue();
+            if (categoryIds.contains((Long) row[1])) {
+                categories.put((Long) row[1], new CategorySpending((Long) row[1], (String) row[2], (String) row[3],
+                        amount, 0.0));
+            }
+        }
+        for (CategorySpending spending : categories.values()) {
+            spending.setPercentage(percentageOf(spending.getAmount(), totalSpentThisMonth));
+        }
+
+        // Today is always read for the stats, the touched days only if they fall in this month
+        Set<LocalDate> touchedDays = new TreeSet<>();
+        if (days != null) {
+            for (LocalDate day : days) {
+                if (YearMonth.from(day).equals(current)) {
+                    touchedDays.add(day);
+                }
+            }
+        }
+        Set<LocalDate> queried = new HashSet<>(touchedDays);
+        queried.add(today);
+        Map<LocalDate, BigDecimal> dayTotals = new HashMap<>();
+        for (Object[] row : expenseRepository.getTotalsByDates(userId, queried)) {
+            dayTotals.put(toLocalDate(row[0]), (BigDecimal) row[1]);
+        }
+        List<DailyTrend> trends = new ArrayList<>();
+        for (LocalDate day : touchedDays) {
+            trends.add(new DailyTrend(day, dayTotals.getOrDefault(day, BigDecimal.ZERO)));
+        }
+
+        return DashboardDelta.builder()
+                .stats(buildStats(totalSpentThisMonth, dayTotals.getOrDefault(today, BigDecimal.ZERO),
+                        transactionCount, today))
+                .monthlyComparison(buildComparison(totalSpentThisMonth, previousMonthTotal))
+                .categories(new ArrayList<>(categories.values()))
+                .days(trends)
+                .reload(days == null)
+                .build();
+    }
+
+    private DashboardStatsResponse buildStats(BigDecimal totalSpentThisMonth, BigDecimal totalSpentToday,
+            Long transactionCount, LocalDate today) {
+        BigDecimal averageDailySpending = BigDecimal.ZERO;
+        int daysPassed = today.getDayOfMonth();
+        if (daysPassed > 0 && totalSpentThisMonth.compareTo(BigDecimal.ZERO) > 0) {
+            averageDailySpending = totalSpentThisMonth.divide(BigDecimal.valueOf(daysPassed), 2, RoundingMode.HALF_UP);
         }
 
+        return DashboardStatsResponse.builder()
+                .totalSpentThisMonth(totalSpentThisMonth)
+                .totalSpentToday(totalSpentToday)
+                .transactionCountThisMonth(transactionCount)
+                .averageDailySpending(averageDailySpending)
+                .build();
+    }
+
+    private MonthlyComparison buildComparison(BigDecimal currentMonthTotal, BigDecimal previousMonthTotal) {
+        Double percentageChange = percentageChange(currentMonthTotal, previousMonthTotal);
+        String status = "NO_CHANGE";
+
+        if (percentageChange > 0)
+            status = "INCREASED";
+        else if (percentageChange < 0)
+            status = "DECREASED";
+
         return MonthlyComparison.builder()
                 .currentMonthSpent(currentMonthTotal)
                 .previousMonthSpent(previousMonthTotal)
@@ -155,4 +291,32 @@ public class DashboardService {
                 .status(status)
                 .build();
     }
+
+    /**
+     * Change from the previous period in percent, 100 when spending started from nothing
+     */
+    static Double percentageChange(BigDecimal current, BigDecimal previous) {
+        if (previous.compareTo(BigDecimal.ZERO) > 0) {
+            return current.subtract(previous).divide(previous, 4, RoundingMode.HALF_UP)
+                    .multiply(new BigDecimal(100)).doubleValue();
+        } else if (current.compareTo(BigDecimal.ZERO) > 0) {
+            return 100.0;
+        }
+        return 0.0;
+    }
+
+    private Double percentageOf(BigDecimal amount, BigDecimal total) {
+        if (total.compareTo(BigDecimal.ZERO) > 0) {
+            return amount.divide(total, 4, RoundingMode.HALF_UP)
+                    .multiply(new BigDecimal(100)).doubleValue();
+        }
+        return 0.0;
+    }
+
+    static LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate();
+        }
+        return (LocalDate) value;
+    }
 }
@@ -0,0 +1,42 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Per-user data version: bumped in the same transaction as every expense,
+ * budget and category write, and turned into the ETag of the user's read endpoints.
+ */
+@Service
+public class DataVersionService {
+
+    private final UserRepository userRepository;
+
+    // Responses may change shape across deployments, so a restart invalidates every ETag
+    private final String startupToken = Long.toString(System.currentTimeMillis(), 36);
+
+    public DataVersionService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Transactional
+    public void bump(Long userId) {
+        userRepository.incrementDataVersion(userId);
+    }
+
+    /**
+     * Strong ETag for the user's current data, or null for an unknown user. Includes
+     * today's date because dashboard and budget views default to the current day and month.
+     */
+    @Transactional(readOnly = true)
+    public String etag(Long userId) {
+        Long version = userRepository.findDataVersion(userId);
+        if (version == null) {
+            return null;
+        }
+        return "\"" + userId + "-" + version + "-" + LocalDate.now().toEpochDay() + "-" + startupToken + "\"";
+    }
+}
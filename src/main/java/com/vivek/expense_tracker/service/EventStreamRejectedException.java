@@ -0,0 +1,11 @@
+package com.vivek.expense_tracker.service;
+
+/**
+ * This node already holds its maximum of open event streams; the client should retry shortly.
+ */
+public class EventStreamRejectedException extends RuntimeException {
+
+    public EventStreamRejectedException() {
+        super("Too many open event streams, please retry shortly");
+    }
+}
@@ -0,0 +1,239 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.config.MetricsConfig;
+import com.vivek.expense_tracker.dto.CategoryDto;
+import com.vivek.expense_tracker.dto.ExpenseBatchOperation;
+import com.vivek.expense_tracker.dto.ExpenseBatchRequest;
+import com.vivek.expense_tracker.dto.ExpenseBatchResponse;
+import com.vivek.expense_tracker.dto.ExpenseBatchResult;
+import com.vivek.expense_tracker.dto.ExpenseRequest;
+import com.vivek.expense_tracker.entity.Category;
+import com.vivek.expense_tracker.entity.Expense;
+import com.vivek.expense_tracker.entity.User;
+import com.vivek.expense_tracker.repository.ExpenseRepository;
+import com.vivek.expense_tracker.service.MonthlySpendService.SpendChange;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Many expense creates, updates and deletes in one transaction. Every expense
+ * the batch references is loaded and ownership-checked with one IN query, each
+ * category is resolved once through the category cache, row changes go out as
+ * JDBC batches on flush, and the rollup and data version are written once for
+ * the whole batch. An invalid operation is reported in its result and skipped,
+ * the valid ones are applied.
+ */
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+public class ExpenseBatchService {
+
+    private final ExpenseRepository expenseRepository;
+    private final MonthlySpendService monthlySpendService;
+    private final DataVersionService dataVersionService;
+    private final CategoryCache categoryCache;
+    private final EntityManager entityManager;
+    private final Validator validator;
+
+    public ExpenseBatchService(ExpenseRepository expenseRepository, MonthlySpendService monthlySpendService,
+            DataVersionService dataVersionService, CategoryCache categoryCache, EntityManager entityManager,
+            Validator validator) {
+        this.expenseRepository = expenseRepository;
+        this.monthlySpendService = monthlySpendService;
+        this.dataVersionService = dataVersionService;
+        this.categoryCache = categoryCache;
+        this.entityManager = entityManager;
+        this.validator = validator;
+    }
+
+    @Transactional
+    public ExpenseBatchResponse apply(Long userId, List<ExpenseBatchOperation> operations) {
+        if (operations.size() > ExpenseBatchRequest.MAX_OPERATIONS) {
+            throw new IllegalArgumentException(
+                    "At most " + ExpenseBatchRequest.MAX_OPERATIONS + " operations per batch");
+        }
+
+        Batch batch = new Batch(userId, loadReferenced(operations));
+        ExpenseBatchResult[] results = new ExpenseBatchResult[operations.size()];
+        for (int i = 0; i < operations.size(); i++) {
+            ExpenseBatchOperation operation = operations.get(i);
+            try {
+                results[i] = batch.apply(i, operation);
+            } catch (OperationFailedException e) {
+                results[i] = new ExpenseBatchResult(i, false, operation != null ? operation.getId() : null, null,
+                        e.getMessage());
+            }
+        }
+
+        if (!batch.changes.isEmpty()) {
+            // Inserts, updates and deletes go out as JDBC batches, and updatedAt is set for the responses
+            entityManager.flush();
+            monthlySpendService.applyChanges(userId, batch.changes);
+            dataVersionService.bump(userId);
+        }
+        batch.written.forEach((index, expense) -> results[index].setExpense(
+                ExpenseService.mapToResponse(expense, batch.categories.get(expense.getCategory().getId()))));
+
+        int applied = (int) Arrays.stream(results).filter(ExpenseBatchResult::isSuccess).count();
+        return new ExpenseBatchResponse(applied, results.length - applied, Arrays.asList(results));
+    }
+
+    // One IN query for every expense updated or deleted, whoever owns it
+    private Map<Long, Expense> loadReferenced(List<ExpenseBatchOperation> operations) {
+        Set<Long> ids = new HashSet<>();
+        for (ExpenseBatchOperation operation : operations) {
+            if (operation != null && operation.getId() != null
+                    && operation.getAction() != ExpenseBatchOperation.Action.CREATE) {
+                ids.add(operation.getId());
+            }
+        }
+        Map<Long, Expense> expenses = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Expense expense : expenseRepository.findAllById(ids)) {
+                expenses.put(expense.getId(), expense);
+            }
+        }
+        return expenses;
+    }
+
+    private final class Batch {
+
+        private final Long userId;
+        private final User user;
+        private final Map<Long, Expense> expenses;
+        private final Set<Long> touched = new HashSet<>();
+        private final Map<Long, CategoryDto> categories = new HashMap<>();
+        private final Map<Long, String> categoryErrors = new HashMap<>();
+        private final List<SpendChange> changes = new ArrayList<>();
+        // Created and updated expenses by operation index, mapped to responses after the flush
+        private final Map<Integer, Expense> written = new HashMap<>();
+
+        private Batch(Long userId, Map<Long, Expense> expenses) {
+            this.userId = userId;
+            this.user = entityManager.getReference(User.class, userId);
+            this.expenses = expenses;
+        }
+
+        ExpenseBatchResult apply(int index, ExpenseBatchOperation operation) {
+            if (operation == null || operation.getAction() == null) {
+                throw new OperationFailedException("Action is required");
+            }
+
+            switch (operation.getAction()) {
+                case CREATE -> {
+                    ExpenseRequest request = validate(operation.getExpense());
+                    CategoryDto category = category(request.getCategoryId());
+                    Expense expense = new Expense();
+                    expense.setUser(user);
+                    copy(request, category, expense);
+                    entityManager.persist(expense);
+                    changes.add(new SpendChange(category.getId(), request.getDate(), request.getAmount(), 1));
+                    written.put(index, expense);
+                    return new ExpenseBatchResult(index, true, expense.getId(), null, null);
+                }
+                case UPDATE -> {
+                    Expense expense = owned(operation, "update");
+                    ExpenseRequest request = validate(operation.getExpense());
+                    CategoryDto category = category(request.getCategoryId());
+                    // Out of the old (category, month) cell and into the new one
+                    changes.add(new SpendChange(expense.getCategory().getId(), expense.getDate(),
+                            expense.getAmount().negate(), -1));
+                    changes.add(new SpendChange(category.getId(), request.getDate(), request.getAmount(), 1));
+                    copy(request, category, expense);
+                    touched.add(expense.getId());
+                    written.put(index, expense);
+                    return new ExpenseBatchResult(index, true, expense.getId(), null, null);
+                }
+                default -> {
+                    Expense expense = owned(operation, "delete");
+                    changes.add(new SpendChange(expense.getCategory().getId(), expense.getDate(),
+                            expense.getAmount().negate(), -1));
+                    entityManager.remove(expense);
+                    touched.add(expense.getId());
+                    return new ExpenseBatchResult(index, true, expense.getId(), null, null);
+                }
+            }
+        }
+
+        private Expense owned(ExpenseBatchOperation operation, String verb) {
+            Long id = operation.getId();
+            if (id == null) {
+                throw new OperationFailedException("Id is required");
+            }
+            Expense expense = expenses.get(id);
+            if (expense == null) {
+                throw new OperationFailedException("Expense not found");
+            }
+            if (!expense.getUser().getId().equals(userId)) {
+                throw new OperationFailedException("You do not have permission to " + verb + " this expense");
+            }
+            // A second operation on the same row would act on the first one's result. Only
+            // operations that succeeded are recorded, a failed one leaves the row untouched
+            if (touched.contains(id)) {
+                throw new OperationFailedException("Expense appears more than once in the batch");
+            }
+            return expense;
+        }
+
+        private ExpenseRequest validate(ExpenseRequest request) {
+            if (request == null) {
+                throw new OperationFailedException("Expense is required");
+            }
+            Set<ConstraintViolation<ExpenseRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                throw new OperationFailedException(violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            }
+            return request;
+        }
+
+        // Each distinct category is checked once, a failure is remembered for later operations too
+        private CategoryDto category(Long categoryId) {
+            String error = categoryErrors.get(categoryId);
+            if (error != null) {
+                throw new OperationFailedException(error);
+            }
+            CategoryDto category = categories.get(categoryId);
+            if (category != null) {
+                return category;
+            }
+            try {
+                category = categoryCache.requireUsable(userId, categoryId);
+            } catch (RuntimeException e) {
+                categoryErrors.put(categoryId, e.getMessage());
+                throw new OperationFailedException(e.getMessage());
+            }
+            categories.put(categoryId, category);
+            return category;
+        }
+
+        private void copy(ExpenseRequest request, CategoryDto category, Expense expense) {
+            expense.setAmount(request.getAmount());
+            expense.setCategory(entityManager.getReference(Category.class, category.getId()));
+            expense.setDate(request.getDate());
+            expense.setDescription(request.getDescription());
+            expense.setPaymentMethod(request.getPaymentMethod());
+        }
+    }
+
+    private static final class OperationFailedException extends RuntimeException {
+
+        private OperationFailedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.vivek.expense_tracker.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the expense list, ordered by (date, id) descending.
+ * Clients only ever see the opaque encoded form.
+ */
+record ExpenseCursor(LocalDate date, Long id) {
+
+    // Sits before every real row, used for the first page
+    static final ExpenseCursor START = new ExpenseCursor(LocalDate.of(9999, 12, 31), Long.MAX_VALUE);
+
+    String encode() {
+        String raw = date + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ExpenseCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new ExpenseCursor(LocalDate.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
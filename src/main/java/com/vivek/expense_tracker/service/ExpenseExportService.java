@@ -0,0 +1,136 @@
+package com.vivek.expense_tracker.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vivek.expense_tracker.dto.ExpenseResponse;
+import com.vivek.expense_tracker.repository.ExpenseRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams a user's expenses as CSV or NDJSON. Rows come off a forward-only
+ * JDBC cursor as DTO projections, so neither the persistence context nor the
+ * heap grows with the size of the export.
+ */
+@Service
+public class ExpenseExportService {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    // Same column names the import accepts; categories go by name so exports import into any account
+    static final String CSV_HEADER = "id,date,amount,category,description,paymentMethod";
+
+    private final ExpenseRepository expenseRepository;
+    private final ObjectMapper objectMapper;
+
+    public ExpenseExportService(ExpenseRepository expenseRepository, ObjectMapper objectMapper) {
+        this.expenseRepository = expenseRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write the matching expenses, newest first. Runs in its own read-only
+     * transaction because PostgreSQL only honours the fetch size with
+     * auto-commit off.
+     */
+    @Transactional(readOnly = true)
+    public void export(Long userId, Long categoryId, LocalDate startDate, LocalDate endDate, Format format,
+            OutputStream out) throws IOException {
+        LocalDate from = startDate != null ? startDate : LocalDate.of(1, 1, 1);
+        LocalDate to = endDate != null ? endDate : LocalDate.of(9999, 12, 31);
+
+        try (Stream<ExpenseResponse> rows = categoryId != null
+                ? expenseRepository.streamResponsesInCategory(userId, categoryId, from, to)
+                : expenseRepository.streamResponses(userId, from, to)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            if (format == Format.CSV) {
+                writeCsv(rows.iterator(), writer);
+            } else {
+                writeNdjson(rows.iterator(), writer);
+            }
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeCsv(Iterator<ExpenseResponse> rows, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (rows.hasNext()) {
+            ExpenseResponse row = rows.next();
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writer.write(row.getDate().toString());
+            writer.write(',');
+            writer.write(row.getAmount().toPlainString());
+            writer.write(',');
+            writer.write(csvField(row.getCategoryName()));
+            writer.write(',');
+            writer.write(csvField(row.getDescription()));
+            writer.write(',');
+            writer.write(row.getPaymentMethod().name());
+            writer.write('\n');
+        }
+    }
+
+    private void writeNdjson(Iterator<ExpenseResponse> rows, Writer writer) throws IOException {
+        // No flush per row and no closing the response stream, the container owns it
+        SequenceWriter json = objectMapper.writerFor(ExpenseResponse.class)
+                .withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValues(writer);
+        boolean any = rows.hasNext();
+        while (rows.hasNext()) {
+            json.write(rows.next());
+        }
+        json.close();
+        if (any) {
+            writer.write('\n');
+        }
+    }
+
+    // Quote fields containing separators, quotes or line breaks, doubling embedded quotes
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
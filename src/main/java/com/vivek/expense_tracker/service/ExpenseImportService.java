@@ -0,0 +1,344 @@
+package com.vivek.expense_tracker.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vivek.expense_tracker.dto.ExpenseImportResponse;
+import com.vivek.expense_tracker.dto.ExpenseRequest;
+import com.vivek.expense_tracker.dto.ImportRowError;
+import com.vivek.expense_tracker.entity.Category;
+import com.vivek.expense_tracker.entity.Expense;
+import com.vivek.expense_tracker.entity.PaymentMethod;
+import com.vivek.expense_tracker.entity.User;
+import com.vivek.expense_tracker.repository.CategoryRepository;
+import com.vivek.expense_tracker.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk expense import from CSV or a JSON array. Rows are streamed, validated
+ * against the user's categories loaded once up front, and persisted in JDBC
+ * batches; invalid rows are reported back instead of failing the import.
+ *
+ * <p>Recognised fields (CSV header or JSON keys, case-insensitive): {@code date},
+ * {@code amount}, {@code categoryId} or {@code category} (name), {@code description}
+ * and {@code paymentMethod}, which defaults to OTHER when blank.
+ */
+@Service
+public class ExpenseImportService {
+
+    // Multiple of hibernate.jdbc.batch_size, the persistence context is cleared after each flush
+    static final int FLUSH_INTERVAL = 1000;
+    static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_DESCRIPTION_LENGTH = 500;
+
+    private final CategoryRepository categoryRepository;
+    private final UserRepository userRepository;
+    private final MonthlySpendService monthlySpendService;
+    private final DataVersionService dataVersionService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public ExpenseImportService(CategoryRepository categoryRepository, UserRepository userRepository,
+            MonthlySpendService monthlySpendService, DataVersionService dataVersionService,
+            EntityManager entityManager, ObjectMapper objectMapper, Validator validator) {
+        this.categoryRepository = categoryRepository;
+        this.userRepository = userRepository;
+        this.monthlySpendService = monthlySpendService;
+        this.dataVersionService = dataVersionService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    @Transactional
+    public ExpenseImportResponse importCsv(Long userId, InputStream input) {
+        CsvRecordReader reader = new CsvRecordReader(
+                new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+        try {
+            List<String> header = reader.next();
+            if (header == null) {
+                throw new RuntimeException("Import file is empty");
+            }
+            if (header.get(0).startsWith("\uFEFF")) {
+                header.set(0, header.get(0).substring(1));
+            }
+            List<String> columns = header.stream().map(ExpenseImportService::normalizeKey).toList();
+
+            Iterator<ImportRow> rows = new Iterator<>() {
+                private List<String> next = readRecord();
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public ImportRow next() {
+                    Map<String, String> fields = new HashMap<>();
+                    for (int i = 0; i < columns.size() && i < next.size(); i++) {
+                        fields.put(columns.get(i), next.get(i));
+                    }
+                    ImportRow row = new ImportRow(reader.recordLine(), fields);
+                    next = readRecord();
+                    return row;
+                }
+
+                // Blank lines are skipped but still counted, errors report the line in the file
+                private List<String> readRecord() {
+                    try {
+                        List<String> values = reader.next();
+                        while (values != null && values.size() == 1 && values.get(0).isBlank()) {
+                            values = reader.next();
+                        }
+                        return values;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+            return importRows(userId, rows);
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("Could not read import file", e);
+        }
+    }
+
+    @Transactional
+    public ExpenseImportResponse importJson(Long userId, InputStream input) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new RuntimeException("Import body must be a JSON array of expenses");
+            }
+
+            Iterator<ImportRow> rows = new Iterator<>() {
+                private JsonToken next = parser.nextToken();
+                private long position;
+
+                @Override
+                public boolean hasNext() {
+                    return next != null && next != JsonToken.END_ARRAY;
+                }
+
+                @Override
+                public ImportRow next() {
+                    try {
+                        // Read one element at a time, the whole array is never materialised
+                        JsonNode node = objectMapper.readTree(parser);
+                        next = parser.nextToken();
+                        Map<String, String> fields = new HashMap<>();
+                        node.fields().forEachRemaining(field -> fields.put(normalizeKey(field.getKey()),
+                                field.getValue().isNull() ? null : field.getValue().asText()));
+                        return new ImportRow(++position, fields);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+            return importRows(userId, rows);
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("Could not read import body", e);
+        }
+    }
+
+    private ExpenseImportResponse importRows(Long userId, Iterator<ImportRow> rows) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
+
+        Map<Long, Category> categoriesById = new HashMap<>();
+        Map<String, Category> categoriesByName = new HashMap<>();
+        for (Category category : categoryRepository.findByUserIdOrDefault(userId)) {
+            categoriesById.put(category.getId(), category);
+            // A user's own category wins over a default one with the same name
+            String name = category.getName().toLowerCase(Locale.ROOT);
+            if (category.getUser() != null || !categoriesByName.containsKey(name)) {
+                categoriesByName.put(name, category);
+            }
+        }
+
+        User user = entityManager.getReference(User.class, userId);
+        Map<String, RollupCell> rollup = new LinkedHashMap<>();
+        List<ImportRowError> errors = new ArrayList<>();
+        long imported = 0;
+        long failed = 0;
+
+        while (rows.hasNext()) {
+            ImportRow row = rows.next();
+            Map<String, String> fields = row.fields();
+
+            ExpenseRequest request;
+            Category category;
+            try {
+                category = resolveCategory(fields, categoriesById, categoriesByName);
+                request = toRequest(fields, category);
+            } catch (IllegalArgumentException e) {
+                failed++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new ImportRowError(row.number(), e.getMessage()));
+                }
+                continue;
+            }
+
+            Expense expense = new Expense();
+            expense.setAmount(request.getAmount());
+            expense.setCategory(category);
+            expense.setDate(request.getDate());
+            expense.setDescription(request.getDescription());
+            expense.setPaymentMethod(request.getPaymentMethod());
+            expense.setUser(user);
+            entityManager.persist(expense);
+            imported++;
+
+            String month = MonthlySpendService.monthKey(request.getDate());
+            rollup.computeIfAbsent(category.getId() + "|" + month, key -> new RollupCell(category.getId(), month))
+                    .add(request.getAmount());
+
+            if (imported % FLUSH_INTERVAL == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                user = entityManager.getReference(User.class, userId);
+            }
+        }
+
+        // One rollup write per (category, month) touched rather than one per row
+        for (RollupCell cell : rollup.values()) {
+            monthlySpendService.addToMonth(userId, cell.categoryId, cell.month, cell.total, cell.count);
+        }
+        if (imported > 0) {
+            dataVersionService.bump(userId);
+        }
+
+        return new ExpenseImportResponse(imported, failed, errors);
+    }
+
+    private Category resolveCategory(Map<String, String> fields, Map<Long, Category> categoriesById,
+            Map<String, Category> categoriesByName) {
+        String categoryId = trimToNull(fields.get("categoryid"));
+        if (categoryId != null) {
+            try {
+                Category category = categoriesById.get(Long.valueOf(categoryId));
+                if (category == null) {
+                    throw new IllegalArgumentException("Unknown category id: " + categoryId);
+                }
+                return category;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid category id: " + categoryId);
+            }
+        }
+
+        String name = trimToNull(fields.get("category"));
+        if (name == null) {
+            throw new IllegalArgumentException("Category is required");
+        }
+        Category category = categoriesByName.get(name.toLowerCase(Locale.ROOT));
+        if (category == null) {
+            throw new IllegalArgumentException("Unknown category: " + name);
+        }
+        return category;
+    }
+
+    private ExpenseRequest toRequest(Map<String, String> fields, Category category) {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setCategoryId(category.getId());
+
+        String amount = trimToNull(fields.get("amount"));
+        if (amount != null) {
+            try {
+                request.setAmount(new BigDecimal(amount));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid amount: " + amount);
+            }
+        }
+
+        String date = trimToNull(fields.get("date"));
+        if (date != null) {
+            try {
+                request.setDate(LocalDate.parse(date));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid date, expected YYYY-MM-DD: " + date);
+            }
+        }
+
+        String paymentMethod = trimToNull(fields.get("paymentmethod"));
+        try {
+            request.setPaymentMethod(paymentMethod == null ? PaymentMethod.OTHER
+                    : PaymentMethod.valueOf(paymentMethod.toUpperCase(Locale.ROOT).replace(' ', '_')));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid payment method: " + paymentMethod);
+        }
+
+        String description = trimToNull(fields.get("description"));
+        if (description != null && description.length() > MAX_DESCRIPTION_LENGTH) {
+            throw new IllegalArgumentException("Description cannot exceed " + MAX_DESCRIPTION_LENGTH + " characters");
+        }
+        request.setDescription(description);
+
+        // Same constraints as POST /api/expenses
+        Set<ConstraintViolation<ExpenseRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return request;
+    }
+
+    // "Payment Method", "payment_method" and "paymentMethod" all map to "paymentmethod"
+    private static String normalizeKey(String key) {
+        return key.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    // Line the row starts on in a CSV file, position in a JSON array
+    private record ImportRow(long number, Map<String, String> fields) {
+    }
+
+    private static final class RollupCell {
+        private final Long categoryId;
+        private final String month;
+        private BigDecimal total = BigDecimal.ZERO;
+        private long count;
+
+        private RollupCell(Long categoryId, String month) {
+            this.categoryId = categoryId;
+            this.month = month;
+        }
+
+        private void add(BigDecimal amount) {
+            total = total.add(amount);
+            count++;
+        }
+    }
+}
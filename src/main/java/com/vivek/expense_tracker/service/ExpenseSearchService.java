@@ -0,0 +1,136 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.config.DatabaseDialect;
+import com.vivek.expense_tracker.config.MetricsConfig;
+import com.vivek.expense_tracker.dto.ExpenseResponse;
+import com.vivek.expense_tracker.repository.ExpenseRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Search over expense descriptions. Every word of the query must match the
+ * start of a word in the description ("lun caf" finds "Lunch at the cafe").
+ * On PostgreSQL this runs against the GIN-indexed tsvector column and ranks by
+ * ts_rank; elsewhere (H2 in tests) a substring scan applies the same rule,
+ * newest first.
+ */
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+public class ExpenseSearchService {
+
+    static final int MAX_RESULTS = 100;
+    static final int MAX_TERMS = 8;
+
+    private final ExpenseRepository expenseRepository;
+    private final boolean fullText;
+
+    public ExpenseSearchService(ExpenseRepository expenseRepository, DatabaseDialect databaseDialect) {
+        this.expenseRepository = expenseRepository;
+        this.fullText = databaseDialect.isPostgres();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ExpenseResponse> search(Long userId, String query, Long categoryId, LocalDate startDate,
+            LocalDate endDate, int size) {
+        if (size < 1 || size > MAX_RESULTS) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_RESULTS);
+        }
+        List<String> terms = terms(query);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain a letter or digit");
+        }
+        LocalDate from = startDate != null ? startDate : LocalDate.of(1, 1, 1);
+        LocalDate to = endDate != null ? endDate : LocalDate.of(9999, 12, 31);
+
+        return fullText
+                ? searchFullText(userId, terms, categoryId, from, to, size)
+                : searchBySubstring(userId, terms, categoryId, from, to, size);
+    }
+
+    /**
+     * Lower-cased words of the query, at most {@value #MAX_TERMS}. Anything but letters and
+     * digits separates words, so no tsquery or LIKE syntax gets through.
+     */
+    static List<String> terms(String query) {
+        List<String> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        for (String term : query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!term.isEmpty() && terms.size() < MAX_TERMS) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * tsquery requiring every term as a prefix, e.g. {@code lun:* & caf:*}
+     */
+    static String toTsQuery(List<String> terms) {
+        return String.join(" & ", terms.stream().map(term -> term + ":*").toList());
+    }
+
+    private List<ExpenseResponse> searchFullText(Long userId, List<String> terms, Long categoryId, LocalDate from,
+            LocalDate to, int size) {
+        String tsQuery = toTsQuery(terms);
+        List<Long> ids = categoryId != null
+                ? expenseRepository.searchIdsInCategory(userId, categoryId, tsQuery, from, to, size)
+                : expenseRepository.searchIds(userId, tsQuery, from, to, size);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Hydrate in one query, then restore the rank order
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        List<ExpenseResponse> results = new ArrayList<>(expenseRepository.findResponsesByIds(userId, ids));
+        results.sort(Comparator.comparing(result -> rank.get(result.getId())));
+        return results;
+    }
+
+    private List<ExpenseResponse> searchBySubstring(Long userId, List<String> terms, Long categoryId,
+            LocalDate from, LocalDate to, int size) {
+        // The longest term narrows the scan the most
+        String longest = terms.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+        try (Stream<ExpenseResponse> candidates = expenseRepository.findResponsesByDescriptionLike(userId,
+                categoryId, "%" + longest + "%", from, to)) {
+            return candidates
+                    .filter(candidate -> matchesAllPrefixes(candidate.getDescription(), terms))
+                    .limit(size)
+                    .toList();
+        }
+    }
+
+    static boolean matchesAllPrefixes(String description, List<String> terms) {
+        if (description == null) {
+            return false;
+        }
+        String[] words = description.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+        for (String term : terms) {
+            boolean found = false;
+            for (String word : words) {
+                if (word.startsWith(term)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
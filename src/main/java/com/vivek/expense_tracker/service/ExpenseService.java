@@ -1,13 +1,17 @@
 package com.vivek.expense_tracker.service;
 
+import com.vivek.expense_tracker.config.MetricsConfig;
+import com.vivek.expense_tracker.dto.CategoryDto;
+import com.vivek.expense_tracker.dto.CursorPage;
 import com.vivek.expense_tracker.dto.ExpenseRequest;
 import com.vivek.expense_tracker.dto.ExpenseResponse;
-import com.vivek.expense_tracker.entity.Category;
 import com.vivek.expense_tracker.entity.Expense;
 import com.vivek.expense_tracker.entity.User;
 import com.vivek.expense_tracker.repository.CategoryRepository;
 import com.vivek.expense_tracker.repository.ExpenseRepository;
 import com.vivek.expense_tracker.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -15,19 +19,31 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class ExpenseService {
 
+    // Largest keyset page a client may ask for
+    static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final ExpenseRepository expenseRepository;
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
+    private final MonthlySpendService monthlySpendService;
+    private final DataVersionService dataVersionService;
+    private final CategoryCache categoryCache;
 
     public ExpenseService(ExpenseRepository expenseRepository, CategoryRepository categoryRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository, MonthlySpendService monthlySpendService,
+            DataVersionService dataVersionService, CategoryCache categoryCache) {
         this.expenseRepository = expenseRepository;
         this.categoryRepository = categoryRepository;
         this.userRepository = userRepository;
+        this.monthlySpendService = monthlySpendService;
+        this.dataVersionService = dataVersionService;
+        this.categoryCache = categoryCache;
     }
 
     @Transactional
@@ -35,43 +51,68 @@ public class ExpenseService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        Category category = categoryRepository.findById(request.getCategoryId())
-                .orElseThrow(() -> new RuntimeException("Category not found"));
-
         // Validate that the category belongs to the user or is a default category
-        if (category.getUser() != null && !category.getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("You do not have permission to use this category");
-        }
+        CategoryDto category = categoryCache.requireUsable(userId, request.getCategoryId());
 
         Expense expense = new Expense();
         expense.setAmount(request.getAmount());
-        expense.setCategory(category);
+        expense.setCategory(categoryRepository.getReferenceById(category.getId()));
         expense.setDate(request.getDate());
         expense.setDescription(request.getDescription());
         expense.setPaymentMethod(request.getPaymentMethod());
         expense.setUser(user);
 
         Expense savedExpense = expenseRepository.save(expense);
-        return mapToResponse(savedExpense);
+        monthlySpendService.recordExpense(userId, category.getId(), request.getDate(), request.getAmount());
+        dataVersionService.bump(userId);
+        return mapToResponse(savedExpense, category);
     }
 
+    @Transactional(readOnly = true)
     public Page<ExpenseResponse> getExpenses(Long userId, Long categoryId, LocalDate startDate, LocalDate endDate,
             Pageable pageable) {
-        Page<Expense> expenses;
-
+        // Rows are projected straight into responses, no entities are loaded or dirty-checked
         if (categoryId != null && startDate != null && endDate != null) {
-            expenses = expenseRepository.findByUserIdAndCategoryIdAndDateBetweenOrderByDateDesc(userId, categoryId,
+            return expenseRepository.findResponsesByUserIdAndCategoryIdAndDateBetween(userId, categoryId,
                     startDate, endDate, pageable);
         } else if (categoryId != null) {
-            expenses = expenseRepository.findByUserIdAndCategoryIdOrderByDateDesc(userId, categoryId, pageable);
+            return expenseRepository.findResponsesByUserIdAndCategoryId(userId, categoryId, pageable);
         } else if (startDate != null && endDate != null) {
-            expenses = expenseRepository.findByUserIdAndDateBetweenOrderByDateDesc(userId, startDate, endDate,
-                    pageable);
+            return expenseRepository.findResponsesByUserIdAndDateBetween(userId, startDate, endDate, pageable);
         } else {
-            expenses = expenseRepository.findByUserIdOrderByDateDesc(userId, pageable);
+            return expenseRepository.findResponsesByUserId(userId, pageable);
         }
+    }
 
-        return expenses.map(this::mapToResponse);
+    /**
+     * Keyset (cursor) page of expenses ordered by date and id, newest first.
+     * Seeks past the cursor instead of scanning an OFFSET and never runs a count query.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ExpenseResponse> getExpensesAfter(Long userId, Long categoryId, LocalDate startDate,
+            LocalDate endDate, String cursor, int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        ExpenseCursor position = ExpenseCursor.decode(cursor);
+        LocalDate from = startDate != null ? startDate : LocalDate.of(1, 1, 1);
+        LocalDate to = endDate != null ? endDate : ExpenseCursor.START.date();
+        // Fetch one extra row to learn whether another page exists
+        Limit limit = Limit.of(size + 1);
+
+        List<ExpenseResponse> rows = categoryId != null
+                ? expenseRepository.findResponsesAfterInCategory(userId, categoryId, from, to,
+                        position.date(), position.id(), limit)
+                : expenseRepository.findResponsesAfter(userId, from, to, position.date(), position.id(), limit);
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            ExpenseResponse last = rows.get(size - 1);
+            nextCursor = new ExpenseCursor(last.getDate(), last.getId()).encode();
+        }
+
+        return new CursorPage<>(rows, rows.size(), nextCursor);
     }
 
     public ExpenseResponse getExpenseById(Long userId, Long expenseId) {
@@ -94,21 +135,21 @@ public class ExpenseService {
             throw new AccessDeniedException("You do not have permission to update this expense");
         }
 
-        Category category = categoryRepository.findById(request.getCategoryId())
-                .orElseThrow(() -> new RuntimeException("Category not found"));
+        CategoryDto category = categoryCache.requireUsable(userId, request.getCategoryId());
 
-        if (category.getUser() != null && !category.getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("You do not have permission to use this category");
-        }
+        // Keep the monthly rollup in step, the expense may move between categories and months
+        monthlySpendService.moveExpense(userId, expense.getCategory().getId(), expense.getDate(), expense.getAmount(),
+                category.getId(), request.getDate(), request.getAmount());
 
         expense.setAmount(request.getAmount());
-        expense.setCategory(category);
+        expense.setCategory(categoryRepository.getReferenceById(category.getId()));
         expense.setDate(request.getDate());
         expense.setDescription(request.getDescription());
         expense.setPaymentMethod(request.getPaymentMethod());
 
         Expense updatedExpense = expenseRepository.save(expense);
-        return mapToResponse(updatedExpense);
+        dataVersionService.bump(userId);
+        return mapToResponse(updatedExpense, category);
     }
 
     @Transactional
@@ -120,17 +161,26 @@ public class ExpenseService {
             throw new AccessDeniedException("You do not have permission to delete this expense");
         }
 
+        monthlySpendService.removeExpense(userId, expense.getCategory().getId(), expense.getDate(),
+                expense.getAmount());
         expenseRepository.delete(expense);
+        dataVersionService.bump(userId);
+    }
+
+    // Package-private for the JMH benchmarks in src/jmh
+    ExpenseResponse mapToResponse(Expense expense) {
+        return mapToResponse(expense, CategoryCache.toDto(expense.getCategory()));
     }
 
-    private ExpenseResponse mapToResponse(Expense expense) {
+    // Writes map from the cached category so the association proxy is never initialised
+    static ExpenseResponse mapToResponse(Expense expense, CategoryDto category) {
         ExpenseResponse response = new ExpenseResponse();
         response.setId(expense.getId());
         response.setAmount(expense.getAmount());
-        response.setCategoryId(expense.getCategory().getId());
-        response.setCategoryName(expense.getCategory().getName());
-        response.setCategoryColor(expense.getCategory().getColor());
-        response.setCategoryIcon(expense.getCategory().getIcon());
+        response.setCategoryId(category.getId());
+        response.setCategoryName(category.getName());
+        response.setCategoryColor(category.getColor());
+        response.setCategoryIcon(category.getIcon());
         response.setDate(expense.getDate());
         response.setDescription(expense.getDescription());
         response.setPaymentMethod(expense.getPaymentMethod());
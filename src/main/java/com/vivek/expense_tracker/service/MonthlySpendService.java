@@ -0,0 +1,222 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.config.DatabaseDialect;
+import com.vivek.expense_tracker.entity.MonthlySpend;
+import com.vivek.expense_tracker.repository.CategoryRepository;
+import com.vivek.expense_tracker.repository.ExpenseRepository;
+import com.vivek.expense_tracker.repository.MonthlySpendRepository;
+import com.vivek.expense_tracker.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the user x category x month spend rollup. Every expense write goes
+ * through here inside the caller's transaction, so the rollup commits or rolls
+ * back together with the expense itself, the affected budget is checked for
+ * threshold crossings and open dashboards are told what changed.
+ *
+ * <p>On PostgreSQL each delta is one INSERT ... ON CONFLICT DO UPDATE, so two
+ * transactions writing to a new cell at once both land; elsewhere (H2 in
+ * tests) it is an UPDATE followed by an INSERT when no row matched.
+ */
+@Service
+public class MonthlySpendService {
+
+    private final MonthlySpendRepository monthlySpendRepository;
+    private final ExpenseRepository expenseRepository;
+    private final CategoryRepository categoryRepository;
+    private final UserRepository userRepository;
+    private final SpendSeriesCache spendSeriesCache;
+    private final BudgetAlertService budgetAlertService;
+    private final DashboardEventService dashboardEventService;
+    private final boolean upsert;
+
+    public MonthlySpendService(MonthlySpendRepository monthlySpendRepository, ExpenseRepository expenseRepository,
+            CategoryRepository categoryRepository, UserRepository userRepository, SpendSeriesCache spendSeriesCache,
+            BudgetAlertService budgetAlertService, DashboardEventService dashboardEventService,
+            DatabaseDialect databaseDialect) {
+        this.monthlySpendRepository = monthlySpendRepository;
+        this.expenseRepository = expenseRepository;
+        this.categoryRepository = categoryRepository;
+        this.userRepository = userRepository;
+        this.spendSeriesCache = spendSeriesCache;
+        this.budgetAlertService = budgetAlertService;
+        this.dashboardEventService = dashboardEventService;
+        this.upsert = databaseDialect.isPostgres();
+    }
+
+    /**
+     * Month key in the same YYYY-MM format budgets use
+     */
+    public static String monthKey(int year, int month) {
+        return String.format("%d-%02d", year, month);
+    }
+
+    public static String monthKey(LocalDate date) {
+        return monthKey(date.getYear(), date.getMonthValue());
+    }
+
+    @Transactional
+    public void recordExpense(Long userId, Long categoryId, LocalDate date, BigDecimal amount) {
+        applyDelta(userId, categoryId, monthKey(date), amount, 1);
+        spendSeriesCache.evictIfClosed(userId, date);
+        dashboardEventService.expenseChanged(userId, categoryId, monthKey(date), date);
+    }
+
+    @Transactional
+    public void removeExpense(Long userId, Long categoryId, LocalDate date, BigDecimal amount) {
+        applyDelta(userId, categoryId, monthKey(date), amount.negate(), -1);
+        spendSeriesCache.evictIfClosed(userId, date);
+        dashboardEventService.expenseChanged(userId, categoryId, monthKey(date), date);
+    }
+
+    /**
+     * Add a pre-aggregated (category, month) contribution, used by bulk imports
+     * to touch each rollup cell once instead of once per row
+     */
+    @Transactional
+    public void addToMonth(Long userId, Long categoryId, String month, BigDecimal amount, long count) {
+        applyDelta(userId, categoryId, month, amount, count);
+        // Only the month is known, which may still hold closed weeks
+        spendSeriesCache.evictUser(userId);
+        dashboardEventService.expenseChanged(userId, categoryId, month, null);
+    }
+
+    /**
+     * Move an updated expense's contribution, which may change category, month
+     * and amount at the same time
+     */
+    @Transactional
+    public void moveExpense(Long userId, Long oldCategoryId, LocalDate oldDate, BigDecimal oldAmount,
+            Long newCategoryId, LocalDate newDate, BigDecimal newAmount) {
+        String oldMonth = monthKey(oldDate);
+        String newMonth = monthKey(newDate);
+        spendSeriesCache.evictIfClosed(userId, oldDate);
+        spendSeriesCache.evictIfClosed(userId, newDate);
+        dashboardEventService.expenseChanged(userId, oldCategoryId, oldMonth, oldDate);
+        dashboardEventService.expenseChanged(userId, newCategoryId, newMonth, newDate);
+
+        if (oldCategoryId.equals(newCategoryId) && oldMonth.equals(newMonth)) {
+            BigDecimal delta = newAmount.subtract(oldAmount);
+            if (delta.signum() != 0) {
+                applyDelta(userId, newCategoryId, newMonth, delta, 0);
+            }
+            return;
+        }
+
+        applyDelta(userId, oldCategoryId, oldMonth, oldAmount.negate(), -1);
+        applyDelta(userId, newCategoryId, newMonth, newAmount, 1);
+    }
+
+    /**
+     * Apply a batch of expense changes with one rollup write per (category, month)
+     * cell they touch; an update that moves an expense is a change out of its old
+     * cell and one into its new cell
+     */
+    @Transactional
+    public void applyChanges(Long userId, List<SpendChange> changes) {
+        Map<String, Totals> cells = new LinkedHashMap<>();
+        LocalDate earliest = null;
+        for (SpendChange change : changes) {
+            String month = monthKey(change.date());
+            cells.merge(cellKey(change.categoryId(), month),
+                    new Totals(change.categoryId(), month, change.amount(), change.count()),
+                    (sum, next) -> new Totals(sum.categoryId(), sum.month(), sum.total().add(next.total()),
+                            sum.count() + next.count()));
+            if (earliest == null || change.date().isBefore(earliest)) {
+                earliest = change.date();
+            }
+            dashboardEventService.expenseChanged(userId, change.categoryId(), month, change.date());
+        }
+        // The earliest date decides whether any closed bucket is touched
+        if (earliest != null) {
+            spendSeriesCache.evictIfClosed(userId, earliest);
+        }
+
+        for (Totals cell : cells.values()) {
+            if (cell.total().signum() != 0 || cell.count() != 0) {
+                applyDelta(userId, cell.categoryId(), cell.month(), cell.total(), cell.count());
+            }
+        }
+    }
+
+    /**
+     * Compare a user's rollup against the raw expenses and optionally rebuild it.
+     *
+     * @return number of (category, month) cells that had drifted
+     */
+    @Transactional
+    public int verify(Long userId, boolean repair) {
+        Map<String, Totals> expected = new HashMap<>();
+        for (Object[] row : expenseRepository.getMonthlyCategoryTotals(userId)) {
+            String month = monthKey(((Number) row[1]).intValue(), ((Number) row[2]).intValue());
+            expected.put(cellKey((Long) row[0], month),
+                    new Totals((Long) row[0], month, (BigDecimal) row[3], ((Number) row[4]).longValue()));
+        }
+
+        int drift = 0;
+        Map<String, Totals> unmatched = new HashMap<>(expected);
+        for (MonthlySpend spend : monthlySpendRepository.findByUserId(userId)) {
+            Totals totals = unmatched.remove(cellKey(spend.getCategory().getId(), spend.getMonth()));
+            BigDecimal expectedTotal = totals != null ? totals.total() : BigDecimal.ZERO;
+            long expectedCount = totals != null ? totals.count() : 0;
+
+            if (spend.getTotal().compareTo(expectedTotal) != 0 || spend.getExpenseCount() != expectedCount) {
+                drift++;
+            }
+        }
+        drift += unmatched.size();
+
+        if (repair && drift > 0) {
+            monthlySpendRepository.deleteByUserId(userId);
+            List<MonthlySpend> rebuilt = new ArrayList<>();
+            for (Totals totals : expected.values()) {
+                rebuilt.add(newRow(userId, totals.categoryId(), totals.month(), totals.total(), totals.count()));
+            }
+            monthlySpendRepository.saveAll(rebuilt);
+        }
+
+        return drift;
+    }
+
+    private void applyDelta(Long userId, Long categoryId, String month, BigDecimal amount, long count) {
+        if (upsert) {
+            monthlySpendRepository.upsertDelta(userId, categoryId, month, amount, count);
+        } else if (monthlySpendRepository.applyDelta(userId, categoryId, month, amount, count) == 0) {
+            monthlySpendRepository.save(newRow(userId, categoryId, month, amount, count));
+        }
+        // Only this cell's budget can have crossed a threshold
+        budgetAlertService.spendChanged(userId, categoryId, month, amount);
+    }
+
+    private MonthlySpend newRow(Long userId, Long categoryId, String month, BigDecimal total, long count) {
+        MonthlySpend spend = new MonthlySpend();
+        spend.setUser(userRepository.getReferenceById(userId));
+        spend.setCategory(categoryRepository.getReferenceById(categoryId));
+        spend.setMonth(month);
+        spend.setTotal(total);
+        spend.setExpenseCount(count);
+        return spend;
+    }
+
+    private static String cellKey(Long categoryId, String month) {
+        return categoryId + "|" + month;
+    }
+
+    /**
+     * One expense's contribution to the rollup, with a negative amount and count to take it away
+     */
+    public record SpendChange(Long categoryId, LocalDate date, BigDecimal amount, long count) {
+    }
+
+    private record Totals(Long categoryId, String month, BigDecimal total, long count) {
+    }
+}
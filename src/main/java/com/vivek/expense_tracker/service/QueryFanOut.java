@@ -0,0 +1,160 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.config.DashboardProperties;
+import com.vivek.expense_tracker.config.SqlStatementStats;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent read queries of one call concurrently, one virtual thread
+ * each, when {@code dashboard.parallel-queries} is on; otherwise inline on the
+ * caller. Subtasks live inside a {@link Scope}: they are joined before the
+ * caller continues, and the rest are cancelled as soon as one fails.
+ *
+ * <p>Each subtask takes its own pooled connection outside any transaction, so
+ * callers must not hold one. A shared semaphore caps subtasks in flight, by
+ * default at half the connection pool, leaving the rest for other requests.
+ */
+@Component
+public class QueryFanOut {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private final ExecutorService executor; // null when running inline
+    private final Semaphore permits;
+
+    @Autowired
+    public QueryFanOut(DashboardProperties properties, DataSource dataSource) {
+        this(properties.isParallelQueries() ? Executors.newVirtualThreadPerTaskExecutor() : null,
+                properties.getMaxConcurrentQueries() > 0 ? properties.getMaxConcurrentQueries()
+                        : Math.max(1, poolSize(dataSource) / 2));
+    }
+
+    private QueryFanOut(ExecutorService executor, int maxConcurrentQueries) {
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrentQueries, true);
+    }
+
+    /**
+     * Inline instance, for unit tests and benchmarks
+     */
+    public static QueryFanOut sequential() {
+        return new QueryFanOut(null, 1);
+    }
+
+    /**
+     * Parallel instance over the given executor, for benchmarks
+     */
+    public static QueryFanOut parallel(ExecutorService executor, int maxConcurrentQueries) {
+        return new QueryFanOut(executor, maxConcurrentQueries);
+    }
+
+    public boolean isParallel() {
+        return executor != null;
+    }
+
+    public Scope open() {
+        return new Scope();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            // Fall through to the Hikari default
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final List<Future<?>> forked = new ArrayList<>();
+
+        private Scope() {
+        }
+
+        /**
+         * Start a query; its result is available from the returned supplier after {@link #join()}
+         */
+        public <T> Supplier<T> fork(Callable<T> query) {
+            if (executor == null) {
+                T result = callInline(query);
+                return () -> result;
+            }
+
+            // The subtask's statements count towards the request that forked it
+            Future<T> future = executor.submit(SqlStatementStats.propagate(() -> {
+                permits.acquire();
+                try {
+                    return query.call();
+                } finally {
+                    permits.release();
+                }
+            }));
+            forked.add(future);
+            return future::resultNow;
+        }
+
+        public void join() {
+            try {
+                for (Future<?> future : forked) {
+                    future.get();
+                }
+            } catch (ExecutionException e) {
+                close();
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException(cause);
+            } catch (InterruptedException e) {
+                close();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for queries", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            for (Future<?> future : forked) {
+                future.cancel(true);
+            }
+        }
+
+        private <T> T callInline(Callable<T> query) {
+            try {
+                return query.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.config.JwtProperties;
+import com.vivek.expense_tracker.entity.RefreshToken;
+import com.vivek.expense_tracker.entity.User;
+import com.vivek.expense_tracker.repository.RefreshTokenRepository;
+import com.vivek.expense_tracker.repository.UserRepository;
+import com.vivek.expense_tracker.security.InvalidRefreshTokenException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Opaque, rotating refresh tokens. The client's value is 256 random bits, so a
+ * plain SHA-256 is enough to store it safely and a refresh costs one indexed
+ * lookup instead of a BCrypt verification. Every refresh revokes the presented
+ * token and issues a new one; replaying an already rotated token revokes all
+ * of the user's tokens, since it means the token leaked.
+ */
+@Service
+public class RefreshTokenService {
+
+    // Two tabs refreshing with the same token at once is not theft, only reject the loser
+    static final Duration REUSE_GRACE = Duration.ofSeconds(30);
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtProperties jwtProperties;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository,
+            JwtProperties jwtProperties) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.jwtProperties = jwtProperties;
+    }
+
+    /**
+     * Issue a new refresh token for the user, returning the value for the client
+     */
+    @Transactional
+    public String issue(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.deleteExpiredForUser(userId, now);
+        return issue(userRepository.getReferenceById(userId), now);
+    }
+
+    /**
+     * Exchange a refresh token for a new one
+     *
+     * @throws InvalidRefreshTokenException if the token is unknown, expired or already used
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHashWithUser(hash(rawToken))
+                .orElseThrow(InvalidRefreshTokenException::new);
+        LocalDateTime now = LocalDateTime.now();
+
+        if (current.getRevokedAt() != null) {
+            if (current.getRevokedAt().isBefore(now.minus(REUSE_GRACE))) {
+                refreshTokenRepository.revokeAllForUser(current.getUser().getId(), now);
+            }
+            throw new InvalidRefreshTokenException();
+        }
+        if (!current.getExpiresAt().isAfter(now)) {
+            throw new InvalidRefreshTokenException();
+        }
+        if (refreshTokenRepository.revokeIfActive(current.getId(), now) == 0) {
+            throw new InvalidRefreshTokenException(); // A concurrent refresh got there first
+        }
+
+        return new Rotation(current.getUser(), issue(current.getUser(), now));
+    }
+
+    private String issue(User user, LocalDateTime now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setUser(user);
+        token.setTokenHash(hash(rawToken));
+        token.setExpiresAt(now.plus(Duration.ofMillis(jwtProperties.getRefreshExpiration())));
+        refreshTokenRepository.save(token);
+        return rawToken;
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * The token's owner and the refresh token that replaces it
+     */
+    public record Rotation(User user, String refreshToken) {
+    }
+}
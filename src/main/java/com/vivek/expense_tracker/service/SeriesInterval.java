@@ -0,0 +1,50 @@
+package com.vivek.expense_tracker.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Bucket width of a spending series. Buckets start where PostgreSQL's
+ * {@code date_trunc} puts them: ISO weeks (Monday), calendar months, quarters and years.
+ */
+public enum SeriesInterval {
+    WEEK, MONTH, QUARTER, YEAR;
+
+    public static SeriesInterval parse(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Interval must be week, month, quarter or year");
+        }
+    }
+
+    /**
+     * First day of the bucket containing the date
+     */
+    public LocalDate start(LocalDate date) {
+        return switch (this) {
+            case WEEK -> date.with(DayOfWeek.MONDAY);
+            case MONTH -> date.withDayOfMonth(1);
+            case QUARTER -> LocalDate.of(date.getYear(), (date.getMonthValue() - 1) / 3 * 3 + 1, 1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    /**
+     * Bucket start moved by a number of buckets, negative to go back
+     */
+    public LocalDate plus(LocalDate start, long buckets) {
+        return switch (this) {
+            case WEEK -> start.plusWeeks(buckets);
+            case MONTH -> start.plusMonths(buckets);
+            case QUARTER -> start.plusMonths(3 * buckets);
+            case YEAR -> start.plusYears(buckets);
+        };
+    }
+
+    // The field name date_trunc expects
+    String sqlName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,176 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.dto.SpendingBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded per-user cache of closed spending buckets, i.e. periods that ended
+ * before today. Their totals only change when an expense is written with a
+ * past date, which evicts the user, so long series only query the open tail.
+ * Lookups take no lock; when the cache fills up, one writer drops arbitrary
+ * users (their buckets are simply queried again).
+ *
+ * <p>Cached {@link SpendingBucket}s are shared between callers and must be treated as read-only.
+ */
+@Component
+class SpendSeriesCache {
+
+    static final int MAX_USERS = 10_000;
+    static final int MAX_BUCKETS_PER_USER = 4_000;
+
+    private final int maxUsers;
+    private final Map<Long, UserBuckets> byUser = new ConcurrentHashMap<>();
+    private final ReentrantLock sweep = new ReentrantLock();
+    private final Counter hits;
+    private final Counter misses;
+
+    // Bumped on every eviction so a load that raced with it is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    SpendSeriesCache(MeterRegistry meterRegistry) {
+        this(meterRegistry, MAX_USERS);
+    }
+
+    SpendSeriesCache(MeterRegistry meterRegistry, int maxUsers) {
+        this.maxUsers = maxUsers;
+        this.hits = meterRegistry.counter("spend.series.cache.buckets", "result", "hit");
+        this.misses = meterRegistry.counter("spend.series.cache.buckets", "result", "miss");
+        Gauge.builder("spend.series.cache.size", this, SpendSeriesCache::size).register(meterRegistry);
+    }
+
+    /**
+     * The cached closed bucket starting on the given day, or null
+     */
+    SpendingBucket get(Long userId, SeriesInterval interval, LocalDate start) {
+        UserBuckets buckets = byUser.get(userId);
+        SpendingBucket bucket = buckets != null ? buckets.get(interval).get(start) : null;
+        (bucket != null ? hits : misses).increment();
+        return bucket;
+    }
+
+    /**
+     * Token to pass to {@link #putAll} for buckets computed from a query started after this call
+     */
+    long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Cache closed buckets, unless the user was evicted since {@code loadedAt}
+     */
+    void putAll(Long userId, SeriesInterval interval, List<SpendingBucket> closed, long loadedAt) {
+        // Inside the key's compute, so an eviction of this user cannot land between the check and the puts
+        byUser.compute(userId, (id, current) -> {
+            if (generation.get() != loadedAt) {
+                return current;
+            }
+            UserBuckets buckets = current != null ? current : new UserBuckets();
+            for (SpendingBucket bucket : closed) {
+                if (buckets.size >= MAX_BUCKETS_PER_USER) {
+                    break;
+                }
+                if (buckets.get(interval).put(bucket.getStartDate(), bucket) == null) {
+                    buckets.size++;
+                }
+            }
+            return buckets;
+        });
+        if (byUser.size() > maxUsers) {
+            evictOverflow(userId);
+        }
+    }
+
+    /**
+     * Drop the user's buckets after commit if an expense dated {@code date} may fall in a closed one
+     */
+    void evictIfClosed(Long userId, LocalDate date) {
+        LocalDate today = LocalDate.now();
+        LocalDate weekStart = SeriesInterval.WEEK.start(today);
+        LocalDate monthStart = SeriesInterval.MONTH.start(today);
+        // Quarters and years start on or before the month, only weeks can open later
+        if (date.isBefore(weekStart.isAfter(monthStart) ? weekStart : monthStart)) {
+            evictUser(userId);
+        }
+    }
+
+    /**
+     * Drop the user's buckets once the current transaction commits
+     */
+    void evictUser(Long userId) {
+        afterCommit(() -> byUser.compute(userId, (id, current) -> {
+            generation.incrementAndGet();
+            return null;
+        }));
+    }
+
+    int size() {
+        return byUser.size();
+    }
+
+    // Other readers and writers carry on while one thread sweeps, the bound is briefly approximate
+    private void evictOverflow(Long added) {
+        if (!sweep.tryLock()) {
+            return;
+        }
+        try {
+            // Make room for a tenth of the cache in one pass
+            int target = maxUsers - Math.max(1, maxUsers / 10);
+            Iterator<Long> users = byUser.keySet().iterator();
+            while (byUser.size() > target && users.hasNext()) {
+                if (!users.next().equals(added)) {
+                    users.remove();
+                }
+            }
+        } finally {
+            sweep.unlock();
+        }
+    }
+
+    // Evicting before commit would let a concurrent reader re-cache the old totals
+    private static void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    // Filled only inside compute on the user's key, read concurrently by lookups
+    private static final class UserBuckets {
+
+        private final Map<SeriesInterval, Map<LocalDate, SpendingBucket>> byInterval =
+                new EnumMap<>(SeriesInterval.class);
+        private int size;
+
+        UserBuckets() {
+            for (SeriesInterval interval : SeriesInterval.values()) {
+                byInterval.put(interval, new ConcurrentHashMap<>());
+            }
+        }
+
+        Map<LocalDate, SpendingBucket> get(SeriesInterval interval) {
+            return byInterval.get(interval);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.config.MetricsConfig;
+import com.vivek.expense_tracker.dto.SpendingBucket;
+import com.vivek.expense_tracker.dto.SpendingSeries;
+import com.vivek.expense_tracker.repository.ExpenseRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spending totals bucketed by week, month, quarter or year over any range,
+ * each with the change from the bucket before. Computed by one grouped query;
+ * closed buckets are cached, so only the buckets from the first uncached one
+ * onwards (usually just the current one) are queried again.
+ */
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+public class SpendSeriesService {
+
+    static final int DEFAULT_BUCKETS = 12;
+    // Ten years of weeks
+    static final int MAX_BUCKETS = 520;
+
+    private final ExpenseRepository expenseRepository;
+    private final SpendSeriesCache spendSeriesCache;
+
+    public SpendSeriesService(ExpenseRepository expenseRepository, SpendSeriesCache spendSeriesCache) {
+        this.expenseRepository = expenseRepository;
+        this.spendSeriesCache = spendSeriesCache;
+    }
+
+    /**
+     * Series covering {@code startDate..endDate} widened to whole buckets. Defaults to the
+     * last {@value #DEFAULT_BUCKETS} buckets up to today.
+     */
+    public SpendingSeries getSeries(Long userId, SeriesInterval interval, LocalDate startDate, LocalDate endDate) {
+        LocalDate today = LocalDate.now();
+        LocalDate last = interval.start(endDate != null ? endDate : today);
+        LocalDate first = startDate != null ? interval.start(startDate) : interval.plus(last, 1 - DEFAULT_BUCKETS);
+        if (first.isAfter(last)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+
+        List<LocalDate> starts = new ArrayList<>();
+        for (LocalDate start = first; !start.isAfter(last); start = interval.plus(start, 1)) {
+            if (starts.size() == MAX_BUCKETS) {
+                throw new IllegalArgumentException("A series can have at most " + MAX_BUCKETS + " buckets");
+            }
+            starts.add(start);
+        }
+
+        // Leading closed buckets come from the cache, the rest from one query
+        List<SpendingBucket> buckets = new ArrayList<>(starts.size());
+        for (LocalDate start : starts) {
+            SpendingBucket cached = isClosed(interval, start, today)
+                    ? spendSeriesCache.get(userId, interval, start)
+                    : null;
+            if (cached == null) {
+                break;
+            }
+            buckets.add(cached);
+        }
+        if (buckets.size() < starts.size()) {
+            buckets.addAll(load(userId, interval, starts.get(buckets.size()), last, today));
+        }
+
+        return new SpendingSeries(interval.sqlName(), first, interval.plus(last, 1).minusDays(1), buckets);
+    }
+
+    private List<SpendingBucket> load(Long userId, SeriesInterval interval, LocalDate from, LocalDate to,
+            LocalDate today) {
+        // Start one bucket early so the first bucket's previous total is known
+        LocalDate queryFrom = interval.plus(from, -1);
+        long loadedAt = spendSeriesCache.generation();
+        Map<LocalDate, Object[]> rows = new HashMap<>();
+        for (Object[] row : expenseRepository.getBucketTotals(userId, interval.sqlName(), queryFrom,
+                interval.plus(to, 1).minusDays(1))) {
+            rows.put(DashboardService.toLocalDate(row[0]), row);
+        }
+
+        Object[] lookBack = rows.get(queryFrom);
+        BigDecimal previousTotal = lookBack != null ? (BigDecimal) lookBack[1] : BigDecimal.ZERO;
+        List<SpendingBucket> buckets = new ArrayList<>();
+        List<SpendingBucket> closed = new ArrayList<>();
+        for (LocalDate start = from; !start.isAfter(to); start = interval.plus(start, 1)) {
+            Object[] row = rows.get(start);
+            BigDecimal total = BigDecimal.ZERO;
+            long count = 0;
+            BigDecimal previous = previousTotal;
+            if (row != null) {
+                total = (BigDecimal) row[1];
+                count = ((Number) row[2]).longValue();
+                // LAG gives the previous non-empty bucket, which only counts if it is the adjacent one
+                boolean adjacent = row[3] != null
+                        && DashboardService.toLocalDate(row[3]).equals(interval.plus(start, -1));
+                previous = adjacent ? (BigDecimal) row[4] : BigDecimal.ZERO;
+            }
+
+            SpendingBucket bucket = new SpendingBucket(start, interval.plus(start, 1).minusDays(1), total, count,
+                    previous, total.subtract(previous), DashboardService.percentageChange(total, previous));
+            buckets.add(bucket);
+            if (isClosed(interval, start, today)) {
+                closed.add(bucket);
+            }
+            previousTotal = total;
+        }
+
+        spendSeriesCache.putAll(userId, interval, closed, loadedAt);
+        return buckets;
+    }
+
+    // A bucket is closed once it ended before today, no new expense can land in it without a backdated write
+    private static boolean isClosed(SeriesInterval interval, LocalDate start, LocalDate today) {
+        return !interval.plus(start, 1).isAfter(today);
+    }
+}
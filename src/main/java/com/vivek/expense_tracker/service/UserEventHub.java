@@ -0,0 +1,248 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.config.EventStreamProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-sent event connections per user on this node. Services publish to a
+ * user and every open stream of that user (one per tab) that asked for the
+ * event receives it.
+ *
+ * <p>Streams are async requests, so an idle one holds no thread. Each has a
+ * bounded queue drained by a virtual thread only while it has something to
+ * write, so a slow client never blocks the publisher or other clients, and one
+ * that falls {@code events.send-queue-capacity} events behind is disconnected
+ * to reconnect and re-read. A single scheduler sends heartbeats to idle streams.
+ */
+@Component
+public class UserEventHub {
+
+    private final EventStreamProperties properties;
+    private final Map<Long, List<Connection>> byUser = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("event-heartbeat").daemon().factory());
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter overflowed;
+    private final Counter rejected;
+
+    public UserEventHub(EventStreamProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.sent = meterRegistry.counter("events.sent", "result", "sent");
+        this.failed = meterRegistry.counter("events.sent", "result", "failed");
+        this.overflowed = meterRegistry.counter("events.sent", "result", "overflow");
+        this.rejected = meterRegistry.counter("events.connections.rejected");
+        Gauge.builder("events.connections", connections, AtomicInteger::get).register(meterRegistry);
+
+        long heartbeatMillis = properties.getHeartbeatInterval().toMillis();
+        heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Open a stream for the user that receives the named events
+     *
+     * @throws EventStreamRejectedException when this node is at its connection cap
+     */
+    public SseEmitter subscribe(Long userId, String... events) {
+        // Take the slot before registering, so concurrent subscribers cannot overshoot the cap
+        if (connections.incrementAndGet() > properties.getMaxConnections()) {
+            connections.decrementAndGet();
+            rejected.increment();
+            throw new EventStreamRejectedException();
+        }
+
+        Connection connection = new Connection(userId, Set.of(events),
+                new SseEmitter(properties.getTimeout().toMillis()));
+        byUser.computeIfAbsent(userId, id -> new CopyOnWriteArrayList<>()).add(connection);
+        connection.emitter.onCompletion(() -> remove(connection));
+        connection.emitter.onTimeout(connection.emitter::complete);
+        connection.emitter.onError(error -> remove(connection));
+
+        // Commits the response so the client knows the stream is open
+        connection.enqueue(SseEmitter.event().comment("connected"));
+        return connection.emitter;
+    }
+
+    /**
+     * Whether any of the user's streams on this node wants the event, to skip building it otherwise
+     */
+    public boolean hasSubscribers(Long userId, String event) {
+        List<Connection> userConnections = byUser.get(userId);
+        if (userConnections == null) {
+            return false;
+        }
+        for (Connection connection : userConnections) {
+            if (connection.events.contains(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Send an event to the user's open streams once the current transaction commits,
+     * so clients never hear about a write that rolled back
+     */
+    public void publish(Long userId, String event, Object data) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(userId, event, data);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send(userId, event, data);
+            }
+        });
+    }
+
+    /**
+     * Queue an event on the user's streams right away
+     */
+    void send(Long userId, String event, Object data) {
+        List<Connection> userConnections = byUser.get(userId);
+        if (userConnections == null) {
+            return;
+        }
+        for (Connection connection : userConnections) {
+            if (connection.events.contains(event)) {
+                // A builder accumulates its output, each stream needs its own
+                connection.enqueue(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    int connectionCount() {
+        return connections.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+        for (List<Connection> userConnections : byUser.values()) {
+            for (Connection connection : userConnections) {
+                connection.emitter.complete();
+            }
+        }
+        senders.shutdown();
+    }
+
+    private void heartbeat() {
+        for (List<Connection> userConnections : byUser.values()) {
+            for (Connection connection : userConnections) {
+                if (connection.isIdle()) {
+                    connection.enqueue(SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        }
+    }
+
+    private void remove(Connection connection) {
+        byUser.computeIfPresent(connection.userId, (id, userConnections) -> {
+            if (userConnections.remove(connection)) {
+                connections.decrementAndGet();
+            }
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+
+    private final class Connection {
+
+        private final Long userId;
+        private final Set<String> events;
+        private final SseEmitter emitter;
+        private final ArrayDeque<SseEmitter.SseEventBuilder> queue = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        private Connection(Long userId, Set<String> events, SseEmitter emitter) {
+            this.userId = userId;
+            this.events = events;
+            this.emitter = emitter;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            boolean overflow = false;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (queue.size() < properties.getSendQueueCapacity()) {
+                    queue.add(event);
+                    if (draining) {
+                        return;
+                    }
+                    draining = true;
+                } else {
+                    overflow = true;
+                    closed = true;
+                    queue.clear();
+                }
+            }
+
+            if (overflow) {
+                // Too far behind to catch up, it reconnects and re-reads instead
+                overflowed.increment();
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            senders.execute(this::drain);
+        }
+
+        synchronized boolean isIdle() {
+            return queue.isEmpty() && !draining;
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                synchronized (this) {
+                    event = queue.poll();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(event);
+                    sent.increment();
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away, the container reports it through onError/onCompletion too
+                    failed.increment();
+                    synchronized (this) {
+                        closed = true;
+                        queue.clear();
+                        draining = false;
+                    }
+                    remove(this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+    }
+}
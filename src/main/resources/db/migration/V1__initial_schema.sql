@@ -0,0 +1,40 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update).
+-- Existing databases are baselined at this version and skip it.
+
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email      VARCHAR(255) NOT NULL UNIQUE,
+    password   VARCHAR(255) NOT NULL,
+    name       VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS categories (
+    id      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name    VARCHAR(255) NOT NULL,
+    color   VARCHAR(255) NOT NULL,
+    icon    VARCHAR(255) NOT NULL,
+    user_id BIGINT REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS expenses (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    amount         NUMERIC(10, 2) NOT NULL,
+    category_id    BIGINT         NOT NULL REFERENCES categories (id),
+    date           DATE           NOT NULL,
+    description    VARCHAR(500),
+    payment_method VARCHAR(255)   NOT NULL
+        CHECK (payment_method IN ('CASH', 'CARD', 'UPI', 'NET_BANKING', 'OTHER')),
+    user_id        BIGINT         NOT NULL REFERENCES users (id),
+    created_at     TIMESTAMP(6)   NOT NULL,
+    updated_at     TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS budgets (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id       BIGINT         NOT NULL REFERENCES users (id),
+    category_id   BIGINT         NOT NULL REFERENCES categories (id),
+    monthly_limit NUMERIC(10, 2) NOT NULL,
+    month         VARCHAR(7)     NOT NULL,
+    UNIQUE (user_id, category_id, month)
+);
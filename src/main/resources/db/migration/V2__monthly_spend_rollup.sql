@@ -0,0 +1,29 @@
+-- User x category x month spend rollup, maintained by MonthlySpendService.
+-- May already exist where Hibernate created it before migrations took over.
+
+CREATE TABLE IF NOT EXISTS monthly_spend (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id       BIGINT         NOT NULL REFERENCES users (id),
+    category_id   BIGINT         NOT NULL REFERENCES categories (id),
+    month         VARCHAR(7)     NOT NULL,
+    total         NUMERIC(14, 2) NOT NULL,
+    expense_count BIGINT         NOT NULL,
+    UNIQUE (user_id, category_id, month)
+);
+
+-- Recompute every cell from expenses. Cells the application wrote before this ran only hold
+-- the writes since then, so they are overwritten rather than skipped
+INSERT INTO monthly_spend (user_id, category_id, month, total, expense_count)
+SELECT user_id, category_id, to_char(date, 'YYYY-MM'), SUM(amount), COUNT(*)
+FROM expenses
+GROUP BY user_id, category_id, to_char(date, 'YYYY-MM')
+ON CONFLICT (user_id, category_id, month)
+    DO UPDATE SET total = EXCLUDED.total, expense_count = EXCLUDED.expense_count;
+
+-- Cells whose expenses were all deleted
+UPDATE monthly_spend m
+SET total = 0, expense_count = 0
+WHERE NOT EXISTS (
+    SELECT 1 FROM expenses e
+    WHERE e.user_id = m.user_id AND e.category_id = m.category_id AND to_char(e.date, 'YYYY-MM') = m.month
+);
@@ -0,0 +1,22 @@
+-- Indexes shaped after the repository queries.
+
+-- Expense list (offset and keyset, newest first) and date-range sums/trends.
+-- category_id and amount are included so aggregates can run as index-only scans.
+CREATE INDEX IF NOT EXISTS idx_expenses_user_date
+    ON expenses (user_id, date DESC, id DESC) INCLUDE (category_id, amount);
+
+-- Category-filtered list and per-category sums
+CREATE INDEX IF NOT EXISTS idx_expenses_user_category_date
+    ON expenses (user_id, category_id, date DESC, id DESC) INCLUDE (amount);
+
+-- Budgets of a month (the unique key leads with category_id, so it cannot serve this)
+CREATE INDEX IF NOT EXISTS idx_budgets_user_month
+    ON budgets (user_id, month);
+
+-- Monthly totals, counts and category breakdown from the rollup
+CREATE INDEX IF NOT EXISTS idx_monthly_spend_user_month
+    ON monthly_spend (user_id, month) INCLUDE (category_id, total, expense_count);
+
+-- Default + custom category lookups
+CREATE INDEX IF NOT EXISTS idx_categories_user
+    ON categories (user_id);
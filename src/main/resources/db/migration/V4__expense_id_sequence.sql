@@ -0,0 +1,9 @@
+-- Expense ids move from IDENTITY to a pooled sequence so inserts can be JDBC-batched.
+-- The increment matches @SequenceGenerator(allocationSize = 50); the first value
+-- handed out is the top of a block that starts right after the current max id.
+
+ALTER TABLE expenses ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE expenses ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS expenses_seq INCREMENT BY 50;
+SELECT setval('expenses_seq', (SELECT COALESCE(MAX(id), 0) FROM expenses) + 50, false);
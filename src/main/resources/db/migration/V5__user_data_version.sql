@@ -0,0 +1,2 @@
+-- Per-user data version behind the ETags of the read endpoints, bumped on every write
+ALTER TABLE users ADD COLUMN IF NOT EXISTS data_version BIGINT NOT NULL DEFAULT 0;
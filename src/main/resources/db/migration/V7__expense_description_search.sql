@@ -0,0 +1,9 @@
+-- Full-text search over expense descriptions. The tsvector is a stored generated column,
+-- so PostgreSQL keeps it in step with every insert and update. The 'simple' configuration
+-- (no stemming, no stop words) fits short free-form descriptions in any language and
+-- matches the to_tsquery('simple', ...) prefix queries issued by the application.
+ALTER TABLE expenses ADD COLUMN IF NOT EXISTS description_tsv tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', coalesce(description, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_expenses_description_tsv
+    ON expenses USING GIN (description_tsv);
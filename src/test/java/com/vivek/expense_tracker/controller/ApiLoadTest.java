@@ -0,0 +1,350 @@
+package com.vivek.expense_tracker.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vivek.expense_tracker.dto.BudgetRequest;
+import com.vivek.expense_tracker.dto.CategoryDto;
+import com.vivek.expense_tracker.dto.ExpenseRequest;
+import com.vivek.expense_tracker.dto.LoginRequest;
+import com.vivek.expense_tracker.dto.RegisterRequest;
+import com.vivek.expense_tracker.entity.PaymentMethod;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end latency of the REST API over real HTTP. Seeds users through
+ * /api/auth plus categories, budgets and imported expenses, then drives a weighted
+ * mix of reads and writes from concurrent clients and checks p95/p99 per endpoint
+ * against the configured SLOs.
+ *
+ * <p>Run with {@code ./mvnw -Ploadtest test}; sizes and SLOs are system properties,
+ * e.g. {@code -Dloadtest.clients=64 -Dloadtest.slo.p99Ms=400}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ApiLoadTest {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 20);
+    private static final int EXPENSES_PER_USER = Integer.getInteger("loadtest.expensesPerUser", 1_000);
+    private static final int CATEGORIES_PER_USER = 6;
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 32);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmupSeconds", 5);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 30);
+    private static final long SLO_P95_MS = Long.getLong("loadtest.slo.p95Ms", 250);
+    private static final long SLO_P99_MS = Long.getLong("loadtest.slo.p99Ms", 750);
+    private static final double SLO_MAX_ERROR_RATE = Double.parseDouble(
+            System.getProperty("loadtest.slo.maxErrorRate", "0.0"));
+    // Extra clients doing nothing but log in, the SLOs above must still hold for the API mix
+    private static final int LOGIN_STORM_CLIENTS = Integer.getInteger("loadtest.loginStormClients", 0);
+    private static final String LOGIN_STORM = "POST /api/auth/login (storm, no SLO)";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    // Weighted traffic mix, roughly what the frontend issues per page view
+    private final List<Endpoint> mix = List.of(
+            new Endpoint("GET /api/expenses", 25, s -> get(s, "/api/expenses?page=0&size=20")),
+            new Endpoint("GET /api/expenses?mode=cursor", 10, s -> get(s, "/api/expenses?mode=cursor&size=20")),
+            new Endpoint("POST /api/expenses", 10, s -> post(s, "/api/expenses", newExpense(s))),
+            new Endpoint("GET /api/dashboard/summary", 20, s -> get(s, "/api/dashboard/summary")),
+            new Endpoint("GET /api/dashboard/stats", 5, s -> get(s, "/api/dashboard/stats")),
+            new Endpoint("GET /api/dashboard/category-breakdown", 5,
+                    s -> get(s, "/api/dashboard/category-breakdown")),
+            new Endpoint("GET /api/dashboard/trends", 5, s -> get(s, "/api/dashboard/trends")),
+            new Endpoint("GET /api/dashboard/monthly-comparison", 5,
+                    s -> get(s, "/api/dashboard/monthly-comparison")),
+            new Endpoint("GET /api/budgets", 15, s -> get(s, "/api/budgets?year=" + LocalDate.now().getYear()
+                    + "&month=" + LocalDate.now().getMonthValue())));
+
+    @Test
+    void apiLatencyWithinSlo() throws Exception {
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            sessions.add(seedUser(i));
+        }
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long measureFrom = System.nanoTime() + Duration.ofSeconds(WARMUP_SECONDS).toNanos();
+        long deadline = measureFrom + Duration.ofSeconds(DURATION_SECONDS).toNanos();
+
+        List<Future<Map<String, Stats>>> results = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            Session session = sessions.get(i % USERS);
+            long seed = i;
+            results.add(clients.submit(() -> drive(session, new Random(seed), measureFrom, deadline)));
+        }
+
+        ExecutorService stormClients = Executors.newFixedThreadPool(Math.max(1, LOGIN_STORM_CLIENTS));
+        List<Future<Stats>> stormResults = new ArrayList<>();
+        for (int i = 0; i < LOGIN_STORM_CLIENTS; i++) {
+            int user = i % USERS;
+            stormResults.add(stormClients.submit(() -> loginStorm(user, measureFrom, deadline)));
+        }
+
+        Map<String, Stats> merged = new TreeMap<>();
+        for (Future<Map<String, Stats>> result : results) {
+            result.get().forEach((name, stats) -> merged.computeIfAbsent(name, key -> new Stats()).merge(stats));
+        }
+        clients.shutdown();
+
+        Stats storm = new Stats();
+        for (Future<Stats> result : stormResults) {
+            storm.merge(result.get());
+        }
+        stormClients.shutdown();
+
+        System.out.printf("%n%d users x %d expenses, %d clients, %ds measured%n",
+                USERS, EXPENSES_PER_USER, CLIENTS, DURATION_SECONDS);
+        System.out.printf("%-42s %8s %8s %8s %8s %8s %8s%n", "endpoint", "requests", "errors", "req/s",
+                "p50 ms", "p95 ms", "p99 ms");
+        List<Executable> checks = new ArrayList<>();
+        merged.forEach((name, stats) -> {
+            long p95 = stats.percentileMillis(95);
+            long p99 = stats.percentileMillis(99);
+            System.out.printf("%-42s %8d %8d %8.1f %8d %8d %8d%n", name, stats.requests(), stats.errors,
+                    stats.requests() / (double) DURATION_SECONDS, stats.percentileMillis(50), p95, p99);
+
+            checks.add(() -> assertTrue(p95 <= SLO_P95_MS, name + " p95 " + p95 + " ms > " + SLO_P95_MS + " ms"));
+            checks.add(() -> assertTrue(p99 <= SLO_P99_MS, name + " p99 " + p99 + " ms > " + SLO_P99_MS + " ms"));
+            checks.add(() -> assertTrue(stats.errorRate() <= SLO_MAX_ERROR_RATE,
+                    name + " error rate " + stats.errorRate() + " > " + SLO_MAX_ERROR_RATE));
+        });
+        if (LOGIN_STORM_CLIENTS > 0) {
+            // Errors here are mostly 503s from the bounded password hashing pool, which is the point
+            System.out.printf("%-42s %8d %8d %8.1f %8d %8d %8d%n", LOGIN_STORM, storm.requests(), storm.errors,
+                    storm.requests() / (double) DURATION_SECONDS, storm.percentileMillis(50),
+                    storm.percentileMillis(95), storm.percentileMillis(99));
+        }
+        assertAll("API latency SLOs", checks);
+    }
+
+    private Stats loginStorm(int user, long measureFrom, long deadline) throws Exception {
+        LoginRequest login = new LoginRequest();
+        login.setEmail("load" + user + "@example.com");
+        login.setPassword("password123");
+        HttpRequest request = post(null, "/api/auth/login", login);
+        Stats stats = new Stats();
+
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                ok = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() / 100 == 2;
+            } catch (IOException e) {
+                ok = false;
+            }
+            if (start >= measureFrom) {
+                stats.record(System.nanoTime() - start, ok);
+            }
+        }
+        return stats;
+    }
+
+    private Map<String, Stats> drive(Session session, Random random, long measureFrom, long deadline) {
+        int totalWeight = mix.stream().mapToInt(Endpoint::weight).sum();
+        Map<String, Stats> stats = new HashMap<>();
+
+        while (System.nanoTime() < deadline) {
+            int pick = random.nextInt(totalWeight);
+            Endpoint endpoint = mix.get(0);
+            for (Endpoint candidate : mix) {
+                pick -= candidate.weight();
+                if (pick < 0) {
+                    endpoint = candidate;
+                    break;
+                }
+            }
+
+            HttpRequest request = endpoint.request().apply(session.withRandom(random));
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                ok = response.statusCode() / 100 == 2;
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            if (start >= measureFrom) {
+                stats.computeIfAbsent(endpoint.name(), key -> new Stats()).record(elapsed, ok);
+            }
+        }
+        return stats;
+    }
+
+    private Session seedUser(int index) throws Exception {
+        RegisterRequest register = new RegisterRequest();
+        register.setName("Load User " + index);
+        register.setEmail("load" + index + "@example.com");
+        register.setPassword("password123");
+        send(post(null, "/api/auth/register", register));
+
+        // Log in as well, so the measured traffic uses a token from the login path
+        LoginRequest login = new LoginRequest();
+        login.setEmail(register.getEmail());
+        login.setPassword(register.getPassword());
+        String token = send(post(null, "/api/auth/login", login)).get("token").asText();
+        Session session = new Session(token, new ArrayList<>(), null);
+
+        LocalDate today = LocalDate.now();
+        for (int c = 0; c < CATEGORIES_PER_USER; c++) {
+            CategoryDto category = new CategoryDto();
+            category.setName("Category " + c);
+            category.setColor("#FFFFFF");
+            category.setIcon("tag");
+            long categoryId = send(post(session, "/api/categories", category)).get("id").asLong();
+            session.categoryIds().add(categoryId);
+
+            BudgetRequest budget = new BudgetRequest();
+            budget.setCategoryId(categoryId);
+            budget.setMonthlyLimit(BigDecimal.valueOf(500));
+            budget.setYear(today.getYear());
+            budget.setMonth(today.getMonthValue());
+            send(post(session, "/api/budgets", budget));
+        }
+
+        Random random = new Random(index);
+        StringBuilder csv = new StringBuilder("date,amount,categoryId,description,paymentMethod\n");
+        for (int e = 0; e < EXPENSES_PER_USER; e++) {
+            csv.append(today.minusDays(random.nextInt(365))).append(',')
+                    .append(BigDecimal.valueOf(100 + random.nextInt(20_000), 2)).append(',')
+                    .append(session.categoryIds().get(e % CATEGORIES_PER_USER)).append(',')
+                    .append("Seeded expense ").append(e).append(",CARD\n");
+        }
+        send(HttpRequest.newBuilder(uri("/api/expenses/import"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "text/csv")
+                .POST(HttpRequest.BodyPublishers.ofString(csv.toString()))
+                .build());
+        return session;
+    }
+
+    private ExpenseRequest newExpense(Session session) {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setAmount(BigDecimal.valueOf(100 + session.random().nextInt(10_000), 2));
+        request.setCategoryId(session.categoryIds().get(session.random().nextInt(session.categoryIds().size())));
+        request.setDate(LocalDate.now().minusDays(session.random().nextInt(30)));
+        request.setDescription("Load test expense");
+        request.setPaymentMethod(PaymentMethod.UPI);
+        return request;
+    }
+
+    private JsonNode send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " failed with "
+                    + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpRequest get(Session session, String path) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + session.token())
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(Session session, String path, Object body) {
+        try {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+            if (session != null) {
+                builder.header("Authorization", "Bearer " + session.token());
+            }
+            return builder.build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private record Endpoint(String name, int weight, Function<Session, HttpRequest> request) {
+    }
+
+    private record Session(String token, List<Long> categoryIds, Random random) {
+
+        Session withRandom(Random random) {
+            return new Session(token, categoryIds, random);
+        }
+    }
+
+    private static final class Stats {
+        private final List<Long> latencies = new ArrayList<>();
+        private long errors;
+
+        void record(long nanos, boolean ok) {
+            latencies.add(nanos);
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void merge(Stats other) {
+            latencies.addAll(other.latencies);
+            errors += other.errors;
+        }
+
+        long requests() {
+            return latencies.size();
+        }
+
+        double errorRate() {
+            return latencies.isEmpty() ? 0.0 : errors / (double) latencies.size();
+        }
+
+        // Nearest-rank percentile
+        long percentileMillis(int percentile) {
+            if (latencies.isEmpty()) {
+                return 0;
+            }
+            List<Long> sorted = new ArrayList<>(latencies);
+            sorted.sort(null);
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+            return Duration.ofNanos(sorted.get(Math.max(rank, 1) - 1)).toMillis();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.vivek.expense_tracker.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vivek.expense_tracker.dto.LoginRequest;
+import com.vivek.expense_tracker.dto.RefreshRequest;
 import com.vivek.expense_tracker.dto.RegisterRequest;
 import com.vivek.expense_tracker.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,7 +15,10 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -99,4 +103,59 @@ public class AuthControllerIntegrationTest {
                 .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isForbidden()); // 403 based on observation
     }
+
+    @Test
+    void refresh_RotatesTokenAndRejectsReuse() throws Exception {
+        RegisterRequest registerRequest = new RegisterRequest();
+        registerRequest.setName("Integration User");
+        registerRequest.setEmail("integration@example.com");
+        registerRequest.setPassword("password123");
+
+        String registered = mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.refreshToken").exists())
+                .andReturn().getResponse().getContentAsString();
+        String firstToken = (String) objectMapper.readValue(registered, Map.class).get("refreshToken");
+
+        RefreshRequest refreshRequest = new RefreshRequest();
+        refreshRequest.setRefreshToken(firstToken);
+
+        // Refresh
+        String refreshed = mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(refreshRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").exists())
+                .andExpect(jsonPath("$.email").value("integration@example.com"))
+                .andExpect(jsonPath("$.refreshToken").value(not(firstToken)))
+                .andReturn().getResponse().getContentAsString();
+        String secondToken = (String) objectMapper.readValue(refreshed, Map.class).get("refreshToken");
+
+        // The rotated token is spent
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(refreshRequest)))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid or expired refresh token"));
+
+        // Within the reuse grace the replacement stays valid
+        refreshRequest.setRefreshToken(secondToken);
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(refreshRequest)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void refresh_UnknownToken() throws Exception {
+        RefreshRequest refreshRequest = new RefreshRequest();
+        refreshRequest.setRefreshToken("not-a-real-token");
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(refreshRequest)))
+                .andExpect(status().isUnauthorized());
+    }
 }
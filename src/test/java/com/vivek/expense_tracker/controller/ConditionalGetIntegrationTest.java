@@ -0,0 +1,92 @@
+package com.vivek.expense_tracker.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vivek.expense_tracker.dto.CategoryDto;
+import com.vivek.expense_tracker.dto.RegisterRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+class ConditionalGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String bearer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        RegisterRequest register = new RegisterRequest();
+        register.setName("Etag User");
+        register.setEmail("etag@example.com");
+        register.setPassword("password123");
+
+        String body = mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(register)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        bearer = "Bearer " + objectMapper.readTree(body).get("token").asText();
+    }
+
+    @Test
+    void unchangedData_Returns304() throws Exception {
+        String etag = mockMvc.perform(get("/api/dashboard/stats").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/dashboard/stats")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void write_ChangesEtag() throws Exception {
+        String before = mockMvc.perform(get("/api/categories").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        CategoryDto category = new CategoryDto();
+        category.setName("Pets");
+        category.setColor("#FFFFFF");
+        category.setIcon("paw");
+        mockMvc.perform(post("/api/categories")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(category)))
+                .andExpect(status().isCreated());
+
+        String after = mockMvc.perform(get("/api/categories")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(before, after);
+    }
+}
@@ -0,0 +1,78 @@
+package com.vivek.expense_tracker.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vivek.expense_tracker.dto.ExpenseListResponse;
+import com.vivek.expense_tracker.dto.ExpenseResponse;
+import com.vivek.expense_tracker.entity.PaymentMethod;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Payload size of a 500-row expense page, Spring's PageImpl against the lean
+ * list response, plain and gzipped. Serialization time is in the JMH
+ * ExpensePageSerializationBenchmark.
+ */
+class ExpenseListPayloadTest {
+
+    private static final int ROWS = 500;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void listResponse_ListsEachCategoryOnce() throws Exception {
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsBytes(ExpenseListResponse.from(page())));
+
+        assertEquals(ROWS, json.get("content").size());
+        assertEquals(8, json.get("categories").size());
+        assertEquals("Category 3", json.get("categories").get("3").get("name").asText());
+        assertEquals(3, json.get("content").get(3).get("categoryId").asLong());
+        assertFalse(json.get("content").get(0).has("categoryName"));
+        assertEquals(ROWS * 20L, json.get("totalElements").asLong());
+        assertEquals(20, json.get("totalPages").asInt());
+        assertFalse(json.has("pageable"));
+    }
+
+    @Test
+    void listResponse_IsSmallerThanPageImpl() throws Exception {
+        Page<ExpenseResponse> page = page();
+        byte[] pageImpl = objectMapper.writeValueAsBytes(page);
+        byte[] lean = objectMapper.writeValueAsBytes(ExpenseListResponse.from(page));
+
+        assertTrue(lean.length < pageImpl.length * 0.8, "list response should drop the repeated category fields");
+        assertTrue(gzip(lean) < lean.length / 4, "the list response should compress well");
+    }
+
+    private static Page<ExpenseResponse> page() {
+        List<ExpenseResponse> rows = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.of(2024, 5, 10, 12, 30);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new ExpenseResponse((long) i, BigDecimal.valueOf(1_000 + i, 2), (long) (i % 8),
+                    "Category " + i % 8, "#FF6B6B", "utensils", LocalDate.of(2024, 5, 1 + i % 28),
+                    "Expense " + i, PaymentMethod.CARD, now, now));
+        }
+        return new PageImpl<>(rows, PageRequest.of(0, ROWS), ROWS * 20L);
+    }
+
+    private static int gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream compressed = new GZIPOutputStream(out)) {
+            compressed.write(body);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,124 @@
+package com.vivek.expense_tracker.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vivek.expense_tracker.config.SqlStatementStats;
+import com.vivek.expense_tracker.dto.BudgetRequest;
+import com.vivek.expense_tracker.dto.CategoryDto;
+import com.vivek.expense_tracker.dto.RegisterRequest;
+import com.vivek.expense_tracker.repository.UserRepository;
+import com.vivek.expense_tracker.support.SqlStatements;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+class SqlStatementCountIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String bearer;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        RegisterRequest register = new RegisterRequest();
+        register.setName("Sql User");
+        register.setEmail("sql@example.com");
+        register.setPassword("password123");
+
+        String body = mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(register)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        bearer = "Bearer " + objectMapper.readTree(body).get("token").asText();
+        userId = userRepository.findByEmail("sql@example.com").orElseThrow().getId();
+    }
+
+    @Test
+    void listBudgets_ExecutesAtMostTwoStatementsWhateverTheBudgetCount() throws Exception {
+        createBudget("Food");
+        long withOne = listBudgets();
+
+        for (String name : new String[] { "Travel", "Bills", "Rent", "Gym" }) {
+            createBudget(name);
+        }
+        long withFive = listBudgets();
+
+        assertEquals(withOne, withFive);
+    }
+
+    @Test
+    void count_FlagsRepeatedStatementShapes() {
+        SqlStatementStats stats = SqlStatements.count(() -> {
+            for (int i = 0; i < 6; i++) {
+                userRepository.findDataVersion(userId);
+            }
+        });
+
+        Map<String, Long> repeated = stats.getRepeatedShapes(5);
+        assertEquals(6, stats.getStatementCount());
+        assertEquals(1, repeated.size());
+        assertEquals(6L, repeated.values().iterator().next());
+    }
+
+    private long listBudgets() throws Exception {
+        return SqlStatements.of(mockMvc.perform(get("/api/budgets")
+                .param("year", "2024")
+                .param("month", "5")
+                .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.atMost(2))
+                .andExpect(SqlStatements.noRepeatedStatements())
+                .andReturn()).getStatementCount();
+    }
+
+    private void createBudget(String categoryName) throws Exception {
+        CategoryDto category = new CategoryDto();
+        category.setName(categoryName);
+        category.setColor("#FFFFFF");
+        category.setIcon("tag");
+        String body = mockMvc.perform(post("/api/categories")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(category)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        BudgetRequest budget = new BudgetRequest();
+        budget.setCategoryId(objectMapper.readTree(body).get("id").asLong());
+        budget.setMonthlyLimit(new BigDecimal("100.00"));
+        budget.setYear(2024);
+        budget.setMonth(5);
+        mockMvc.perform(post("/api/budgets")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(budget)))
+                .andExpect(status().isCreated());
+    }
+}
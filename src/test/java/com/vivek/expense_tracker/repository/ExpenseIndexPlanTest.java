@@ -0,0 +1,113 @@
+package com.vivek.expense_tracker.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the Flyway migrations against PostgreSQL, seeds a realistic volume of
+ * data and checks the planner picks the access-path indexes for the
+ * repository's query shapes.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class ExpenseIndexPlanTest {
+
+    private static final int USERS = 50;
+    private static final int EXPENSES_PER_USER = 4_000;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // The container and context are shared by all tests, seed them once
+    private static boolean seeded;
+
+    private void seed() {
+        if (seeded) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO users (email, password, name, created_at) " +
+                "SELECT 'user' || g || '@example.com', 'x', 'User ' || g, now() FROM generate_series(1, ?) g",
+                USERS);
+        jdbcTemplate.update("INSERT INTO expenses (amount, category_id, date, description, payment_method, user_id, " +
+                "created_at, updated_at) " +
+                "SELECT (random() * 100)::numeric(10, 2), c.id, current_date - (g % 730), 'Expense ' || g, 'CARD', " +
+                "u.id, now(), now() " +
+                "FROM users u CROSS JOIN generate_series(1, ?) g " +
+                "JOIN categories c ON c.user_id IS NULL AND c.id = (SELECT MIN(id) FROM categories) + (g % 8)",
+                EXPENSES_PER_USER);
+        jdbcTemplate.update("INSERT INTO budgets (user_id, category_id, monthly_limit, month) " +
+                "SELECT u.id, c.id, 500, to_char(current_date - (m * 30), 'YYYY-MM') " +
+                "FROM users u CROSS JOIN categories c CROSS JOIN generate_series(0, 23) m " +
+                "WHERE c.user_id IS NULL ON CONFLICT DO NOTHING");
+        jdbcTemplate.update("INSERT INTO monthly_spend (user_id, category_id, month, total, expense_count) " +
+                "SELECT user_id, category_id, to_char(date, 'YYYY-MM'), SUM(amount), COUNT(*) FROM expenses " +
+                "GROUP BY user_id, category_id, to_char(date, 'YYYY-MM')");
+        jdbcTemplate.execute("ANALYZE");
+        seeded = true;
+    }
+
+    @Test
+    void expenseList_UsesUserDateIndex() {
+        seed();
+        assertUsesIndex("SELECT e.id, e.amount, c.name FROM expenses e JOIN categories c ON c.id = e.category_id " +
+                "WHERE e.user_id = 7 ORDER BY e.date DESC LIMIT 10", "idx_expenses_user_date");
+    }
+
+    @Test
+    void keysetPage_UsesUserDateIndex() {
+        seed();
+        assertUsesIndex("SELECT e.id FROM expenses e WHERE e.user_id = 7 " +
+                "AND e.date BETWEEN DATE '0001-01-01' AND DATE '9999-12-31' " +
+                "AND (e.date < current_date - 300 OR (e.date = current_date - 300 AND e.id < 1000000)) " +
+                "ORDER BY e.date DESC, e.id DESC LIMIT 11", "idx_expenses_user_date");
+    }
+
+    @Test
+    void dateRangeSum_UsesUserDateIndex() {
+        seed();
+        assertUsesIndex("SELECT COALESCE(SUM(amount), 0) FROM expenses WHERE user_id = 7 " +
+                "AND date BETWEEN current_date - 30 AND current_date", "idx_expenses_user_date");
+    }
+
+    @Test
+    void categoryFilteredList_UsesUserCategoryIndex() {
+        seed();
+        assertUsesIndex("SELECT e.id FROM expenses e WHERE e.user_id = 7 " +
+                "AND e.category_id = (SELECT MIN(id) FROM categories) ORDER BY e.date DESC LIMIT 10",
+                "idx_expenses_user_category_date");
+    }
+
+    @Test
+    void budgetsOfMonth_UsesUserMonthIndex() {
+        seed();
+        assertUsesIndex("SELECT b.id FROM budgets b WHERE b.user_id = 7 AND b.month = to_char(current_date, 'YYYY-MM')",
+                "idx_budgets_user_month");
+    }
+
+    @Test
+    void monthlyTotals_UseRollupIndex() {
+        seed();
+        assertUsesIndex("SELECT COALESCE(SUM(total), 0) FROM monthly_spend WHERE user_id = 7 " +
+                "AND month = to_char(current_date, 'YYYY-MM')", "idx_monthly_spend_user_month");
+    }
+
+    private void assertUsesIndex(String sql, String index) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        String planText = String.join("\n", plan);
+        assertTrue(planText.contains(index), () -> "Expected " + index + " in plan:\n" + planText);
+    }
+}
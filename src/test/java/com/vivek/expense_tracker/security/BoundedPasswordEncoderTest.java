@@ -0,0 +1,125 @@
+package com.vivek.expense_tracker.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void encodeAndMatches_RunOnThePoolAndAreTimed() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 4, meterRegistry);
+
+        String hash = encoder.encode("password123");
+
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(1, meterRegistry.get("password.hashing.time").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("password.hashing.time").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void fullQueue_RejectsImmediately() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(started, release), 1, 1, meterRegistry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        while (meterRegistry.get("password.hashing.queue.depth").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(PasswordHashingRejectedException.class, () -> encoder.encode("c"));
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("b", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void fullQueue_KnownAndUnknownEmailsRejectedAlike() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Only encoding "block" waits, the provider's own dummy hash goes straight through
+        encoder = new BoundedPasswordEncoder(new GatedEncoder(new BlockingEncoder(started, release)), 1, 1,
+                meterRegistry);
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(new InMemoryUserDetailsManager(
+                User.withUsername("known@example.com").password("secret").roles("USER").build()));
+        provider.setPasswordEncoder(encoder);
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(
+                new UsernamePasswordAuthenticationToken("unknown@example.com", "secret")));
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("block"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("block"));
+        while (meterRegistry.get("password.hashing.queue.depth").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // Password check for a known email, dummy hash for an unknown one: same exception, same 503
+        assertThrows(PasswordHashingRejectedException.class, () -> provider.authenticate(
+                new UsernamePasswordAuthenticationToken("known@example.com", "secret")));
+        assertThrows(PasswordHashingRejectedException.class, () -> provider.authenticate(
+                new UsernamePasswordAuthenticationToken("unknown@example.com", "secret")));
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+    }
+
+    private record BlockingEncoder(CountDownLatch started, CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+
+    private record GatedEncoder(BlockingEncoder blocking) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "block".contentEquals(rawPassword) ? blocking.encode(rawPassword) : rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return blocking.matches(rawPassword, encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.vivek.expense_tracker.security;
+
+import com.vivek.expense_tracker.config.JwtProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private JwtTokenProvider tokenProvider;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("expense-tracker-secret-key-for-jwt-token-generation-minimum-32-characters-required");
+        properties.setExpiration(86400000);
+        meterRegistry = new SimpleMeterRegistry();
+        tokenProvider = new JwtTokenProvider(properties, meterRegistry);
+    }
+
+    @Test
+    void generateTokenForUser_CarriesUserId() {
+        String token = tokenProvider.generateTokenForUser(42L, "test@example.com");
+
+        UserPrincipal principal = tokenProvider.getPrincipalFromToken(token);
+
+        assertEquals(42L, principal.getId());
+        assertEquals("test@example.com", principal.getUsername());
+        assertNull(principal.getPassword());
+    }
+
+    @Test
+    void generateToken_FromAuthenticatedPrincipal() {
+        UserPrincipal userPrincipal = new UserPrincipal(7L, "test@example.com", "encodedPassword");
+        String token = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(userPrincipal, null, userPrincipal.getAuthorities()));
+
+        assertTrue(tokenProvider.validateToken(token));
+        assertEquals(7L, tokenProvider.getPrincipalFromToken(token).getId());
+    }
+
+    @Test
+    void validateToken_RejectsTamperedToken() {
+        String token = tokenProvider.generateTokenForUser(1L, "test@example.com");
+
+        assertFalse(tokenProvider.validateToken(token + "x"));
+    }
+
+    @Test
+    void parseClaims_RepeatedTokenServedFromCache() {
+        String token = tokenProvider.generateTokenForUser(1L, "test@example.com");
+
+        tokenProvider.validateToken(token);
+        tokenProvider.getPrincipalFromToken(token);
+        tokenProvider.getUsernameFromToken(token);
+
+        assertEquals(1.0, meterRegistry.counter("jwt.token.cache.requests", "result", "miss").count());
+        assertEquals(2.0, meterRegistry.counter("jwt.token.cache.requests", "result", "hit").count());
+    }
+
+    @Test
+    void parseClaims_InvalidTokenIsNeverCached() {
+        String token = tokenProvider.generateTokenForUser(1L, "test@example.com") + "x";
+
+        assertTrue(tokenProvider.resolvePrincipal(token).isEmpty());
+        assertTrue(tokenProvider.resolvePrincipal(token).isEmpty());
+
+        assertEquals(0.0, meterRegistry.counter("jwt.token.cache.requests", "result", "hit").count());
+        assertEquals(0.0, meterRegistry.get("jwt.token.cache.size").gauge().value());
+    }
+}
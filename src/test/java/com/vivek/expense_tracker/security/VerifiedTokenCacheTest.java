@@ -0,0 +1,54 @@
+package com.vivek.expense_tracker.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    @Test
+    void get_DropsExpiredEntry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        ByteBuffer key = VerifiedTokenCache.digest("token");
+        cache.put(key, claims(1_000));
+
+        assertNotNull(cache.get(key, 999));
+        assertNull(cache.get(key, 1_000));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_StaysWithinBoundUnderConcurrentWriters() throws Exception {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int thread = 0; thread < 8; thread++) {
+            int offset = thread * 10_000;
+            executor.submit(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    cache.put(VerifiedTokenCache.digest("token-" + (offset + i)), claims(expiresAt));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // One more write after the writers are done sweeps any overshoot
+        cache.put(VerifiedTokenCache.digest("last"), claims(expiresAt));
+        assertTrue(cache.size() <= 100, "size " + cache.size());
+        assertNotNull(cache.get(VerifiedTokenCache.digest("last"), expiresAt - 1));
+    }
+
+    private static Claims claims(long expiresAt) {
+        return Jwts.claims().subject("test@example.com").expiration(new Date(expiresAt)).build();
+    }
+}
@@ -2,10 +2,13 @@ package com.vivek.expense_tracker.service;
 
 import com.vivek.expense_tracker.dto.AuthResponse;
 import com.vivek.expense_tracker.dto.LoginRequest;
+import com.vivek.expense_tracker.dto.RefreshRequest;
 import com.vivek.expense_tracker.dto.RegisterRequest;
 import com.vivek.expense_tracker.entity.User;
 import com.vivek.expense_tracker.repository.UserRepository;
+import com.vivek.expense_tracker.security.InvalidRefreshTokenException;
 import com.vivek.expense_tracker.security.JwtTokenProvider;
+import com.vivek.expense_tracker.security.PasswordHashingRejectedException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +16,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -38,6 +43,9 @@ class AuthServiceTest {
     @Mock
     private AuthenticationManager authenticationManager;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @InjectMocks
     private AuthService authService;
 
@@ -68,12 +76,14 @@ class AuthServiceTest {
         when(userRepository.existsByEmail(anyString())).thenReturn(false);
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(user);
-        when(tokenProvider.generateTokenFromUsername(anyString())).thenReturn("jwtToken");
+        when(tokenProvider.generateTokenForUser(anyLong(), anyString())).thenReturn("jwtToken");
+        when(refreshTokenService.issue(1L)).thenReturn("refreshToken");
 
         AuthResponse response = authService.register(registerRequest);
 
         assertNotNull(response);
         assertEquals("jwtToken", response.getToken());
+        assertEquals("refreshToken", response.getRefreshToken());
         assertEquals(user.getEmail(), response.getEmail());
         verify(userRepository).save(any(User.class));
     }
@@ -93,11 +103,13 @@ class AuthServiceTest {
                 .thenReturn(authentication);
         when(tokenProvider.generateToken(any(Authentication.class))).thenReturn("jwtToken");
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+        when(refreshTokenService.issue(1L)).thenReturn("refreshToken");
 
         AuthResponse response = authService.login(loginRequest);
 
         assertNotNull(response);
         assertEquals("jwtToken", response.getToken());
+        assertEquals("refreshToken", response.getRefreshToken());
         assertEquals(user.getEmail(), response.getEmail());
     }
 
@@ -111,4 +123,49 @@ class AuthServiceTest {
 
         assertThrows(RuntimeException.class, () -> authService.login(loginRequest));
     }
+
+    @Test
+    void login_WrappedHashingRejectionIsRethrownAsIs() {
+        PasswordHashingRejectedException rejected = new PasswordHashingRejectedException();
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new InternalAuthenticationServiceException(rejected.getMessage(), rejected));
+
+        assertSame(rejected, assertThrows(PasswordHashingRejectedException.class,
+                () -> authService.login(loginRequest)));
+        verifyNoInteractions(tokenProvider, refreshTokenService);
+    }
+
+    @Test
+    void login_BadCredentialsPassThrough() {
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+
+        assertThrows(BadCredentialsException.class, () -> authService.login(loginRequest));
+    }
+
+    @Test
+    void refresh_Success() {
+        RefreshRequest request = new RefreshRequest();
+        request.setRefreshToken("oldRefreshToken");
+        when(refreshTokenService.rotate("oldRefreshToken"))
+                .thenReturn(new RefreshTokenService.Rotation(user, "newRefreshToken"));
+        when(tokenProvider.generateTokenForUser(1L, "test@example.com")).thenReturn("jwtToken");
+
+        AuthResponse response = authService.refresh(request);
+
+        assertEquals("jwtToken", response.getToken());
+        assertEquals("newRefreshToken", response.getRefreshToken());
+        assertEquals(user.getId(), response.getId());
+        verifyNoInteractions(authenticationManager, passwordEncoder);
+    }
+
+    @Test
+    void refresh_InvalidToken() {
+        RefreshRequest request = new RefreshRequest();
+        request.setRefreshToken("unknown");
+        when(refreshTokenService.rotate("unknown")).thenThrow(new InvalidRefreshTokenException());
+
+        assertThrows(InvalidRefreshTokenException.class, () -> authService.refresh(request));
+        verifyNoInteractions(tokenProvider);
+    }
 }
@@ -0,0 +1,105 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.dto.BudgetAlert;
+import com.vivek.expense_tracker.dto.BudgetUsageView;
+import com.vivek.expense_tracker.repository.BudgetRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetAlertServiceTest {
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private UserEventHub userEventHub;
+
+    private BudgetAlertService budgetAlertService;
+
+    @BeforeEach
+    void setUp() {
+        budgetAlertService = new BudgetAlertService(budgetRepository, userEventHub, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void crossedThreshold_ReportsHighestLevelReached() {
+        BigDecimal limit = new BigDecimal("100.00");
+
+        assertEquals(80, BudgetAlertService.crossedThreshold(limit, new BigDecimal("79.99"), new BigDecimal("80.00")));
+        assertEquals(100, BudgetAlertService.crossedThreshold(limit, new BigDecimal("85"), new BigDecimal("100")));
+        assertEquals(100, BudgetAlertService.crossedThreshold(limit, new BigDecimal("10"), new BigDecimal("150")));
+        assertNull(BudgetAlertService.crossedThreshold(limit, new BigDecimal("80"), new BigDecimal("95")));
+        assertNull(BudgetAlertService.crossedThreshold(limit, new BigDecimal("100"), new BigDecimal("120")));
+        assertNull(BudgetAlertService.crossedThreshold(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.TEN));
+    }
+
+    @Test
+    void spendChanged_PublishesAlertWhenCrossing() {
+        when(userEventHub.hasSubscribers(1L, BudgetAlertService.EVENT_NAME)).thenReturn(true);
+        BudgetUsageView usage = usage(new BigDecimal("200.00"), new BigDecimal("170.00"));
+        when(budgetRepository.findUsageByUserIdAndCategoryIdAndMonth(1L, 2L, "2024-05"))
+                .thenReturn(Optional.of(usage));
+
+        budgetAlertService.spendChanged(1L, 2L, "2024-05", new BigDecimal("30.00"));
+
+        ArgumentCaptor<BudgetAlert> alert = ArgumentCaptor.forClass(BudgetAlert.class);
+        verify(userEventHub).publish(eq(1L), eq(BudgetAlertService.EVENT_NAME), alert.capture());
+        assertEquals(80, alert.getValue().getThreshold());
+        assertEquals(9L, alert.getValue().getBudgetId());
+        assertEquals("2024-05", alert.getValue().getMonth());
+        assertEquals(85.0, alert.getValue().getPercentageUsed());
+    }
+
+    @Test
+    void spendChanged_StaysQuietBelowOrAlreadyPastThreshold() {
+        when(userEventHub.hasSubscribers(1L, BudgetAlertService.EVENT_NAME)).thenReturn(true);
+        BudgetUsageView usage = usage(new BigDecimal("200.00"), new BigDecimal("175.00"));
+        when(budgetRepository.findUsageByUserIdAndCategoryIdAndMonth(1L, 2L, "2024-05"))
+                .thenReturn(Optional.of(usage));
+
+        budgetAlertService.spendChanged(1L, 2L, "2024-05", new BigDecimal("5.00"));
+
+        verify(userEventHub, never()).publish(any(), any(), any());
+    }
+
+    @Test
+    void spendChanged_SkipsLookupWhenSpendDrops() {
+        budgetAlertService.spendChanged(1L, 2L, "2024-05", new BigDecimal("-30.00"));
+
+        verifyNoInteractions(budgetRepository, userEventHub);
+    }
+
+    @Test
+    void spendChanged_SkipsLookupWithoutSubscribers() {
+        when(userEventHub.hasSubscribers(1L, BudgetAlertService.EVENT_NAME)).thenReturn(false);
+
+        budgetAlertService.spendChanged(1L, 2L, "2024-05", new BigDecimal("30.00"));
+
+        verifyNoInteractions(budgetRepository);
+        verify(userEventHub, never()).publish(any(), any(), any());
+    }
+
+    private static BudgetUsageView usage(BigDecimal limit, BigDecimal totalSpent) {
+        BudgetUsageView usage = mock(BudgetUsageView.class);
+        lenient().when(usage.getId()).thenReturn(9L);
+        lenient().when(usage.getCategoryId()).thenReturn(2L);
+        lenient().when(usage.getCategoryName()).thenReturn("Food");
+        when(usage.getMonthlyLimit()).thenReturn(limit);
+        when(usage.getTotalSpent()).thenReturn(totalSpent);
+        return usage;
+    }
+}
@@ -0,0 +1,139 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.dto.BudgetResponse;
+import com.vivek.expense_tracker.dto.ExpenseRequest;
+import com.vivek.expense_tracker.entity.Budget;
+import com.vivek.expense_tracker.entity.Category;
+import com.vivek.expense_tracker.entity.PaymentMethod;
+import com.vivek.expense_tracker.entity.User;
+import com.vivek.expense_tracker.repository.BudgetRepository;
+import com.vivek.expense_tracker.repository.CategoryRepository;
+import com.vivek.expense_tracker.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BudgetServiceIntegrationTest {
+
+    private static final LocalDate MONTH_DAY = LocalDate.of(2024, 5, 10);
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Budget User");
+        user.setEmail("budgets@example.com");
+        user.setPassword("encodedPassword");
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void getBudgetsByMonth_StatementCountIndependentOfBudgetCount() {
+        addBudgetsWithSpending(3);
+        long fewBudgets = countStatements();
+
+        addBudgetsWithSpending(12);
+        long manyBudgets = countStatements();
+
+        assertEquals(1, fewBudgets);
+        assertEquals(fewBudgets, manyBudgets);
+    }
+
+    @Test
+    void getBudgetsByMonth_IncludesSpendingAndUnspentBudgets() {
+        addBudgetsWithSpending(2);
+        Category unspent = saveCategory("Unspent");
+        saveBudget(unspent);
+
+        List<BudgetResponse> budgets = budgetService.getBudgetsByMonth(user.getId(), 2024, 5);
+
+        assertEquals(3, budgets.size());
+        BudgetResponse unspentBudget = budgets.stream()
+                .filter(b -> b.getCategoryId().equals(unspent.getId()))
+                .findFirst().orElseThrow();
+        assertEquals(0, BigDecimal.ZERO.compareTo(unspentBudget.getTotalSpent()));
+        assertEquals(0.0, unspentBudget.getPercentageUsed());
+    }
+
+    private long countStatements() {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        budgetService.getBudgetsByMonth(user.getId(), 2024, 5);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void addBudgetsWithSpending(int count) {
+        for (int i = 0; i < count; i++) {
+            Category category = saveCategory("Category " + System.nanoTime());
+            saveBudget(category);
+
+            ExpenseRequest request = new ExpenseRequest();
+            request.setAmount(BigDecimal.valueOf(25));
+            request.setCategoryId(category.getId());
+            request.setDate(MONTH_DAY);
+            request.setPaymentMethod(PaymentMethod.CARD);
+            expenseService.createExpense(user.getId(), request);
+        }
+    }
+
+    private Category saveCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        category.setColor("#FFFFFF");
+        category.setIcon("tag");
+        category.setUser(user);
+        return categoryRepository.save(category);
+    }
+
+    private void saveBudget(Category category) {
+        Budget budget = new Budget();
+        budget.setUser(user);
+        budget.setCategory(category);
+        budget.setMonthlyLimit(BigDecimal.valueOf(100));
+        budget.setMonth("2024-05");
+        budgetRepository.save(budget);
+    }
+}
@@ -7,7 +7,7 @@ import com.vivek.expense_tracker.entity.Category;
 import com.vivek.expense_tracker.entity.User;
 import com.vivek.expense_tracker.repository.BudgetRepository;
 import com.vivek.expense_tracker.repository.CategoryRepository;
-import com.vivek.expense_tracker.repository.ExpenseRepository;
+import com.vivek.expense_tracker.repository.MonthlySpendRepository;
 import com.vivek.expense_tracker.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,7 +18,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.access.AccessDeniedException;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,7 +33,7 @@ class BudgetServiceTest {
     private BudgetRepository budgetRepository;
 
     @Mock
-    private ExpenseRepository expenseRepository;
+    private MonthlySpendRepository monthlySpendRepository;
 
     @Mock
     private CategoryRepository categoryRepository;
@@ -42,6 +41,12 @@ class BudgetServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private DataVersionService dataVersionService;
+
+    @Mock
+    private CategoryCache categoryCache;
+
     @InjectMocks
     private BudgetService budgetService;
 
@@ -78,12 +83,11 @@ class BudgetServiceTest {
     @Test
     void createBudget_Success() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(categoryCache.requireUsable(1L, 1L)).thenReturn(CategoryCache.toDto(category));
         when(budgetRepository.findByUserIdAndCategoryIdAndMonth(anyLong(), anyLong(), anyString()))
                 .thenReturn(Optional.empty());
         when(budgetRepository.save(any(Budget.class))).thenReturn(budget);
-        when(expenseRepository.getTotalByUserAndCategoryAndDateRange(anyLong(), anyLong(), any(LocalDate.class),
-                any(LocalDate.class)))
+        when(monthlySpendRepository.getTotalByUserAndCategoryAndMonth(anyLong(), anyLong(), anyString()))
                 .thenReturn(BigDecimal.ZERO);
 
         BudgetResponse response = budgetService.createBudget(1L, budgetRequest);
@@ -96,7 +100,7 @@ class BudgetServiceTest {
     @Test
     void createBudget_Duplicate() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(categoryCache.requireUsable(1L, 1L)).thenReturn(CategoryCache.toDto(category));
         when(budgetRepository.findByUserIdAndCategoryIdAndMonth(anyLong(), anyLong(), anyString()))
                 .thenReturn(Optional.of(budget));
 
@@ -107,8 +111,7 @@ class BudgetServiceTest {
     void updateBudget_Success() {
         when(budgetRepository.findById(1L)).thenReturn(Optional.of(budget));
         when(budgetRepository.save(any(Budget.class))).thenReturn(budget);
-        when(expenseRepository.getTotalByUserAndCategoryAndDateRange(anyLong(), anyLong(), any(LocalDate.class),
-                any(LocalDate.class)))
+        when(monthlySpendRepository.getTotalByUserAndCategoryAndMonth(anyLong(), anyLong(), anyString()))
                 .thenReturn(BigDecimal.ZERO);
 
         BudgetResponse response = budgetService.updateBudget(1L, 1L, budgetRequest);
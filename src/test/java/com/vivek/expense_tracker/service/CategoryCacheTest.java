@@ -0,0 +1,175 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.dto.CategoryDto;
+import com.vivek.expense_tracker.entity.Category;
+import com.vivek.expense_tracker.entity.User;
+import com.vivek.expense_tracker.repository.CategoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryCacheTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CategoryCache categoryCache;
+    private final AtomicLong now = new AtomicLong();
+
+    private Category food;
+    private Category gym;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        categoryCache = new CategoryCache(categoryRepository, meterRegistry, now::get, CategoryCache.MAX_USERS);
+
+        food = category(1L, "Food", null);
+        gym = category(10L, "Gym", 1L);
+    }
+
+    @Test
+    void getForUser_LoadsDefaultsOnceAndCustomPerUser() {
+        when(categoryRepository.findByUserIsNull()).thenReturn(List.of(food));
+        when(categoryRepository.findByUserId(1L)).thenReturn(List.of(gym));
+        when(categoryRepository.findByUserId(2L)).thenReturn(List.of());
+
+        List<CategoryDto> first = categoryCache.getForUser(1L);
+        categoryCache.getForUser(1L);
+        categoryCache.getForUser(2L);
+
+        assertEquals(List.of("Food", "Gym"), first.stream().map(CategoryDto::getName).toList());
+        verify(categoryRepository, times(1)).findByUserIsNull();
+        verify(categoryRepository, times(1)).findByUserId(1L);
+        assertEquals(2, categoryCache.size());
+        assertThrows(UnsupportedOperationException.class, () -> first.add(new CategoryDto()));
+    }
+
+    @Test
+    void requireUsable_ServesDefaultAndOwnCategoriesFromCache() {
+        when(categoryRepository.findByUserIsNull()).thenReturn(List.of(food));
+        when(categoryRepository.findByUserId(1L)).thenReturn(List.of(gym));
+
+        assertEquals("Food", categoryCache.requireUsable(1L, 1L).getName());
+        assertEquals("Gym", categoryCache.requireUsable(1L, 10L).getName());
+        verify(categoryRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void requireUsable_OtherUsersCategoryDenied() {
+        when(categoryRepository.findByUserIsNull()).thenReturn(List.of(food));
+        when(categoryRepository.findByUserId(2L)).thenReturn(List.of());
+        when(categoryRepository.findById(10L)).thenReturn(Optional.of(gym));
+
+        assertThrows(AccessDeniedException.class, () -> categoryCache.requireUsable(2L, 10L));
+    }
+
+    @Test
+    void requireUsable_UnknownCategoryNotFound() {
+        when(categoryRepository.findByUserIsNull()).thenReturn(List.of(food));
+        when(categoryRepository.findByUserId(1L)).thenReturn(List.of(gym));
+        when(categoryRepository.findById(99L)).thenReturn(Optional.empty());
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> categoryCache.requireUsable(1L, 99L));
+        assertEquals("Category not found", e.getMessage());
+    }
+
+    @Test
+    void evictUser_ReloadsCustomCategoriesOnNextAccess() {
+        Category travel = category(11L, "Travel", 1L);
+        when(categoryRepository.findByUserIsNull()).thenReturn(List.of(food));
+        when(categoryRepository.findByUserId(1L)).thenReturn(List.of(gym), List.of(gym, travel));
+
+        categoryCache.getForUser(1L);
+        categoryCache.evictUser(1L);
+
+        assertEquals(3, categoryCache.getForUser(1L).size());
+        verify(categoryRepository, times(2)).findByUserId(1L);
+        verify(categoryRepository, times(1)).findByUserIsNull();
+    }
+
+    @Test
+    void expiredEntries_ReloadChangesMadeElsewhere() {
+        when(categoryRepository.findByUserIsNull()).thenReturn(List.of(food));
+        // Gym deleted through another instance
+        when(categoryRepository.findByUserId(1L)).thenReturn(List.of(gym), List.of());
+        when(categoryRepository.findById(10L)).thenReturn(Optional.empty());
+
+        assertEquals("Gym", categoryCache.requireUsable(1L, 10L).getName());
+        now.addAndGet(TimeUnit.SECONDS.toNanos(CategoryCache.TTL_SECONDS) - 1);
+        assertEquals("Gym", categoryCache.requireUsable(1L, 10L).getName());
+        now.incrementAndGet();
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> categoryCache.requireUsable(1L, 10L));
+        assertEquals("Category not found", e.getMessage());
+        verify(categoryRepository, times(2)).findByUserIsNull();
+    }
+
+    @Test
+    void returnedCategories_AreCallersOwnCopies() {
+        when(categoryRepository.findByUserIsNull()).thenReturn(List.of(food));
+        when(categoryRepository.findByUserId(1L)).thenReturn(List.of(gym));
+
+        categoryCache.requireUsable(1L, 1L).setName("Changed");
+        categoryCache.getForUser(1L).get(1).setName("Changed");
+
+        assertEquals(List.of("Food", "Gym"), categoryCache.getForUser(1L).stream().map(CategoryDto::getName).toList());
+    }
+
+    @Test
+    void custom_StaysWithinBoundAndKeepsTheUserJustLoaded() {
+        CategoryCache small = new CategoryCache(categoryRepository, meterRegistry, now::get, 10);
+        when(categoryRepository.findByUserId(anyLong())).thenReturn(List.of());
+
+        for (long userId = 1; userId <= 25; userId++) {
+            small.getForUser(userId);
+            assertTrue(small.size() <= 10, "size " + small.size());
+        }
+
+        small.getForUser(25L);
+        verify(categoryRepository, times(1)).findByUserId(25L);
+    }
+
+    @Test
+    void metrics_ExposeHitRatioAndSize() {
+        when(categoryRepository.findByUserIsNull()).thenReturn(List.of(food));
+        when(categoryRepository.findByUserId(1L)).thenReturn(List.of(gym));
+
+        categoryCache.getForUser(1L);
+        categoryCache.getForUser(1L);
+
+        assertEquals(2.0, meterRegistry.get("category.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(2.0, meterRegistry.get("category.cache.requests").tag("result", "miss").counter().count());
+        assertEquals(0.5, meterRegistry.get("category.cache.hit.ratio").gauge().value());
+        assertEquals(1.0, meterRegistry.get("category.cache.size").gauge().value());
+    }
+
+    private static Category category(Long id, String name, Long userId) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        category.setColor("#FFFFFF");
+        category.setIcon("tag");
+        if (userId != null) {
+            User user = new User();
+            user.setId(userId);
+            category.setUser(user);
+        }
+        return category;
+    }
+}
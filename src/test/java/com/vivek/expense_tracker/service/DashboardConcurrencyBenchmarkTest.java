@@ -0,0 +1,162 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.entity.Category;
+import com.vivek.expense_tracker.entity.Expense;
+import com.vivek.expense_tracker.entity.PaymentMethod;
+import com.vivek.expense_tracker.entity.User;
+import com.vivek.expense_tracker.repository.CategoryRepository;
+import com.vivek.expense_tracker.repository.ExpenseRepository;
+import com.vivek.expense_tracker.repository.MonthlySpendRepository;
+import com.vivek.expense_tracker.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Dashboard throughput and tail latency under many concurrent callers: the
+ * current model (fixed platform-thread pool, queries in sequence) against
+ * virtual-thread callers with the queries fanned out. Run with
+ * {@code ./mvnw test -Dbenchmark=true -Dtest=DashboardConcurrencyBenchmarkTest}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DashboardConcurrencyBenchmarkTest {
+
+    private static final int USERS = 50;
+    private static final int EXPENSES_PER_USER = 400;
+    private static final int CALLERS = 400;
+    // Tomcat's default server.tomcat.threads.max
+    private static final int PLATFORM_THREADS = 200;
+    private static final int CALLS_PER_CALLER = 50;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private MonthlySpendRepository monthlySpendRepository;
+
+    @Autowired
+    private MonthlySpendService monthlySpendService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        LocalDate today = LocalDate.now();
+        for (int u = 0; u < USERS; u++) {
+            User user = new User();
+            user.setName("Dashboard User " + u);
+            user.setEmail("dashboard-benchmark" + u + "@example.com");
+            user.setPassword("encodedPassword");
+            user = userRepository.save(user);
+            userIds.add(user.getId());
+
+            Category category = new Category();
+            category.setName("Category");
+            category.setColor("#FFFFFF");
+            category.setIcon("tag");
+            category.setUser(user);
+            category = categoryRepository.save(category);
+
+            List<Expense> expenses = new ArrayList<>();
+            for (int i = 0; i < EXPENSES_PER_USER; i++) {
+                Expense expense = new Expense();
+                expense.setAmount(BigDecimal.valueOf(10 + i % 90));
+                expense.setCategory(category);
+                expense.setDate(today.minusDays(i % 60));
+                expense.setDescription("Expense " + i);
+                expense.setPaymentMethod(PaymentMethod.CARD);
+                expense.setUser(user);
+                expenses.add(expense);
+            }
+            expenseRepository.saveAll(expenses);
+            monthlySpendService.verify(user.getId(), true);
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userIds.forEach(monthlySpendRepository::deleteByUserId);
+        userRepository.deleteAllById(userIds);
+    }
+
+    @Test
+    void compareThreadingModels() throws Exception {
+        DashboardService sequential = new DashboardService(expenseRepository, monthlySpendRepository,
+                QueryFanOut.sequential());
+        try (ExecutorService queries = Executors.newVirtualThreadPerTaskExecutor()) {
+            DashboardService fannedOut = new DashboardService(expenseRepository, monthlySpendRepository,
+                    QueryFanOut.parallel(queries, 5));
+
+            try (ExecutorService platform = Executors.newFixedThreadPool(PLATFORM_THREADS)) {
+                report("platform pool, sequential queries", platform, sequential);
+            }
+            try (ExecutorService virtual = Executors.newVirtualThreadPerTaskExecutor()) {
+                report("virtual threads, fanned-out queries", virtual, fannedOut);
+            }
+        }
+    }
+
+    private void report(String label, ExecutorService callers, DashboardService dashboardService) throws Exception {
+        // Warm up
+        run(callers, dashboardService, CALLS_PER_CALLER / 5);
+
+        long start = System.nanoTime();
+        List<Long> latencies = run(callers, dashboardService, CALLS_PER_CALLER);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        Collections.sort(latencies);
+        System.out.printf("%-38s %,10.0f calls/s | p50 %6.2f ms | p99 %6.2f ms | p99.9 %6.2f ms%n", label,
+                latencies.size() / seconds, percentile(latencies, 50), percentile(latencies, 99),
+                percentile(latencies, 99.9));
+    }
+
+    private List<Long> run(ExecutorService callers, DashboardService dashboardService, int callsPerCaller)
+            throws Exception {
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        for (int c = 0; c < CALLERS; c++) {
+            Long userId = userIds.get(c % USERS);
+            futures.add(callers.submit(() -> {
+                List<Long> latencies = new ArrayList<>();
+                for (int i = 0; i < callsPerCaller; i++) {
+                    long start = System.nanoTime();
+                    dashboardService.getDashboardStats(userId);
+                    dashboardService.getMonthlyComparison(userId);
+                    latencies.add(System.nanoTime() - start);
+                }
+                return latencies;
+            }));
+        }
+
+        List<Long> latencies = new ArrayList<>();
+        for (Future<List<Long>> future : futures) {
+            latencies.addAll(future.get());
+        }
+        return latencies;
+    }
+
+    private static double percentile(List<Long> sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(rank, 1) - 1) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,107 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.dto.DashboardDelta;
+import com.vivek.expense_tracker.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardEventServiceTest {
+
+    @Mock
+    private DashboardService dashboardService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserEventHub userEventHub;
+
+    @InjectMocks
+    private DashboardEventService dashboardEventService;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.unbindResourceIfPossible(dashboardEventService);
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void expenseChanged_SendsOneDeltaPerTransactionAfterCommit() {
+        when(userEventHub.hasSubscribers(1L, DashboardEventService.EVENT_NAME)).thenReturn(true);
+        DashboardDelta delta = DashboardDelta.builder().build();
+        when(dashboardService.getDashboardDelta(1L, Set.of(2L, 3L), Set.of(today))).thenReturn(delta);
+        when(userRepository.findDataVersion(1L)).thenReturn(7L);
+
+        dashboardEventService.expenseChanged(1L, 2L, MonthlySpendService.monthKey(today), today);
+        dashboardEventService.expenseChanged(1L, 3L, MonthlySpendService.monthKey(today), today);
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        verify(userEventHub, never()).send(any(), any(), any());
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(userEventHub).send(1L, DashboardEventService.EVENT_NAME, delta);
+        assertEquals(7L, delta.getVersion());
+        assertNull(TransactionSynchronizationManager.getResource(dashboardEventService));
+    }
+
+    @Test
+    void expenseChanged_UnknownDaysAskForReload() {
+        when(userEventHub.hasSubscribers(1L, DashboardEventService.EVENT_NAME)).thenReturn(true);
+        when(dashboardService.getDashboardDelta(1L, Set.of(2L), null))
+                .thenReturn(DashboardDelta.builder().reload(true).build());
+
+        dashboardEventService.expenseChanged(1L, 2L, MonthlySpendService.monthKey(today), today);
+        dashboardEventService.expenseChanged(1L, 2L, MonthlySpendService.monthKey(today), null);
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+
+        verify(dashboardService).getDashboardDelta(1L, Set.of(2L), null);
+    }
+
+    @Test
+    void expenseChanged_IgnoredWithoutStreamOrOffDashboard() {
+        when(userEventHub.hasSubscribers(1L, DashboardEventService.EVENT_NAME)).thenReturn(false);
+        when(userEventHub.hasSubscribers(2L, DashboardEventService.EVENT_NAME)).thenReturn(true);
+
+        dashboardEventService.expenseChanged(1L, 2L, MonthlySpendService.monthKey(today), today);
+        dashboardEventService.expenseChanged(2L, 2L, "2001-01", LocalDate.of(2001, 1, 5));
+
+        assertEquals(0, TransactionSynchronizationManager.getSynchronizations().size());
+        verifyNoInteractions(dashboardService, userRepository);
+    }
+
+    @Test
+    void expenseChanged_NothingSentOnRollback() {
+        when(userEventHub.hasSubscribers(1L, DashboardEventService.EVENT_NAME)).thenReturn(true);
+
+        dashboardEventService.expenseChanged(1L, 2L, MonthlySpendService.monthKey(today), today);
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verifyNoInteractions(dashboardService);
+        verify(userEventHub, never()).send(any(), any(), any());
+    }
+}
@@ -1,24 +1,34 @@
 package com.vivek.expense_tracker.service;
 
 import com.vivek.expense_tracker.dto.CategorySpending;
+import com.vivek.expense_tracker.dto.DashboardDelta;
 import com.vivek.expense_tracker.dto.DashboardStatsResponse;
+import com.vivek.expense_tracker.dto.DashboardSummaryResponse;
 import com.vivek.expense_tracker.dto.MonthlyComparison;
 import com.vivek.expense_tracker.repository.ExpenseRepository;
+import com.vivek.expense_tracker.repository.MonthlySpendRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,14 +37,22 @@ class DashboardServiceTest {
     @Mock
     private ExpenseRepository expenseRepository;
 
+    @Mock
+    private MonthlySpendRepository monthlySpendRepository;
+
+    @Spy
+    private QueryFanOut queryFanOut = QueryFanOut.sequential();
+
     @InjectMocks
     private DashboardService dashboardService;
 
     @Test
     void getDashboardStats_Success() {
-        when(expenseRepository.getTotalByUserAndDateRange(anyLong(), any(LocalDate.class), any(LocalDate.class)))
+        when(monthlySpendRepository.getTotalByUserAndMonth(anyLong(), anyString()))
                 .thenReturn(BigDecimal.valueOf(1000.00));
-        when(expenseRepository.countByUserIdAndDateBetween(anyLong(), any(LocalDate.class), any(LocalDate.class)))
+        when(expenseRepository.getTotalByUserAndDateRange(anyLong(), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(BigDecimal.valueOf(100.00));
+        when(monthlySpendRepository.getCountByUserAndMonth(anyLong(), anyString()))
                 .thenReturn(10L);
 
         DashboardStatsResponse response = dashboardService.getDashboardStats(1L);
@@ -48,10 +66,7 @@ class DashboardServiceTest {
     void getCategoryBreakdown_Success() {
         Object[] row = { 1L, "Food", "#FFFFFF", BigDecimal.valueOf(100.00) };
         List<Object[]> rows = Collections.singletonList(row);
-        when(expenseRepository.getCategoryWiseTotals(anyLong(), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(rows);
-        when(expenseRepository.getTotalByUserAndDateRange(anyLong(), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(BigDecimal.valueOf(100.00));
+        when(monthlySpendRepository.getCategoryWiseTotals(1L, "2024-05")).thenReturn(rows);
 
         List<CategorySpending> response = dashboardService.getCategoryBreakdown(1L, 2024, 5);
 
@@ -62,7 +77,7 @@ class DashboardServiceTest {
 
     @Test
     void getMonthlyComparison_Increase() {
-        when(expenseRepository.getTotalByUserAndDateRange(anyLong(), any(LocalDate.class), any(LocalDate.class)))
+        when(monthlySpendRepository.getTotalByUserAndMonth(anyLong(), anyString()))
                 .thenReturn(BigDecimal.valueOf(200.00)) // Current month
                 .thenReturn(BigDecimal.valueOf(100.00)); // Previous month
 
@@ -74,7 +89,7 @@ class DashboardServiceTest {
 
     @Test
     void getMonthlyComparison_Decrease() {
-        when(expenseRepository.getTotalByUserAndDateRange(anyLong(), any(LocalDate.class), any(LocalDate.class)))
+        when(monthlySpendRepository.getTotalByUserAndMonth(anyLong(), anyString()))
                 .thenReturn(BigDecimal.valueOf(50.00)) // Current month
                 .thenReturn(BigDecimal.valueOf(100.00)); // Previous month
 
@@ -83,4 +98,61 @@ class DashboardServiceTest {
         assertEquals("DECREASED", response.getStatus());
         assertEquals(-50.0, response.getPercentageChange());
     }
+
+    @Test
+    void getDashboardSummary_SingleQuery() {
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows = List.of(
+                new Object[] { today, 1L, "Food", "#FFFFFF", BigDecimal.valueOf(150.00), 3L },
+                new Object[] { today, 2L, "Transport", "#000000", BigDecimal.valueOf(50.00), 1L });
+        when(expenseRepository.getDailyCategoryTotals(anyLong(), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(rows);
+        when(monthlySpendRepository.getTotalByUserAndMonth(anyLong(), anyString()))
+                .thenReturn(BigDecimal.valueOf(100.00)); // Previous month
+
+        DashboardSummaryResponse response = dashboardService.getDashboardSummary(1L);
+
+        assertEquals(BigDecimal.valueOf(200.00), response.getStats().getTotalSpentThisMonth());
+        assertEquals(BigDecimal.valueOf(200.00), response.getStats().getTotalSpentToday());
+        assertEquals(4L, response.getStats().getTransactionCountThisMonth());
+        assertEquals(2, response.getCategoryBreakdown().size());
+        assertEquals(75.0, response.getCategoryBreakdown().get(0).getPercentage());
+        assertEquals(1, response.getTrends().size());
+        assertEquals(BigDecimal.valueOf(100.00), response.getMonthlyComparison().getPreviousMonthSpent());
+        assertEquals("INCREASED", response.getMonthlyComparison().getStatus());
+
+        verify(expenseRepository, times(1))
+                .getDailyCategoryTotals(anyLong(), any(LocalDate.class), any(LocalDate.class));
+        verify(expenseRepository, never())
+                .getTotalByUserAndDateRange(anyLong(), any(LocalDate.class), any(LocalDate.class));
+    }
+
+    @Test
+    void getDashboardDelta_ReportsTouchedCategoriesAndDaysOfThisMonth() {
+        LocalDate today = LocalDate.now();
+        String currentMonth = MonthlySpendService.monthKey(today);
+        String previousMonth = MonthlySpendService.monthKey(today.minusMonths(1));
+        List<Object[]> rollup = List.of(
+                new Object[] { currentMonth, 1L, "Food", "#FF0000", BigDecimal.valueOf(150), 3L },
+                new Object[] { currentMonth, 2L, "Travel", "#00FF00", BigDecimal.valueOf(50), 1L },
+                new Object[] { previousMonth, 1L, "Food", "#FF0000", BigDecimal.valueOf(100), 2L });
+        when(monthlySpendRepository.getCategoryTotalsForMonths(1L, List.of(currentMonth, previousMonth)))
+                .thenReturn(rollup);
+        List<Object[]> dayTotals = Collections.singletonList(new Object[] { today, BigDecimal.valueOf(30) });
+        when(expenseRepository.getTotalsByDates(1L, Set.of(today))).thenReturn(dayTotals);
+
+        DashboardDelta delta = dashboardService.getDashboardDelta(1L, Set.of(1L),
+                Set.of(today, today.minusMonths(1)));
+
+        assertEquals(BigDecimal.valueOf(200), delta.getStats().getTotalSpentThisMonth());
+        assertEquals(4L, delta.getStats().getTransactionCountThisMonth());
+        assertEquals(BigDecimal.valueOf(30), delta.getStats().getTotalSpentToday());
+        assertEquals(100.0, delta.getMonthlyComparison().getPercentageChange());
+        assertEquals(1, delta.getCategories().size());
+        assertEquals(75.0, delta.getCategories().get(0).getPercentage());
+        // Last month's day is not on the dashboard
+        assertEquals(1, delta.getDays().size());
+        assertEquals(today, delta.getDays().get(0).getDate());
+        assertFalse(delta.isReload());
+    }
 }
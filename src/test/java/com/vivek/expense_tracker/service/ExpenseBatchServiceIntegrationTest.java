@@ -0,0 +1,209 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.dto.ExpenseBatchOperation;
+import com.vivek.expense_tracker.dto.ExpenseBatchOperation.Action;
+import com.vivek.expense_tracker.dto.ExpenseBatchResponse;
+import com.vivek.expense_tracker.dto.ExpenseBatchResult;
+import com.vivek.expense_tracker.dto.ExpenseRequest;
+import com.vivek.expense_tracker.entity.Category;
+import com.vivek.expense_tracker.entity.PaymentMethod;
+import com.vivek.expense_tracker.entity.User;
+import com.vivek.expense_tracker.repository.CategoryRepository;
+import com.vivek.expense_tracker.repository.ExpenseRepository;
+import com.vivek.expense_tracker.repository.MonthlySpendRepository;
+import com.vivek.expense_tracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class ExpenseBatchServiceIntegrationTest {
+
+    @Autowired
+    private ExpenseBatchService expenseBatchService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private MonthlySpendRepository monthlySpendRepository;
+
+    private User user;
+    private User otherUser;
+    private Category groceries;
+    private Category transport;
+
+    @BeforeEach
+    void setUp() {
+        user = saveUser("batch@example.com");
+        otherUser = saveUser("other-batch@example.com");
+        groceries = saveCategory("Groceries", user);
+        transport = saveCategory("Transport", user);
+    }
+
+    @Test
+    void apply_CreatesUpdatesAndDeletesInOneCall() {
+        ExpenseBatchResponse created = expenseBatchService.apply(user.getId(), List.of(
+                create(groceries, "10.00", LocalDate.of(2024, 5, 1)),
+                create(groceries, "20.00", LocalDate.of(2024, 5, 2)),
+                create(transport, "5.00", LocalDate.of(2024, 5, 3))));
+
+        assertEquals(3, created.getApplied());
+        assertEquals(0, created.getFailed());
+        ExpenseBatchResult first = created.getResults().get(0);
+        assertNotNull(first.getId());
+        assertEquals("Groceries", first.getExpense().getCategoryName());
+        Long milk = first.getId();
+        Long bread = created.getResults().get(1).getId();
+        Long bus = created.getResults().get(2).getId();
+
+        ExpenseBatchResponse response = expenseBatchService.apply(user.getId(), List.of(
+                update(milk, transport, "12.00", LocalDate.of(2024, 6, 1)),
+                delete(bread),
+                create(groceries, "7.50", LocalDate.of(2024, 5, 9))));
+
+        assertEquals(3, response.getApplied());
+        assertEquals(new BigDecimal("12.00"), response.getResults().get(0).getExpense().getAmount());
+        assertNull(response.getResults().get(1).getExpense());
+        assertFalse(expenseRepository.existsById(bread));
+        assertTrue(expenseRepository.existsById(bus));
+
+        // May: 5.00 transport + 7.50 groceries, June: the moved 12.00
+        assertEquals(0, new BigDecimal("12.50").compareTo(
+                monthlySpendRepository.getTotalByUserAndMonth(user.getId(), "2024-05")));
+        assertEquals(2L, monthlySpendRepository.getCountByUserAndMonth(user.getId(), "2024-05"));
+        assertEquals(0, new BigDecimal("12.00").compareTo(
+                monthlySpendRepository.getTotalByUserAndMonth(user.getId(), "2024-06")));
+        assertEquals(1L, monthlySpendRepository.getCountByUserAndMonth(user.getId(), "2024-06"));
+    }
+
+    @Test
+    void apply_ReportsInvalidOperationsAndAppliesTheRest() {
+        Category otherCategory = saveCategory("Other", otherUser);
+        Long foreign = expenseBatchService.apply(otherUser.getId(),
+                List.of(create(otherCategory, "99.00", LocalDate.of(2024, 5, 1)))).getResults().get(0).getId();
+        Long own = expenseBatchService.apply(user.getId(),
+                List.of(create(groceries, "10.00", LocalDate.of(2024, 5, 1)))).getResults().get(0).getId();
+
+        ExpenseBatchResponse response = expenseBatchService.apply(user.getId(), List.of(
+                delete(foreign),
+                create(groceries, "-1.00", LocalDate.of(2024, 5, 2)),
+                create(otherCategory, "3.00", LocalDate.of(2024, 5, 2)),
+                update(own, groceries, "15.00", LocalDate.of(2024, 5, 1)),
+                delete(own),
+                delete(Long.MAX_VALUE),
+                create(groceries, "4.00", LocalDate.of(2024, 5, 3))));
+
+        assertEquals(2, response.getApplied());
+        assertEquals(5, response.getFailed());
+        List<Boolean> success = response.getResults().stream().map(ExpenseBatchResult::isSuccess).toList();
+        assertEquals(List.of(false, false, false, true, false, false, true), success);
+        assertEquals("You do not have permission to delete this expense", response.getResults().get(0).getError());
+        assertTrue(response.getResults().get(1).getError().startsWith("amount: "));
+        assertEquals("Expense appears more than once in the batch", response.getResults().get(4).getError());
+        assertEquals("Expense not found", response.getResults().get(5).getError());
+
+        assertTrue(expenseRepository.existsById(foreign));
+        assertEquals(0, new BigDecimal("19.00").compareTo(
+                monthlySpendRepository.getTotalByUserAndMonth(user.getId(), "2024-05")));
+        assertEquals(2L, monthlySpendRepository.getCountByUserAndMonth(user.getId(), "2024-05"));
+        assertEquals(0, new BigDecimal("99.00").compareTo(
+                monthlySpendRepository.getTotalByUserAndMonth(otherUser.getId(), "2024-05")));
+    }
+
+    @Test
+    void apply_FailedOperationDoesNotClaimTheExpense() {
+        Category otherCategory = saveCategory("Other", otherUser);
+        Long own = expenseBatchService.apply(user.getId(),
+                List.of(create(groceries, "10.00", LocalDate.of(2024, 5, 1)))).getResults().get(0).getId();
+
+        ExpenseBatchResponse response = expenseBatchService.apply(user.getId(), List.of(
+                update(own, groceries, "-1.00", LocalDate.of(2024, 5, 1)),
+                update(own, otherCategory, "15.00", LocalDate.of(2024, 5, 1)),
+                delete(own),
+                update(own, groceries, "20.00", LocalDate.of(2024, 5, 1))));
+
+        List<Boolean> success = response.getResults().stream().map(ExpenseBatchResult::isSuccess).toList();
+        assertEquals(List.of(false, false, true, false), success);
+        assertTrue(response.getResults().get(0).getError().startsWith("amount: "));
+        assertEquals("Expense appears more than once in the batch", response.getResults().get(3).getError());
+
+        assertFalse(expenseRepository.existsById(own));
+        assertEquals(0L, monthlySpendRepository.getCountByUserAndMonth(user.getId(), "2024-05"));
+    }
+
+    @Test
+    void apply_WritesNothingWhenEveryOperationFails() {
+        ExpenseBatchResponse response = expenseBatchService.apply(user.getId(), List.of(
+                delete(null), new ExpenseBatchOperation()));
+
+        assertEquals(0, response.getApplied());
+        assertEquals("Id is required", response.getResults().get(0).getError());
+        assertEquals("Action is required", response.getResults().get(1).getError());
+        assertEquals(0, monthlySpendRepository.findByUserId(user.getId()).size());
+    }
+
+    private User saveUser(String email) {
+        User saved = new User();
+        saved.setName("Batch User");
+        saved.setEmail(email);
+        saved.setPassword("encodedPassword");
+        return userRepository.save(saved);
+    }
+
+    private Category saveCategory(String name, User owner) {
+        Category saved = new Category();
+        saved.setName(name);
+        saved.setColor("#FFFFFF");
+        saved.setIcon("tag");
+        saved.setUser(owner);
+        return categoryRepository.save(saved);
+    }
+
+    private static ExpenseBatchOperation create(Category category, String amount, LocalDate date) {
+        return operation(Action.CREATE, null, request(category, amount, date));
+    }
+
+    private static ExpenseBatchOperation update(Long id, Category category, String amount, LocalDate date) {
+        return operation(Action.UPDATE, id, request(category, amount, date));
+    }
+
+    private static ExpenseBatchOperation delete(Long id) {
+        return operation(Action.DELETE, id, null);
+    }
+
+    private static ExpenseBatchOperation operation(Action action, Long id, ExpenseRequest expense) {
+        ExpenseBatchOperation operation = new ExpenseBatchOperation();
+        operation.setAction(action);
+        operation.setId(id);
+        operation.setExpense(expense);
+        return operation;
+    }
+
+    private static ExpenseRequest request(Category category, String amount, LocalDate date) {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setAmount(new BigDecimal(amount));
+        request.setCategoryId(category.getId());
+        request.setDate(date);
+        request.setDescription("Batch expense");
+        request.setPaymentMethod(PaymentMethod.CARD);
+        return request;
+    }
+}
@@ -0,0 +1,108 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.dto.ExpenseRequest;
+import com.vivek.expense_tracker.entity.Category;
+import com.vivek.expense_tracker.entity.PaymentMethod;
+import com.vivek.expense_tracker.entity.User;
+import com.vivek.expense_tracker.repository.CategoryRepository;
+import com.vivek.expense_tracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class ExpenseExportServiceIntegrationTest {
+
+    @Autowired
+    private ExpenseExportService expenseExportService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private User user;
+    private Category food;
+    private Category travel;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Export User");
+        user.setEmail("export@example.com");
+        user.setPassword("encodedPassword");
+        user = userRepository.save(user);
+
+        food = saveCategory("Food");
+        travel = saveCategory("Travel");
+
+        saveExpense(food, LocalDate.of(2024, 5, 1), "12.50", "Lunch, with \"team\"");
+        saveExpense(travel, LocalDate.of(2024, 5, 3), "40.00", "Taxi");
+        saveExpense(food, LocalDate.of(2024, 6, 2), "8.00", null);
+    }
+
+    @Test
+    void exportCsv_WritesHeaderAndRowsNewestFirst() throws IOException {
+        List<String> lines = export(null, null, null, ExpenseExportService.Format.CSV);
+
+        assertEquals(4, lines.size());
+        assertEquals(ExpenseExportService.CSV_HEADER, lines.get(0));
+        assertTrue(lines.get(1).contains(",2024-06-02,8.00,Food,,CARD"));
+        assertTrue(lines.get(3).endsWith(",2024-05-01,12.50,Food,\"Lunch, with \"\"team\"\"\",CARD"));
+    }
+
+    @Test
+    void exportNdjson_AppliesCategoryAndDateFilters() throws IOException {
+        List<String> lines = export(food.getId(), LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 31),
+                ExpenseExportService.Format.NDJSON);
+
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).startsWith("{"));
+        assertTrue(lines.get(0).contains("\"amount\":12.50"));
+    }
+
+    private List<String> export(Long categoryId, LocalDate startDate, LocalDate endDate,
+            ExpenseExportService.Format format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        expenseExportService.export(user.getId(), categoryId, startDate, endDate, format, out);
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private Category saveCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        category.setColor("#FFFFFF");
+        category.setIcon("tag");
+        category.setUser(user);
+        return categoryRepository.save(category);
+    }
+
+    private void saveExpense(Category category, LocalDate date, String amount, String description) {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setAmount(new BigDecimal(amount));
+        request.setCategoryId(category.getId());
+        request.setDate(date);
+        request.setDescription(description);
+        request.setPaymentMethod(PaymentMethod.CARD);
+        expenseService.createExpense(user.getId(), request);
+    }
+}
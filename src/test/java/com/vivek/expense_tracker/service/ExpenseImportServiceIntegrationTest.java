@@ -0,0 +1,156 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.dto.ExpenseImportResponse;
+import com.vivek.expense_tracker.entity.Category;
+import com.vivek.expense_tracker.entity.Expense;
+import com.vivek.expense_tracker.entity.User;
+import com.vivek.expense_tracker.repository.CategoryRepository;
+import com.vivek.expense_tracker.repository.ExpenseRepository;
+import com.vivek.expense_tracker.repository.MonthlySpendRepository;
+import com.vivek.expense_tracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class ExpenseImportServiceIntegrationTest {
+
+    @Autowired
+    private ExpenseImportService expenseImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private MonthlySpendRepository monthlySpendRepository;
+
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Import User");
+        user.setEmail("import@example.com");
+        user.setPassword("encodedPassword");
+        user = userRepository.save(user);
+
+        category = new Category();
+        category.setName("Groceries");
+        category.setColor("#FFFFFF");
+        category.setIcon("cart");
+        category.setUser(user);
+        category = categoryRepository.save(category);
+    }
+
+    @Test
+    void importCsv_ImportsValidRowsAndReportsInvalidOnes() {
+        String csv = """
+                Date,Amount,Category,Description,Payment Method
+                2024-05-01,12.50,groceries,"Milk, bread",card
+                2024-05-02,abc,Groceries,Bad amount,CARD
+                2024-05-03,7.25,Groceries,,
+                2024-05-04,3.00,Unknown,Bad category,CASH
+                2024-06-01,10.00,Groceries,Next month,UPI
+                """;
+
+        ExpenseImportResponse response = expenseImportService.importCsv(user.getId(), stream(csv));
+
+        assertEquals(3, response.getImported());
+        assertEquals(2, response.getFailed());
+        // Lines in the file, header included
+        assertEquals(List.of(3L, 5L), response.getErrors().stream().map(e -> e.getRow()).toList());
+        assertEquals(3L, expenseRepository.countByUserIdAndDateBetween(user.getId(),
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+        assertEquals(0, new BigDecimal("19.75").compareTo(
+                monthlySpendRepository.getTotalByUserAndMonth(user.getId(), "2024-05")));
+        assertEquals(2L, monthlySpendRepository.getCountByUserAndMonth(user.getId(), "2024-05"));
+    }
+
+    @Test
+    void importJson_ResolvesCategoryById() {
+        String json = "[{\"date\":\"2024-05-01\",\"amount\":20,\"categoryId\":" + category.getId()
+                + ",\"paymentMethod\":\"CASH\"},"
+                + "{\"date\":\"2999-01-01\",\"amount\":5,\"categoryId\":" + category.getId() + "}]";
+
+        ExpenseImportResponse response = expenseImportService.importJson(user.getId(), stream(json));
+
+        assertEquals(1, response.getImported());
+        assertEquals(1, response.getFailed());
+        assertEquals("Date cannot be in the future", response.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void importCsv_FlushesAcrossBatches() {
+        StringBuilder csv = new StringBuilder("date,amount,categoryId\n");
+        int rows = ExpenseImportService.FLUSH_INTERVAL * 2 + 5;
+        for (int i = 0; i < rows; i++) {
+            csv.append("2024-05-01,1.00,").append(category.getId()).append('\n');
+        }
+
+        ExpenseImportResponse response = expenseImportService.importCsv(user.getId(), stream(csv.toString()));
+
+        assertEquals(rows, response.getImported());
+        assertEquals((long) rows, monthlySpendRepository.getCountByUserAndMonth(user.getId(), "2024-05"));
+    }
+
+    @Test
+    void importCsv_ReadsExportedMultiLineDescriptionsAndReportsFileLines() {
+        String csv = "date,amount,category,description\r\n"
+                + "2024-05-01,12.50,Groceries," + ExpenseExportService.csvField("Milk\nand \"fresh\" bread") + "\r\n"
+                + "\r\n"
+                + "2024-05-02,abc,Groceries,Bad amount\r\n"
+                + "2024-05-03,7.25,Groceries,\"Two\r\nlines\"\r\n"
+                + "2024-05-04,1.00,Unknown,Bad category";
+
+        ExpenseImportResponse response = expenseImportService.importCsv(user.getId(), stream(csv));
+
+        assertEquals(2, response.getImported());
+        assertEquals(List.of(5L, 8L), response.getErrors().stream().map(e -> e.getRow()).toList());
+        assertEquals(List.of("Milk\nand \"fresh\" bread", "Two\r\nlines"),
+                expenseRepository.findAll().stream()
+                        .filter(expense -> expense.getUser().getId().equals(user.getId()))
+                        .map(Expense::getDescription).sorted().toList());
+    }
+
+    @Test
+    void csvRecordReader_HandlesQuotedCommasQuotesAndLineBreaks() throws Exception {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,\"b, c\",\"say \"\"hi\"\"\",\n"
+                + "\"x\ny\",z\r\n"
+                + "last"));
+
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""), reader.next());
+        assertEquals(1, reader.recordLine());
+        assertEquals(List.of("x\ny", "z"), reader.next());
+        assertEquals(2, reader.recordLine());
+        assertEquals(List.of("last"), reader.next());
+        assertEquals(4, reader.recordLine());
+        assertNull(reader.next());
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,144 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.dto.ExpenseResponse;
+import com.vivek.expense_tracker.entity.Category;
+import com.vivek.expense_tracker.entity.Expense;
+import com.vivek.expense_tracker.entity.PaymentMethod;
+import com.vivek.expense_tracker.entity.User;
+import com.vivek.expense_tracker.repository.CategoryRepository;
+import com.vivek.expense_tracker.repository.ExpenseRepository;
+import com.vivek.expense_tracker.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Rows/sec of the expense list: entity loading plus lazy category fetches
+ * against the DTO projection. Run with {@code ./mvnw test -Dbenchmark=true -Dtest=ExpenseListBenchmarkTest}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ExpenseListBenchmarkTest {
+
+    private static final int EXPENSES = 5_000;
+    private static final int CATEGORIES = 8;
+    private static final int ITERATIONS = 50;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private final List<Category> categories = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        user = new User();
+        user.setName("Benchmark User");
+        user.setEmail("list-benchmark@example.com");
+        user.setPassword("encodedPassword");
+        user = userRepository.save(user);
+
+        for (int i = 0; i < CATEGORIES; i++) {
+            Category category = new Category();
+            category.setName("Category " + i);
+            category.setColor("#FFFFFF");
+            category.setIcon("tag");
+            category.setUser(user);
+            categories.add(categoryRepository.save(category));
+        }
+
+        List<Expense> expenses = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < EXPENSES; i++) {
+            Expense expense = new Expense();
+            expense.setAmount(BigDecimal.valueOf(10 + i % 90));
+            expense.setCategory(categories.get(i % CATEGORIES));
+            expense.setDate(today.minusDays(i % 365));
+            expense.setDescription("Expense " + i);
+            expense.setPaymentMethod(PaymentMethod.CARD);
+            expense.setUser(user);
+            expenses.add(expense);
+        }
+        expenseRepository.saveAll(expenses);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void listRowsPerSecond() {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        for (int size : new int[] { 10, 100, 1000 }) {
+            PageRequest page = PageRequest.of(0, size);
+
+            double entityRows = rowsPerSecond(() -> readWrite.execute(status -> {
+                List<Expense> expenses = entityManager.createQuery(
+                        "SELECT e FROM Expense e WHERE e.user.id = :userId ORDER BY e.date DESC", Expense.class)
+                        .setParameter("userId", user.getId())
+                        .setFirstResult((int) page.getOffset())
+                        .setMaxResults(page.getPageSize())
+                        .getResultList();
+                return expenses.stream().map(this::toResponse).toList().size();
+            }));
+            double projectionRows = rowsPerSecond(() -> expenseService
+                    .getExpenses(user.getId(), null, null, null, page).getNumberOfElements());
+
+            System.out.printf("page size %4d: entities %,12.0f rows/s | projection %,12.0f rows/s%n",
+                    size, entityRows, projectionRows);
+        }
+    }
+
+    private double rowsPerSecond(IntSupplier listPage) {
+        for (int i = 0; i < ITERATIONS / 5; i++) {
+            listPage.getAsInt();
+        }
+
+        long rows = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            rows += listPage.getAsInt();
+        }
+        return rows / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    // Mirrors the entity query and mapping the list used before the projection
+    private ExpenseResponse toResponse(Expense expense) {
+        return new ExpenseResponse(expense.getId(), expense.getAmount(), expense.getCategory().getId(),
+                expense.getCategory().getName(), expense.getCategory().getColor(), expense.getCategory().getIcon(),
+                expense.getDate(), expense.getDescription(), expense.getPaymentMethod(),
+                expense.getCreatedAt(), expense.getUpdatedAt());
+    }
+}
@@ -0,0 +1,106 @@
+package com.vivek.expense_tracker.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Full-text search latency over 1M expenses in PostgreSQL, for common and
+ * rare terms, with and without filters. Run with
+ * {@code ./mvnw test -Dbenchmark=true -Dtest=ExpenseSearchBenchmarkTest} (needs Docker).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ExpenseSearchBenchmarkTest {
+
+    private static final int USERS = 200;
+    private static final int EXPENSES_PER_USER = 5_000;
+    private static final int ITERATIONS = 200;
+    private static final double P95_BUDGET_MS = 10.0;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private ExpenseSearchService expenseSearchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static Long userId;
+    private static Long categoryId;
+
+    private void seed() {
+        if (userId != null) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO users (email, password, name, created_at) " +
+                "SELECT 'search' || g || '@example.com', 'x', 'User ' || g, now() FROM generate_series(1, ?) g",
+                USERS);
+        // Ten common activities at twelve places, plus a rare word in one expense out of a thousand
+        jdbcTemplate.update("INSERT INTO expenses (amount, category_id, date, description, payment_method, user_id, " +
+                "created_at, updated_at) " +
+                "SELECT (random() * 100)::numeric(10, 2), c.id, current_date - (g % 730), " +
+                "(ARRAY['Lunch', 'Coffee', 'Taxi', 'Groceries', 'Rent', 'Cinema', 'Pharmacy', 'Books', 'Fuel', " +
+                "'Dinner'])[1 + g % 10] || ' at ' || (ARRAY['cafe', 'market', 'station', 'airport', 'mall', " +
+                "'downtown', 'office', 'campus', 'harbour', 'old town', 'corner shop', 'bakery'])[1 + (g / 10) % 12] " +
+                "|| CASE WHEN g % 1000 = 0 THEN ' saxophone repair' ELSE '' END || ' #' || g, 'CARD', u.id, now(), now() " +
+                "FROM users u CROSS JOIN generate_series(1, ?) g " +
+                "JOIN categories c ON c.user_id IS NULL AND c.id = (SELECT MIN(id) FROM categories) + (g % 8)",
+                EXPENSES_PER_USER);
+        jdbcTemplate.execute("ANALYZE");
+        userId = jdbcTemplate.queryForObject("SELECT MIN(id) + ? FROM users", Long.class, USERS / 2);
+        // Category offset 1 holds odd-numbered expenses, among them the dinners
+        categoryId = jdbcTemplate.queryForObject("SELECT MIN(id) + 1 FROM categories", Long.class);
+    }
+
+    @Test
+    void searchLatency() {
+        seed();
+        assertTrue(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM expenses", Long.class) >= 1_000_000);
+
+        measure("common prefix 'lun'", () -> expenseSearchService.search(userId, "lun", null, null, null, 20).size());
+        measure("two prefixes 'cof caf'",
+                () -> expenseSearchService.search(userId, "cof caf", null, null, null, 20).size());
+        measure("rare word 'saxophone'",
+                () -> expenseSearchService.search(userId, "saxophone", null, null, null, 20).size());
+        measure("with category and dates", () -> expenseSearchService.search(userId, "din", categoryId,
+                LocalDate.now().minusDays(180), LocalDate.now(), 20).size());
+    }
+
+    private void measure(String label, Supplier<Integer> search) {
+        for (int i = 0; i < ITERATIONS / 5; i++) {
+            search.get();
+        }
+
+        long[] nanos = new long[ITERATIONS];
+        int results = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            results = search.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        double p50 = nanos[ITERATIONS / 2] / 1_000_000.0;
+        double p95 = nanos[(int) (ITERATIONS * 0.95)] / 1_000_000.0;
+
+        System.out.printf("%-26s %3d results | p50 %6.2f ms | p95 %6.2f ms%n", label, results, p50, p95);
+        assertFalse(results == 0, label + " found nothing");
+        assertTrue(p95 < P95_BUDGET_MS, label + " p95 " + p95 + " ms over " + P95_BUDGET_MS + " ms");
+    }
+}
@@ -0,0 +1,104 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.dto.ExpenseRequest;
+import com.vivek.expense_tracker.dto.ExpenseResponse;
+import com.vivek.expense_tracker.entity.Category;
+import com.vivek.expense_tracker.entity.PaymentMethod;
+import com.vivek.expense_tracker.entity.User;
+import com.vivek.expense_tracker.repository.CategoryRepository;
+import com.vivek.expense_tracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The substring fallback used on H2; PostgreSQL full-text search is covered by ExpenseSearchBenchmarkTest
+ */
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class ExpenseSearchServiceIntegrationTest {
+
+    @Autowired
+    private ExpenseSearchService expenseSearchService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private User user;
+    private Category food;
+    private Category travel;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Search User");
+        user.setEmail("search@example.com");
+        user.setPassword("encodedPassword");
+        user = userRepository.save(user);
+
+        food = saveCategory("Food");
+        travel = saveCategory("Travel");
+
+        addExpense(food, "2024-05-01", "Lunch at the cafe");
+        addExpense(food, "2024-05-03", "Coffee and cake, cafe corner");
+        addExpense(travel, "2024-05-02", "Taxi to the airport");
+        addExpense(food, "2024-06-10", "Lunch with the team");
+    }
+
+    @Test
+    void search_MatchesEveryTermAsWordPrefix() {
+        assertEquals(List.of("Lunch with the team", "Lunch at the cafe"), descriptions("lun", null, null, null));
+        assertEquals(List.of("Lunch at the cafe"), descriptions("LUN caf", null, null, null));
+        assertEquals(List.of(), descriptions("unch", null, null, null));
+    }
+
+    @Test
+    void search_CombinesWithFilters() {
+        assertEquals(List.of("Coffee and cake, cafe corner", "Lunch at the cafe"),
+                descriptions("caf", food.getId(), null, null));
+        assertEquals(List.of(), descriptions("taxi", food.getId(), null, null));
+        assertEquals(List.of("Lunch at the cafe"),
+                descriptions("lunch", null, LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 31)));
+    }
+
+    private List<String> descriptions(String query, Long categoryId, LocalDate startDate, LocalDate endDate) {
+        return expenseSearchService.search(user.getId(), query, categoryId, startDate, endDate, 20).stream()
+                .map(ExpenseResponse::getDescription)
+                .toList();
+    }
+
+    private Category saveCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        category.setColor("#FFFFFF");
+        category.setIcon("tag");
+        category.setUser(user);
+        return categoryRepository.save(category);
+    }
+
+    private void addExpense(Category category, String date, String description) {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setAmount(BigDecimal.TEN);
+        request.setCategoryId(category.getId());
+        request.setDate(LocalDate.parse(date));
+        request.setDescription(description);
+        request.setPaymentMethod(PaymentMethod.CARD);
+        expenseService.createExpense(user.getId(), request);
+    }
+}
@@ -0,0 +1,84 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.config.DatabaseDialect;
+import com.vivek.expense_tracker.dto.ExpenseResponse;
+import com.vivek.expense_tracker.repository.ExpenseRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseSearchServiceTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Test
+    void terms_KeepOnlyWordsAndLowerCase() {
+        assertEquals(List.of("lunch", "café", "42"), ExpenseSearchService.terms("  Lunch & CAFÉ:* 42 '|!"));
+        assertEquals(List.of(), ExpenseSearchService.terms(" *:& "));
+        assertEquals(ExpenseSearchService.MAX_TERMS, ExpenseSearchService.terms("a b c d e f g h i j").size());
+    }
+
+    @Test
+    void toTsQuery_RequiresEveryTermAsPrefix() {
+        assertEquals("lun:* & caf:*", ExpenseSearchService.toTsQuery(List.of("lun", "caf")));
+    }
+
+    @Test
+    void matchesAllPrefixes_MatchesWordStartsOnly() {
+        assertTrue(ExpenseSearchService.matchesAllPrefixes("Lunch at the cafe", List.of("caf", "lun")));
+        assertFalse(ExpenseSearchService.matchesAllPrefixes("Lunch at the cafe", List.of("unch")));
+        assertFalse(ExpenseSearchService.matchesAllPrefixes("Lunch", List.of("lun", "caf")));
+        assertFalse(ExpenseSearchService.matchesAllPrefixes(null, List.of("lun")));
+    }
+
+    @Test
+    void search_OnPostgresKeepsRankOrder() throws Exception {
+        ExpenseSearchService service = new ExpenseSearchService(expenseRepository, dialect("PostgreSQL"));
+        when(expenseRepository.searchIds(eq(1L), eq("lun:*"), eq(LocalDate.of(1, 1, 1)),
+                eq(LocalDate.of(9999, 12, 31)), eq(20))).thenReturn(List.of(3L, 1L, 2L));
+        when(expenseRepository.findResponsesByIds(1L, List.of(3L, 1L, 2L)))
+                .thenReturn(List.of(response(1L), response(2L), response(3L)));
+
+        List<ExpenseResponse> results = service.search(1L, "Lun", null, null, null, 20);
+
+        assertEquals(List.of(3L, 1L, 2L), results.stream().map(ExpenseResponse::getId).toList());
+    }
+
+    @Test
+    void search_RejectsEmptyQueryAndBadSize() throws Exception {
+        ExpenseSearchService service = new ExpenseSearchService(expenseRepository, dialect("PostgreSQL"));
+
+        assertThrows(IllegalArgumentException.class, () -> service.search(1L, "  ", null, null, null, 20));
+        assertThrows(IllegalArgumentException.class, () -> service.search(1L, "lunch", null, null, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> service.search(1L, "lunch", null, null, null, 101));
+        verify(expenseRepository, never()).searchIds(anyLong(), any(), any(), any(), anyInt());
+    }
+
+    private static DatabaseDialect dialect(String product) throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn(product);
+        return new DatabaseDialect(dataSource);
+    }
+
+    private static ExpenseResponse response(Long id) {
+        ExpenseResponse response = new ExpenseResponse();
+        response.setId(id);
+        return response;
+    }
+}
@@ -1,5 +1,6 @@
 package com.vivek.expense_tracker.service;
 
+import com.vivek.expense_tracker.dto.CursorPage;
 import com.vivek.expense_tracker.dto.ExpenseRequest;
 import com.vivek.expense_tracker.dto.ExpenseResponse;
 import com.vivek.expense_tracker.entity.Category;
@@ -15,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -41,6 +43,15 @@ class ExpenseServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private MonthlySpendService monthlySpendService;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    @Mock
+    private CategoryCache categoryCache;
+
     @InjectMocks
     private ExpenseService expenseService;
 
@@ -80,7 +91,8 @@ class ExpenseServiceTest {
     @Test
     void createExpense_Success() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(categoryCache.requireUsable(1L, 1L)).thenReturn(CategoryCache.toDto(category));
+        when(categoryRepository.getReferenceById(1L)).thenReturn(category);
         when(expenseRepository.save(any(Expense.class))).thenReturn(expense);
 
         ExpenseResponse response = expenseService.createExpense(1L, expenseRequest);
@@ -88,7 +100,9 @@ class ExpenseServiceTest {
         assertNotNull(response);
         assertEquals(BigDecimal.valueOf(100.00), response.getAmount());
         assertEquals("Lunch", response.getDescription());
+        assertEquals("Food", response.getCategoryName());
         verify(expenseRepository).save(any(Expense.class));
+        verify(monthlySpendService).recordExpense(1L, 1L, expenseRequest.getDate(), expenseRequest.getAmount());
     }
 
     @Test
@@ -101,25 +115,22 @@ class ExpenseServiceTest {
     @Test
     void createExpense_CategoryNotFound() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(categoryRepository.findById(1L)).thenReturn(Optional.empty());
+        when(categoryCache.requireUsable(1L, 1L)).thenThrow(new RuntimeException("Category not found"));
 
         assertThrows(RuntimeException.class, () -> expenseService.createExpense(1L, expenseRequest));
+        verify(expenseRepository, never()).save(any(Expense.class));
     }
 
     @Test
     void createExpense_AccessDeniedToCategory() {
-        User otherUser = new User();
-        otherUser.setId(2L);
-        Category otherCategory = new Category();
-        otherCategory.setId(2L);
-        otherCategory.setUser(otherUser);
-
         expenseRequest.setCategoryId(2L);
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(categoryRepository.findById(2L)).thenReturn(Optional.of(otherCategory));
+        when(categoryCache.requireUsable(1L, 2L))
+                .thenThrow(new AccessDeniedException("You do not have permission to use this category"));
 
         assertThrows(AccessDeniedException.class, () -> expenseService.createExpense(1L, expenseRequest));
+        verify(expenseRepository, never()).save(any(Expense.class));
     }
 
     @Test
@@ -146,15 +157,103 @@ class ExpenseServiceTest {
         expenseService.deleteExpense(1L, 1L);
 
         verify(expenseRepository).delete(expense);
+        verify(monthlySpendService).removeExpense(1L, 1L, expense.getDate(), expense.getAmount());
+    }
+
+    @Test
+    void updateExpense_MovesRollupBetweenCategoriesAndMonths() {
+        Category otherCategory = new Category();
+        otherCategory.setId(3L);
+        otherCategory.setName("Transport");
+
+        LocalDate originalDate = expense.getDate();
+        expenseRequest.setCategoryId(3L);
+        expenseRequest.setDate(originalDate.minusMonths(1));
+        expenseRequest.setAmount(BigDecimal.valueOf(40.00));
+
+        when(expenseRepository.findById(1L)).thenReturn(Optional.of(expense));
+        when(categoryCache.requireUsable(1L, 3L)).thenReturn(CategoryCache.toDto(otherCategory));
+        when(expenseRepository.save(any(Expense.class))).thenReturn(expense);
+
+        expenseService.updateExpense(1L, 1L, expenseRequest);
+
+        verify(monthlySpendService).moveExpense(1L, 1L, originalDate, BigDecimal.valueOf(100.00),
+                3L, originalDate.minusMonths(1), BigDecimal.valueOf(40.00));
     }
 
     @Test
     void getExpenses_Success() {
-        Page<Expense> page = new PageImpl<>(List.of(expense));
-        when(expenseRepository.findByUserIdOrderByDateDesc(eq(1L), any(Pageable.class))).thenReturn(page);
+        ExpenseResponse row = new ExpenseResponse();
+        row.setId(1L);
+        Page<ExpenseResponse> page = new PageImpl<>(List.of(row));
+        when(expenseRepository.findResponsesByUserId(eq(1L), any(Pageable.class))).thenReturn(page);
 
         Page<ExpenseResponse> response = expenseService.getExpenses(1L, null, null, null, Pageable.unpaged());
 
         assertEquals(1, response.getTotalElements());
     }
+
+    @Test
+    void getExpenses_CategoryAndDateFilters() {
+        LocalDate start = LocalDate.of(2024, 5, 1);
+        LocalDate end = LocalDate.of(2024, 5, 31);
+        when(expenseRepository.findResponsesByUserIdAndCategoryIdAndDateBetween(eq(1L), eq(2L), eq(start), eq(end),
+                any(Pageable.class))).thenReturn(Page.empty());
+
+        Page<ExpenseResponse> response = expenseService.getExpenses(1L, 2L, start, end, Pageable.unpaged());
+
+        assertEquals(0, response.getTotalElements());
+        verify(expenseRepository, never()).findResponsesByUserId(any(), any());
+    }
+
+    @Test
+    void getExpensesAfter_ReturnsCursorWhenMoreRowsExist() {
+        List<ExpenseResponse> rows = List.of(
+                responseRow(30L, LocalDate.of(2024, 5, 3)),
+                responseRow(20L, LocalDate.of(2024, 5, 2)),
+                responseRow(10L, LocalDate.of(2024, 5, 1)));
+        when(expenseRepository.findResponsesAfter(eq(1L), any(LocalDate.class), any(LocalDate.class),
+                eq(ExpenseCursor.START.date()), eq(Long.MAX_VALUE), eq(Limit.of(3)))).thenReturn(rows);
+
+        CursorPage<ExpenseResponse> page = expenseService.getExpensesAfter(1L, null, null, null, null, 2);
+
+        assertEquals(2, page.getSize());
+        assertNotNull(page.getNextCursor());
+        assertEquals(new ExpenseCursor(LocalDate.of(2024, 5, 2), 20L), ExpenseCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void getExpensesAfter_LastPageHasNoCursor() {
+        String cursor = new ExpenseCursor(LocalDate.of(2024, 5, 2), 20L).encode();
+        when(expenseRepository.findResponsesAfterInCategory(eq(1L), eq(2L), any(LocalDate.class),
+                any(LocalDate.class), eq(LocalDate.of(2024, 5, 2)), eq(20L), eq(Limit.of(3))))
+                .thenReturn(List.of(responseRow(10L, LocalDate.of(2024, 5, 1))));
+
+        CursorPage<ExpenseResponse> page = expenseService.getExpensesAfter(1L, 2L, null, null, cursor, 2);
+
+        assertEquals(1, page.getSize());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getExpensesAfter_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> expenseService.getExpensesAfter(1L, null, null, null, "not-a-cursor", 10));
+    }
+
+    @Test
+    void getExpensesAfter_RejectsSizeOutsideBounds() {
+        assertThrows(IllegalArgumentException.class,
+                () -> expenseService.getExpensesAfter(1L, null, null, null, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> expenseService.getExpensesAfter(1L, null, null, null,
+                null, ExpenseService.MAX_CURSOR_PAGE_SIZE + 1));
+        verifyNoInteractions(expenseRepository);
+    }
+
+    private ExpenseResponse responseRow(Long id, LocalDate date) {
+        ExpenseResponse row = new ExpenseResponse();
+        row.setId(id);
+        row.setDate(date);
+        return row;
+    }
 }
@@ -0,0 +1,90 @@
+package com.vivek.expense_tracker.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Two transactions writing the first expense of a (category, month) cell at
+ * the same moment, against PostgreSQL. Both must commit and both must count.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class MonthlySpendConcurrencyTest {
+
+    private static final int ROUNDS = 50;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private MonthlySpendService monthlySpendService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void recordExpense_ConcurrentFirstWritesToACellBothCount() throws Exception {
+        Long userId = jdbcTemplate.queryForObject("INSERT INTO users (email, password, name, created_at) " +
+                "VALUES ('rollup-race@example.com', 'x', 'Race', now()) RETURNING id", Long.class);
+        Long categoryId = jdbcTemplate.queryForObject("INSERT INTO categories (name, color, icon, user_id) " +
+                "VALUES ('Race', '#FFFFFF', 'tag', ?) RETURNING id", Long.class, userId);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                // A month nobody has written to yet
+                LocalDate date = LocalDate.of(2000, 1, 15).plusMonths(round);
+                CyclicBarrier start = new CyclicBarrier(2);
+                Runnable write = () -> transaction.executeWithoutResult(status -> {
+                    await(start);
+                    monthlySpendService.recordExpense(userId, categoryId, date, BigDecimal.TEN);
+                });
+
+                List<Future<?>> writers = List.of(executor.submit(write), executor.submit(write));
+                for (Future<?> writer : writers) {
+                    writer.get();
+                }
+
+                Map<String, Object> cell = jdbcTemplate.queryForMap("SELECT total, expense_count FROM monthly_spend " +
+                        "WHERE user_id = ? AND category_id = ? AND month = ?",
+                        userId, categoryId, MonthlySpendService.monthKey(date));
+                assertEquals(0, new BigDecimal("20").compareTo((BigDecimal) cell.get("total")));
+                assertEquals(2L, ((Number) cell.get("expense_count")).longValue());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
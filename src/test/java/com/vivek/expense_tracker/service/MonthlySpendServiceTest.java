@@ -0,0 +1,159 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.config.DatabaseDialect;
+import com.vivek.expense_tracker.entity.Category;
+import com.vivek.expense_tracker.entity.MonthlySpend;
+import com.vivek.expense_tracker.entity.User;
+import com.vivek.expense_tracker.repository.CategoryRepository;
+import com.vivek.expense_tracker.repository.ExpenseRepository;
+import com.vivek.expense_tracker.repository.MonthlySpendRepository;
+import com.vivek.expense_tracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlySpendServiceTest {
+
+    @Mock
+    private MonthlySpendRepository monthlySpendRepository;
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SpendSeriesCache spendSeriesCache;
+
+    @Mock
+    private BudgetAlertService budgetAlertService;
+
+    @Mock
+    private DashboardEventService dashboardEventService;
+
+    // Not PostgreSQL, so cells are written with UPDATE then INSERT
+    @Mock
+    private DatabaseDialect databaseDialect;
+
+    @InjectMocks
+    private MonthlySpendService monthlySpendService;
+
+    @Test
+    void recordExpense_InsertsRowWhenMissing() {
+        when(monthlySpendRepository.applyDelta(1L, 2L, "2024-05", BigDecimal.TEN, 1)).thenReturn(0);
+
+        monthlySpendService.recordExpense(1L, 2L, LocalDate.of(2024, 5, 20), BigDecimal.TEN);
+
+        verify(monthlySpendRepository).save(any(MonthlySpend.class));
+    }
+
+    @Test
+    void recordExpense_UpdatesExistingRow() {
+        when(monthlySpendRepository.applyDelta(1L, 2L, "2024-05", BigDecimal.TEN, 1)).thenReturn(1);
+
+        monthlySpendService.recordExpense(1L, 2L, LocalDate.of(2024, 5, 20), BigDecimal.TEN);
+
+        verify(monthlySpendRepository, never()).save(any(MonthlySpend.class));
+        verify(budgetAlertService).spendChanged(1L, 2L, "2024-05", BigDecimal.TEN);
+    }
+
+    @Test
+    void recordExpense_UpsertsOnPostgres() throws Exception {
+        DataSource postgres = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(postgres.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+        MonthlySpendService service = new MonthlySpendService(monthlySpendRepository, expenseRepository,
+                categoryRepository, userRepository, spendSeriesCache, budgetAlertService, dashboardEventService,
+                new DatabaseDialect(postgres));
+
+        service.recordExpense(1L, 2L, LocalDate.of(2024, 5, 20), BigDecimal.TEN);
+
+        verify(monthlySpendRepository).upsertDelta(1L, 2L, "2024-05", BigDecimal.TEN, 1);
+        verify(monthlySpendRepository, never()).applyDelta(any(), any(), any(), any(), anyLong());
+        verify(monthlySpendRepository, never()).save(any(MonthlySpend.class));
+    }
+
+    @Test
+    void moveExpense_SameCellAppliesAmountDifferenceOnly() {
+        when(monthlySpendRepository.applyDelta(1L, 2L, "2024-05", BigDecimal.valueOf(5), 0)).thenReturn(1);
+
+        monthlySpendService.moveExpense(1L, 2L, LocalDate.of(2024, 5, 1), BigDecimal.valueOf(10),
+                2L, LocalDate.of(2024, 5, 31), BigDecimal.valueOf(15));
+
+        verify(monthlySpendRepository, times(1)).applyDelta(any(), any(), any(), any(), anyLong());
+    }
+
+    @Test
+    void moveExpense_AcrossCategoryAndMonth() {
+        when(monthlySpendRepository.applyDelta(1L, 2L, "2024-05", BigDecimal.valueOf(-10), -1)).thenReturn(1);
+        when(monthlySpendRepository.applyDelta(1L, 3L, "2024-06", BigDecimal.valueOf(15), 1)).thenReturn(1);
+
+        monthlySpendService.moveExpense(1L, 2L, LocalDate.of(2024, 5, 1), BigDecimal.valueOf(10),
+                3L, LocalDate.of(2024, 6, 1), BigDecimal.valueOf(15));
+
+        verify(monthlySpendRepository).applyDelta(1L, 2L, "2024-05", BigDecimal.valueOf(-10), -1);
+        verify(monthlySpendRepository).applyDelta(1L, 3L, "2024-06", BigDecimal.valueOf(15), 1);
+        // Each cell's budget is checked against its own delta
+        verify(budgetAlertService).spendChanged(1L, 2L, "2024-05", BigDecimal.valueOf(-10));
+        verify(budgetAlertService).spendChanged(1L, 3L, "2024-06", BigDecimal.valueOf(15));
+        verify(dashboardEventService).expenseChanged(1L, 2L, "2024-05", LocalDate.of(2024, 5, 1));
+        verify(dashboardEventService).expenseChanged(1L, 3L, "2024-06", LocalDate.of(2024, 6, 1));
+    }
+
+    @Test
+    void applyChanges_WritesEachCellOnce() {
+        when(monthlySpendRepository.applyDelta(1L, 2L, "2024-05", BigDecimal.valueOf(25), 2)).thenReturn(1);
+        when(monthlySpendRepository.applyDelta(1L, 3L, "2024-06", BigDecimal.valueOf(-4), -1)).thenReturn(1);
+
+        monthlySpendService.applyChanges(1L, List.of(
+                new MonthlySpendService.SpendChange(2L, LocalDate.of(2024, 5, 3), BigDecimal.TEN, 1),
+                new MonthlySpendService.SpendChange(3L, LocalDate.of(2024, 6, 9), BigDecimal.valueOf(-4), -1),
+                new MonthlySpendService.SpendChange(2L, LocalDate.of(2024, 5, 20), BigDecimal.valueOf(15), 1),
+                // Moved within the cell: nothing to write
+                new MonthlySpendService.SpendChange(4L, LocalDate.of(2024, 7, 1), BigDecimal.valueOf(-6), -1),
+                new MonthlySpendService.SpendChange(4L, LocalDate.of(2024, 7, 2), BigDecimal.valueOf(6), 1)));
+
+        verify(monthlySpendRepository, times(2)).applyDelta(any(), any(), any(), any(), anyLong());
+        verify(spendSeriesCache).evictIfClosed(1L, LocalDate.of(2024, 5, 3));
+        verify(dashboardEventService, times(5)).expenseChanged(any(), any(), any(), any());
+    }
+
+    @Test
+    void verify_DetectsAndRebuildsDrift() {
+        Category category = new Category();
+        category.setId(2L);
+        MonthlySpend stale = new MonthlySpend(1L, new User(), category, "2024-05", BigDecimal.ONE, 1L);
+
+        List<Object[]> actual = List.<Object[]>of(new Object[] { 2L, 2024, 5, BigDecimal.TEN, 2L });
+        when(expenseRepository.getMonthlyCategoryTotals(1L)).thenReturn(actual);
+        when(monthlySpendRepository.findByUserId(1L)).thenReturn(List.of(stale));
+
+        int drift = monthlySpendService.verify(1L, true);
+
+        assertEquals(1, drift);
+        verify(monthlySpendRepository).deleteByUserId(1L);
+        verify(monthlySpendRepository).saveAll(anyList());
+    }
+}
@@ -0,0 +1,91 @@
+package com.vivek.expense_tracker.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryFanOutTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void sequential_RunsOnCallerThread() {
+        Thread caller = Thread.currentThread();
+
+        try (QueryFanOut.Scope scope = QueryFanOut.sequential().open()) {
+            Supplier<Thread> ranOn = scope.fork(Thread::currentThread);
+            scope.join();
+
+            assertSame(caller, ranOn.get());
+        }
+    }
+
+    @Test
+    void parallel_RunsForkedQueriesConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        try (QueryFanOut.Scope scope = QueryFanOut.parallel(executor, 2).open()) {
+            // Each query only finishes if the other one is running at the same time
+            Supplier<Boolean> first = scope.fork(() -> {
+                bothStarted.countDown();
+                return bothStarted.await(5, TimeUnit.SECONDS);
+            });
+            Supplier<Boolean> second = scope.fork(() -> {
+                bothStarted.countDown();
+                return bothStarted.await(5, TimeUnit.SECONDS);
+            });
+            scope.join();
+
+            assertTrue(first.get());
+            assertTrue(second.get());
+        }
+    }
+
+    @Test
+    void parallel_NeverExceedsMaxConcurrentQueries() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        try (QueryFanOut.Scope scope = QueryFanOut.parallel(executor, 2).open()) {
+            for (int i = 0; i < 8; i++) {
+                scope.fork(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(20);
+                    return running.decrementAndGet();
+                });
+            }
+            scope.join();
+        }
+
+        assertTrue(peak.get() <= 2, "peak " + peak.get());
+    }
+
+    @Test
+    void parallel_RethrowsFirstFailure() {
+        try (QueryFanOut.Scope scope = QueryFanOut.parallel(executor, 2).open()) {
+            scope.fork(() -> {
+                throw new IllegalArgumentException("query failed");
+            });
+            scope.fork(() -> 1);
+
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, scope::join);
+            assertEquals("query failed", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.dto.ExpenseRequest;
+import com.vivek.expense_tracker.dto.SpendingBucket;
+import com.vivek.expense_tracker.dto.SpendingSeries;
+import com.vivek.expense_tracker.entity.Category;
+import com.vivek.expense_tracker.entity.PaymentMethod;
+import com.vivek.expense_tracker.entity.User;
+import com.vivek.expense_tracker.repository.CategoryRepository;
+import com.vivek.expense_tracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The bucket query itself: date_trunc grouping and LAG, against the test database
+ */
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class SpendSeriesServiceIntegrationTest {
+
+    @Autowired
+    private SpendSeriesService spendSeriesService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Series User");
+        user.setEmail("series@example.com");
+        user.setPassword("encodedPassword");
+        user = userRepository.save(user);
+
+        category = new Category();
+        category.setName("Series");
+        category.setColor("#FFFFFF");
+        category.setIcon("tag");
+        category.setUser(user);
+        category = categoryRepository.save(category);
+
+        addExpense("2022-11-20", "40.00");
+        addExpense("2023-01-05", "10.00");
+        addExpense("2023-03-31", "15.00");
+        addExpense("2023-08-14", "25.00");
+    }
+
+    @Test
+    void getSeries_ByQuarter() {
+        SpendingSeries series = spendSeriesService.getSeries(user.getId(), SeriesInterval.QUARTER,
+                LocalDate.of(2023, 2, 1), LocalDate.of(2023, 12, 31));
+
+        List<SpendingBucket> buckets = series.getBuckets();
+        assertEquals(List.of(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 4, 1), LocalDate.of(2023, 7, 1),
+                LocalDate.of(2023, 10, 1)), buckets.stream().map(SpendingBucket::getStartDate).toList());
+        assertAmount("25.00", buckets.get(0).getTotal());
+        assertEquals(2, buckets.get(0).getCount());
+        assertAmount("40.00", buckets.get(0).getPreviousTotal());
+        assertAmount("0", buckets.get(1).getTotal());
+        assertAmount("25.00", buckets.get(2).getTotal());
+        assertAmount("0", buckets.get(2).getPreviousTotal());
+        assertAmount("-25.00", buckets.get(3).getChange());
+    }
+
+    @Test
+    void getSeries_ByMonth() {
+        SpendingSeries series = spendSeriesService.getSeries(user.getId(), SeriesInterval.MONTH,
+                LocalDate.of(2022, 12, 1), LocalDate.of(2023, 3, 1));
+
+        List<SpendingBucket> buckets = series.getBuckets();
+        assertEquals(4, buckets.size());
+        assertAmount("0", buckets.get(0).getTotal());
+        assertAmount("40.00", buckets.get(0).getPreviousTotal());
+        assertAmount("10.00", buckets.get(1).getTotal());
+        assertAmount("15.00", buckets.get(3).getTotal());
+        assertEquals(LocalDate.of(2023, 3, 31), series.getEndDate());
+    }
+
+    private void addExpense(String date, String amount) {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setAmount(new BigDecimal(amount));
+        request.setCategoryId(category.getId());
+        request.setDate(LocalDate.parse(date));
+        request.setPaymentMethod(PaymentMethod.CARD);
+        expenseService.createExpense(user.getId(), request);
+    }
+
+    private static void assertAmount(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> expected + " != " + actual);
+    }
+}
@@ -0,0 +1,150 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.dto.SpendingBucket;
+import com.vivek.expense_tracker.dto.SpendingSeries;
+import com.vivek.expense_tracker.repository.ExpenseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SpendSeriesServiceTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    private SpendSeriesCache spendSeriesCache;
+    private SpendSeriesService spendSeriesService;
+
+    @BeforeEach
+    void setUp() {
+        spendSeriesCache = new SpendSeriesCache(new SimpleMeterRegistry());
+        spendSeriesService = new SpendSeriesService(expenseRepository, spendSeriesCache);
+    }
+
+    @Test
+    void getSeries_FillsEmptyBucketsAndComputesDeltas() {
+        // Jan and Feb 2023 spent, Mar empty, Apr spent; Dec 2022 is the look-back bucket
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(row("2022-12-01", "50.00", 1, null, null));
+        rows.add(row("2023-01-01", "100.00", 2, "2022-12-01", "50.00"));
+        rows.add(row("2023-02-01", "150.00", 3, "2023-01-01", "100.00"));
+        rows.add(row("2023-04-01", "30.00", 1, "2023-02-01", "150.00"));
+        when(expenseRepository.getBucketTotals(1L, "month", LocalDate.of(2022, 12, 1), LocalDate.of(2023, 4, 30)))
+                .thenReturn(rows);
+
+        SpendingSeries series = spendSeriesService.getSeries(1L, SeriesInterval.MONTH,
+                LocalDate.of(2023, 1, 15), LocalDate.of(2023, 4, 2));
+
+        assertEquals(LocalDate.of(2023, 1, 1), series.getStartDate());
+        assertEquals(LocalDate.of(2023, 4, 30), series.getEndDate());
+        List<SpendingBucket> buckets = series.getBuckets();
+        assertEquals(4, buckets.size());
+        assertBucket(buckets.get(0), "2023-01-01", "100.00", "50.00", 100.0);
+        assertBucket(buckets.get(1), "2023-02-01", "150.00", "100.00", 50.0);
+        assertBucket(buckets.get(2), "2023-03-01", "0", "150.00", -100.0);
+        // LAG points at February, which is not adjacent to April
+        assertBucket(buckets.get(3), "2023-04-01", "30.00", "0", 100.0);
+        assertEquals(LocalDate.of(2023, 3, 31), buckets.get(2).getEndDate());
+    }
+
+    @Test
+    void getSeries_ClosedBucketsAreServedFromCache() {
+        when(expenseRepository.getBucketTotals(anyLong(), anyString(), any(), any())).thenReturn(List.of());
+        LocalDate thisYear = SeriesInterval.YEAR.start(LocalDate.now());
+
+        spendSeriesService.getSeries(1L, SeriesInterval.YEAR, thisYear.minusYears(4), null);
+        SpendingSeries again = spendSeriesService.getSeries(1L, SeriesInterval.YEAR, thisYear.minusYears(4), null);
+
+        assertEquals(5, again.getBuckets().size());
+        // The second call only queries the current, still open year (plus the one before it)
+        verify(expenseRepository).getBucketTotals(1L, "year", thisYear.minusYears(5), thisYear.plusYears(1).minusDays(1));
+        verify(expenseRepository).getBucketTotals(1L, "year", thisYear.minusYears(1), thisYear.plusYears(1).minusDays(1));
+    }
+
+    @Test
+    void getSeries_BackdatedWriteEvictsClosedBuckets() {
+        when(expenseRepository.getBucketTotals(anyLong(), anyString(), any(), any())).thenReturn(List.of());
+        LocalDate from = LocalDate.of(2020, 1, 1);
+        LocalDate to = LocalDate.of(2020, 12, 31);
+
+        spendSeriesService.getSeries(1L, SeriesInterval.QUARTER, from, to);
+        spendSeriesService.getSeries(1L, SeriesInterval.QUARTER, from, to);
+        verify(expenseRepository, times(1)).getBucketTotals(anyLong(), anyString(), any(), any());
+
+        spendSeriesCache.evictIfClosed(2L, LocalDate.of(2020, 5, 1));
+        spendSeriesCache.evictIfClosed(1L, LocalDate.now().plusDays(7));
+        spendSeriesService.getSeries(1L, SeriesInterval.QUARTER, from, to);
+        verify(expenseRepository, times(1)).getBucketTotals(anyLong(), anyString(), any(), any());
+
+        spendSeriesCache.evictIfClosed(1L, LocalDate.of(2020, 5, 1));
+        spendSeriesService.getSeries(1L, SeriesInterval.QUARTER, from, to);
+        verify(expenseRepository, times(2)).getBucketTotals(anyLong(), anyString(), any(), any());
+    }
+
+    @Test
+    void cache_StaysWithinBoundAndKeepsTheUserJustCached() {
+        SpendSeriesCache small = new SpendSeriesCache(new SimpleMeterRegistry(), 10);
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        SpendingBucket bucket = new SpendingBucket();
+        bucket.setStartDate(start);
+
+        for (long userId = 1; userId <= 25; userId++) {
+            small.putAll(userId, SeriesInterval.YEAR, List.of(bucket), small.generation());
+            assertTrue(small.size() <= 10, "size " + small.size());
+        }
+
+        assertSame(bucket, small.get(25L, SeriesInterval.YEAR, start));
+    }
+
+    @Test
+    void getSeries_RejectsInvalidRanges() {
+        assertThrows(IllegalArgumentException.class, () -> spendSeriesService.getSeries(1L, SeriesInterval.MONTH,
+                LocalDate.of(2024, 5, 1), LocalDate.of(2024, 4, 1)));
+        assertThrows(IllegalArgumentException.class, () -> spendSeriesService.getSeries(1L, SeriesInterval.WEEK,
+                LocalDate.of(2000, 1, 1), LocalDate.of(2024, 1, 1)));
+        assertThrows(IllegalArgumentException.class, () -> SeriesInterval.parse("day"));
+        verifyNoInteractions(expenseRepository);
+    }
+
+    @Test
+    void seriesInterval_BucketStarts() {
+        LocalDate date = LocalDate.of(2024, 8, 15); // a Thursday
+
+        assertEquals(LocalDate.of(2024, 8, 12), SeriesInterval.WEEK.start(date));
+        assertEquals(LocalDate.of(2024, 8, 1), SeriesInterval.MONTH.start(date));
+        assertEquals(LocalDate.of(2024, 7, 1), SeriesInterval.QUARTER.start(date));
+        assertEquals(LocalDate.of(2024, 1, 1), SeriesInterval.YEAR.start(date));
+        assertEquals(LocalDate.of(2024, 4, 1), SeriesInterval.QUARTER.plus(LocalDate.of(2024, 7, 1), -1));
+    }
+
+    private static Object[] row(String bucket, String total, long count, String previousBucket,
+            String previousTotal) {
+        return new Object[] { java.sql.Date.valueOf(bucket), new BigDecimal(total), count,
+                previousBucket != null ? java.sql.Date.valueOf(previousBucket) : null,
+                previousTotal != null ? new BigDecimal(previousTotal) : null };
+    }
+
+    private static void assertBucket(SpendingBucket bucket, String start, String total, String previousTotal,
+            double percentageChange) {
+        assertEquals(LocalDate.parse(start), bucket.getStartDate());
+        assertEquals(0, new BigDecimal(total).compareTo(bucket.getTotal()));
+        assertEquals(0, new BigDecimal(previousTotal).compareTo(bucket.getPreviousTotal()));
+        assertEquals(0, bucket.getTotal().subtract(bucket.getPreviousTotal()).compareTo(bucket.getChange()));
+        assertEquals(percentageChange, bucket.getPercentageChange(), 0.001);
+    }
+}
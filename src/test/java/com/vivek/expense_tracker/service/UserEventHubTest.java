@@ -0,0 +1,44 @@
+package com.vivek.expense_tracker.service;
+
+import com.vivek.expense_tracker.config.EventStreamProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserEventHubTest {
+
+    private UserEventHub userEventHub;
+
+    @BeforeEach
+    void setUp() {
+        EventStreamProperties properties = new EventStreamProperties();
+        properties.setMaxConnections(2);
+        userEventHub = new UserEventHub(properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userEventHub.shutdown();
+    }
+
+    @Test
+    void subscribe_RejectsBeyondConnectionCap() {
+        userEventHub.subscribe(1L, "dashboard");
+        userEventHub.subscribe(2L, "dashboard");
+
+        assertThrows(EventStreamRejectedException.class, () -> userEventHub.subscribe(3L, "dashboard"));
+        assertEquals(2, userEventHub.connectionCount());
+    }
+
+    @Test
+    void hasSubscribers_MatchesUserAndEvent() {
+        userEventHub.subscribe(1L, BudgetAlertService.EVENT_NAME);
+
+        assertTrue(userEventHub.hasSubscribers(1L, BudgetAlertService.EVENT_NAME));
+        assertFalse(userEventHub.hasSubscribers(1L, DashboardEventService.EVENT_NAME));
+        assertFalse(userEventHub.hasSubscribers(2L, BudgetAlertService.EVENT_NAME));
+    }
+}
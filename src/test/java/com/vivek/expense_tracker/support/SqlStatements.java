@@ -0,0 +1,73 @@
+package com.vivek.expense_tracker.support;
+
+import com.vivek.expense_tracker.config.SqlStatementFilter;
+import com.vivek.expense_tracker.config.SqlStatementStats;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statement-count assertions for integration tests, backed by the same JDBC
+ * counting the application runs in production:
+ *
+ * <pre>
+ * mockMvc.perform(get("/api/budgets").header(...))
+ *         .andExpect(SqlStatements.atMost(2))
+ *         .andExpect(SqlStatements.noRepeatedStatements());
+ *
+ * SqlStatementStats stats = SqlStatements.count(() -> service.call());
+ * </pre>
+ */
+public final class SqlStatements {
+
+    // Same default as sql.monitor.repeat-threshold
+    private static final int REPEAT_THRESHOLD = 5;
+
+    private SqlStatements() {
+    }
+
+    /**
+     * The SQL a MockMvc request executed
+     */
+    public static SqlStatementStats of(MvcResult result) {
+        SqlStatementStats stats = (SqlStatementStats) result.getRequest()
+                .getAttribute(SqlStatementFilter.STATS_ATTRIBUTE);
+        assertNotNull(stats, "No SQL stats on the request, is sql.monitor.enabled off?");
+        return stats;
+    }
+
+    public static ResultMatcher atMost(long maxStatements) {
+        return result -> {
+            long executed = of(result).getStatementCount();
+            assertTrue(executed <= maxStatements, result.getRequest().getMethod() + " "
+                    + result.getRequest().getRequestURI() + " executed " + executed
+                    + " SQL statements, expected at most " + maxStatements);
+        };
+    }
+
+    public static ResultMatcher noRepeatedStatements() {
+        return result -> assertNoRepeats(of(result));
+    }
+
+    /**
+     * Count the SQL run by {@code work} on the calling thread
+     */
+    public static SqlStatementStats count(Runnable work) {
+        SqlStatementStats stats = SqlStatementStats.start();
+        try {
+            work.run();
+        } finally {
+            SqlStatementStats.stop();
+        }
+        return stats;
+    }
+
+    public static void assertNoRepeats(SqlStatementStats stats) {
+        Map<String, Long> repeated = stats.getRepeatedShapes(REPEAT_THRESHOLD);
+        assertTrue(repeated.isEmpty(), "Likely N+1, statements repeated: " + repeated);
+    }
+}